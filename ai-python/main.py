@@ -1,9 +1,10 @@
 from fastapi import FastAPI, Body, HTTPException, status, Request, Response
 from fastapi.middleware.cors import CORSMiddleware
 from fastapi.exceptions import RequestValidationError
-from fastapi.responses import JSONResponse
+from fastapi.responses import JSONResponse, StreamingResponse
 from pydantic import BaseModel
 import uuid
+import json
 import time
 import logging
 from collections import defaultdict
@@ -37,9 +38,18 @@ app.add_middleware(
 )
 
 # --- Request ID Middleware ---
+def _trace_id(traceparent):
+    # W3C traceparent: version-traceid-parentid-flags
+    parts = (traceparent or "").split("-")
+    return parts[1] if len(parts) == 4 and len(parts[1]) == 32 else None
+
+
 @app.middleware("http")
 async def add_request_id_middleware(request: Request, call_next):
-    request_id = str(uuid.uuid4())
+    # Keep the caller's id (backend RequestIdFilter) so one request can be followed across services
+    request_id = (request.headers.get("X-Request-Id")
+                  or _trace_id(request.headers.get("traceparent"))
+                  or str(uuid.uuid4()))
     request.state.request_id = request_id
     start_time = time.time()
 
@@ -170,4 +180,24 @@ def generate_poem(request: Request, gen_req: GenerateRequest = Body(...)):
         raise HTTPException(
             status_code=status.HTTP_500_INTERNAL_SERVER_ERROR,
             detail={"code": "GENERATION_ERROR", "message": f"시 생성 중 오류 발생: {e}"}
-        )
\ No newline at end of file
+        )
+
+@app.post("/ai/generate/stream")
+def generate_poem_stream(request: Request, gen_req: GenerateRequest = Body(...)):
+    """NDJSON: {"delta": "..."} per fragment, then {"done": true, "poem": ..., "moderation": ...}.
+    Errors after streaming has started are reported in-band as {"error": {...}}."""
+    request_id = request.state.request_id
+
+    def lines():
+        parts = []
+        try:
+            for delta in openai_client.stream_text(gen_req, request_id):
+                parts.append(delta)
+                yield json.dumps({"delta": delta}, ensure_ascii=False) + "\n"
+            final = GenerateResponse(poem="".join(parts).strip(), img_prompt=None)
+            yield json.dumps({"done": True, **final.model_dump()}, ensure_ascii=False) + "\n"
+        except Exception as e:
+            logger.error(f"Streaming generation failed for Request ID: {request_id}", exc_info=True)
+            yield json.dumps({"error": {"code": "GENERATION_ERROR", "message": str(e)}}, ensure_ascii=False) + "\n"
+
+    return StreamingResponse(lines(), media_type="application/x-ndjson")
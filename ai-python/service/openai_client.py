@@ -42,3 +42,16 @@ class OpenAIClient:
         moderation = Moderation(safe=True, flags=[])
         return GenerateResponse(poem=poem, img_prompt=None, moderation=moderation)
 
+    def stream_text(self, req: GenerateRequest, request_id: str):
+        """Yields poem fragments as the model produces them."""
+        stream = self.client.chat.completions.create(
+            model="gpt-4o-mini",
+            messages=self.build_prompt(req),
+            temperature=0.9,
+            max_tokens=300,
+            user=request_id or "anon",
+            stream=True,
+        )
+        for chunk in stream:
+            if chunk.choices and chunk.choices[0].delta.content:
+                yield chunk.choices[0].delta.content
@@ -0,0 +1,29 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.dto.OgCardDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * OG image drawing plus PNG encoding for one result (run headless).
+ */
+@State(Scope.Benchmark)
+public class OgRenderBenchmark {
+
+    private OgCardDto result;
+
+    @Setup
+    public void setUp() {
+        result = new OgCardDto(12345L, 72.5, "{\"A\":65.25,\"B\":63.75,\"C\":87.0}", LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] renderPng() throws IOException {
+        return OgController.renderPng(result);
+    }
+}
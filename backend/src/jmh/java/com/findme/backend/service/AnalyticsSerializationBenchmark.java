@@ -0,0 +1,49 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.AnalyticsEventDto;
+import com.findme.backend.entity.AnalyticsEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload-to-JSON conversion done for every ingested analytics event.
+ */
+@State(Scope.Benchmark)
+public class AnalyticsSerializationBenchmark {
+
+    private AnalyticsService analyticsService;
+    private AnalyticsEventDto small;
+    private AnalyticsEventDto large;
+
+    @Setup
+    public void setUp() {
+        // Repository and metrics are not touched by toEntity
+        analyticsService = new AnalyticsService(null, new ObjectMapper(), null);
+        small = new AnalyticsEventDto("test_start", Map.of("testCode", "mbti_v1"), LocalDateTime.now(), "s-1");
+        large = new AnalyticsEventDto("generate_success", Map.of(
+                "testCode", "teto_egen_v1",
+                "resultId", 12345L,
+                "traits", Map.of("A", 71.5, "B", 43.25, "C", 88.0),
+                "mood", Map.of("tags", List.of("calm", "hopeful"), "intensity", 0.7),
+                "latencyMs", 1830,
+                "ua", "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X)"),
+                LocalDateTime.now(), "s-2");
+    }
+
+    @Benchmark
+    public AnalyticsEvent smallPayload() {
+        return analyticsService.toEntity(small);
+    }
+
+    @Benchmark
+    public AnalyticsEvent largePayload() {
+        return analyticsService.toEntity(large);
+    }
+}
@@ -0,0 +1,59 @@
+package com.findme.backend.service;
+
+import com.findme.backend.dto.AnswerDto;
+import com.findme.backend.entity.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Submission scoring and the traits JSON stored with every result ({@link TestService#calculateResult}
+ * minus the repositories).
+ */
+@State(Scope.Benchmark)
+public class TestScoringBenchmark {
+
+    @Param({"12", "60"})
+    int questions;
+
+    private Map<String, Question> questionMap;
+    private List<AnswerDto> answers;
+    private Map<String, Double> traits;
+
+    @Setup
+    public void setUp() {
+        questionMap = new HashMap<>();
+        answers = new ArrayList<>();
+        for (int i = 1; i <= questions; i++) {
+            String id = String.valueOf(i);
+            questionMap.put(id, new Question(id, null, "question " + i, i % 3 == 0));
+            AnswerDto answer = new AnswerDto();
+            answer.setQuestionId(id);
+            answer.setValue(i % 5 + 1);
+            answers.add(answer);
+        }
+        traits = TestService.score(questionMap, questions, answers).traits();
+    }
+
+    @Benchmark
+    public TestService.Score score() {
+        return TestService.score(questionMap, questions, answers);
+    }
+
+    @Benchmark
+    public String traitsJson() {
+        return TestService.traitsJson(traits);
+    }
+
+    @Benchmark
+    public String scoreAndSerialize() {
+        return TestService.traitsJson(TestService.score(questionMap, questions, answers).traits());
+    }
+}
@@ -0,0 +1,47 @@
+package com.findme.backend.util;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+
+/**
+ * Access-token issue and verification, paid on login/refresh and on every authenticated request.
+ */
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtProvider = new JwtProvider();
+        // Same shape as application-local.yml
+        set("secret", "BmJKbUWK9LaVPT2mZCGkUDk7QsBQkUIGmGZBBOPUwXU=");
+        set("expirationMinutes", 60L);
+        set("refreshExpirationMinutes", 10080L);
+        jwtProvider.init();
+        token = jwtProvider.generateToken("user@example.com", 42L);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtProvider.generateToken("user@example.com", 42L);
+    }
+
+    @Benchmark
+    public Long parse() {
+        Claims claims = jwtProvider.parseClaims(token);
+        return jwtProvider.extractUserId(claims);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtProvider, value);
+    }
+}
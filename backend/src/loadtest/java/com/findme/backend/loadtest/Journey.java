@@ -0,0 +1,138 @@
+package com.findme.backend.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One scripted user visit: load the test, submit answers, open the result, fetch its OG
+ * image and send the analytics batch the web client would send. Steps run sequentially,
+ * like a browser session; the first step and the whole journey are timed from the
+ * scheduled arrival, so time spent waiting behind a slow server is not hidden
+ * (coordinated omission).
+ */
+class Journey {
+
+    static final String GET_TEST = "GET /api/tests/{code}";
+    static final String SUBMIT = "POST /api/tests/{code}/submit";
+    static final String GET_RESULT = "GET /api/results/{id}";
+    static final String OG_IMAGE = "GET /og/{id}.png";
+    static final String ANALYTICS = "POST /api/analytics/batch";
+    static final String JOURNEY = "journey";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String testCode;
+
+    Journey(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, String testCode) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.testCode = testCode;
+    }
+
+    void run(String accessToken, long scheduledNanos, LatencyRecorder recorder) {
+        try {
+            JsonNode test = call(recorder, GET_TEST, scheduledNanos,
+                    get("/api/tests/" + testCode, accessToken), true);
+            if (test == null) {
+                return;
+            }
+
+            ObjectNode submission = objectMapper.createObjectNode();
+            ArrayNode answers = submission.putArray("answers");
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (JsonNode question : test.path("questions")) {
+                answers.addObject()
+                        .put("questionId", question.path("id").asText())
+                        .put("value", random.nextInt(1, 6));
+            }
+            JsonNode result = call(recorder, SUBMIT, System.nanoTime(),
+                    post("/api/tests/" + testCode + "/submit", accessToken, submission), true);
+            if (result == null) {
+                return;
+            }
+            long resultId = result.path("id").asLong();
+
+            if (call(recorder, GET_RESULT, System.nanoTime(), get("/api/results/" + resultId, accessToken), true) == null
+                    || call(recorder, OG_IMAGE, System.nanoTime(), get("/og/" + resultId + ".png", accessToken), false) == null) {
+                return;
+            }
+
+            ObjectNode batch = objectMapper.createObjectNode();
+            ArrayNode items = batch.putArray("items");
+            String sessionId = "lt-" + random.nextLong(Long.MAX_VALUE);
+            for (String event : new String[]{"test_start", "test_submit", "share_click"}) {
+                ObjectNode item = items.addObject()
+                        .put("eventName", event)
+                        .put("sessionId", sessionId)
+                        .put("ts", LocalDateTime.now().toString());
+                item.putObject("payload").put("testCode", testCode).put("resultId", resultId);
+            }
+            if (call(recorder, ANALYTICS, System.nanoTime(), post("/api/analytics/batch", accessToken, batch), false) == null) {
+                return;
+            }
+            recorder.success(JOURNEY, System.nanoTime() - scheduledNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the parsed body (an empty node when {@code parse} is false), or {@code null} after recording a failure
+     */
+    private JsonNode call(LatencyRecorder recorder, String endpoint, long startNanos, HttpRequest request, boolean parse)
+            throws InterruptedException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - startNanos;
+            if (response.statusCode() / 100 != 2) {
+                recorder.error(endpoint, "HTTP " + response.statusCode());
+                recorder.error(JOURNEY, endpoint);
+                return null;
+            }
+            recorder.success(endpoint, elapsed);
+            return parse ? objectMapper.readTree(response.body()) : objectMapper.nullNode();
+        } catch (IOException e) {
+            recorder.error(endpoint, e.getClass().getSimpleName());
+            recorder.error(JOURNEY, endpoint);
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String accessToken) {
+        return request(path, accessToken).GET().build();
+    }
+
+    private HttpRequest post(String path, String accessToken, JsonNode body) {
+        try {
+            return request(path, accessToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String accessToken) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + accessToken);
+    }
+}
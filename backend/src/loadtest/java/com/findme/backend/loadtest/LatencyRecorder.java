@@ -0,0 +1,72 @@
+package com.findme.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint latency histograms (microseconds, 3 significant digits) and error counts.
+ */
+class LatencyRecorder {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void success(String endpoint, long nanos) {
+        endpoint(endpoint).histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_MICROS));
+    }
+
+    void error(String endpoint, String reason) {
+        Endpoint e = endpoint(endpoint);
+        e.errors.incrementAndGet();
+        e.reasons.computeIfAbsent(reason, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Report section: endpoint -> {count, errors, p50/p90/p99/p999/max/mean in ms, error reasons}.
+     */
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> summary.put(entry.getKey(), entry.getValue().summary()));
+        return summary;
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, k -> new Endpoint());
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<String, AtomicLong> reasons = new ConcurrentHashMap<>();
+
+        Map<String, Object> summary() {
+            Histogram copy = histogram.copy();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", copy.getTotalCount());
+            summary.put("errors", errors.get());
+            summary.put("p50Ms", millis(copy.getValueAtPercentile(50)));
+            summary.put("p90Ms", millis(copy.getValueAtPercentile(90)));
+            summary.put("p99Ms", millis(copy.getValueAtPercentile(99)));
+            summary.put("p999Ms", millis(copy.getValueAtPercentile(99.9)));
+            summary.put("maxMs", millis(copy.getMaxValue()));
+            summary.put("meanMs", copy.getTotalCount() == 0 ? 0 : Math.round(copy.getMean()) / 1000.0);
+            Map<String, Long> byReason = new LinkedHashMap<>();
+            reasons.forEach((reason, count) -> byReason.put(reason, count.get()));
+            summary.put("errorReasons", byReason);
+            return summary;
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.findme.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load generator. Boots the backend in-process on an in-memory H2 database
+ * (or targets {@code --target=http://host:port}) and starts {@link Journey journeys} at
+ * {@code --rate} per second with Poisson arrivals, independently of how fast earlier
+ * journeys finish (open model). Writes per-endpoint p50/p99/p999 to {@code --report}.
+ *
+ * <pre>./gradlew loadTest -Pargs="--rate=50 --duration=120"</pre>
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest-pass1";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ConfigurableApplicationContext app = null;
+        String baseUrl = options.target();
+        if (baseUrl.isEmpty()) {
+            app = boot(options);
+            baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        ExecutorService workers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "loadtest-journey");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            List<String> tokens = login(httpClient, objectMapper, baseUrl, options.users());
+            Journey journey = new Journey(httpClient, objectMapper, baseUrl, options.testCode());
+
+            Instant startedAt = Instant.now();
+            Map<String, Object> run = drive(options, journey, tokens, workers);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("startedAt", startedAt.toString());
+            report.put("target", options.target().isEmpty() ? "in-process (" + options.profiles() + ")" : options.target());
+            report.put("javaVersion", Runtime.version().toString());
+            report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            report.put("options", options);
+            report.putAll(run);
+
+            Files.createDirectories(options.report().toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.report().toFile(), report);
+            print(report);
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+        } finally {
+            workers.shutdownNow();
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        return new SpringApplication(BackendApplication.class).run(
+                "--spring.profiles.active=" + options.profiles(),
+                "--server.port=0",
+                "--management.server.port=0",
+                // Fresh database per run; migrations and seed data load as in local development
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                // One client IP and a handful of users would otherwise be throttled immediately
+                "--rate-limit.enabled=false",
+                // Offline: skip the issuer discovery call, use the built-in Google endpoints
+                "--spring.security.oauth2.client.provider.google.issuer-uri=",
+                "--GOOGLE_CLIENT_ID=loadtest",
+                "--GOOGLE_CLIENT_SECRET=loadtest",
+                // DEBUG logging in the local profile would dominate the measurement
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security.oauth2=WARN",
+                "--logging.level.org.springframework.web.client=WARN",
+                "--spring.jpa.properties.hibernate.format_sql=false");
+    }
+
+    private static List<String> login(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, int users)
+            throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String email = "loadtest-" + i + "@example.com";
+            // Signup fails for accounts left by an earlier run against the same target; login decides
+            post(httpClient, objectMapper, baseUrl + "/api/auth/signup", Map.of("email", email, "password", PASSWORD));
+            HttpResponse<String> response = post(httpClient, objectMapper, baseUrl + "/api/auth/login",
+                    Map.of("email", email, "password", PASSWORD));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + email + ": HTTP " + response.statusCode());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            tokens.add(body.path("accessToken").asText());
+        }
+        return tokens;
+    }
+
+    private static HttpResponse<String> post(HttpClient httpClient, ObjectMapper objectMapper, String url, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Arrival loop. Each arrival is handed to a worker at its scheduled instant; when
+     * {@code max-in-flight} journeys are already running the arrival is dropped and
+     * counted, so an overloaded server shows up as drops and tail latency rather than
+     * as a silently lower offered rate.
+     */
+    private static Map<String, Object> drive(LoadTestOptions options, Journey journey, List<String> tokens,
+                                             ExecutorService workers) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        LatencyRecorder warmupRecorder = new LatencyRecorder();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        Random random = new Random(options.seed());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        long next = start;
+        long arrivals = 0;
+        long measuredArrivals = 0;
+        long dropped = 0;
+        while (true) {
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (next >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = next >= measureFrom;
+            if (measured) {
+                measuredArrivals++;
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    dropped++;
+                }
+                continue;
+            }
+            String token = tokens.get((int) (arrivals++ % tokens.size()));
+            long scheduled = next;
+            LatencyRecorder target = measured ? recorder : warmupRecorder;
+            workers.execute(() -> {
+                try {
+                    journey.run(token, scheduled, target);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // Let journeys that started inside the window finish
+        workers.shutdown();
+        boolean drained = workers.awaitTermination(60, TimeUnit.SECONDS);
+
+        Map<String, Object> endpoints = recorder.summary();
+        Object completed = endpoints.containsKey(Journey.JOURNEY)
+                ? ((Map<?, ?>) endpoints.get(Journey.JOURNEY)).get("count") : 0L;
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("offeredRate", measuredArrivals / (double) options.durationSeconds());
+        run.put("completedRate", ((Number) completed).doubleValue() / options.durationSeconds());
+        run.put("arrivals", measuredArrivals);
+        run.put("dropped", dropped);
+        run.put("drained", drained);
+        run.put("endpoints", endpoints);
+        return run;
+    }
+
+    private static void print(Map<String, Object> report) {
+        System.out.printf("offered %.1f/s, completed %.1f/s, dropped %s%n",
+                report.get("offeredRate"), report.get("completedRate"), report.get("dropped"));
+        System.out.printf("%-32s %8s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        ((Map<?, ?>) report.get("endpoints")).forEach((name, value) -> {
+            Map<?, ?> e = (Map<?, ?>) value;
+            System.out.printf("%-32s %8s %7s %9s %9s %9s %9s%n", name, e.get("count"), e.get("errors"),
+                    e.get("p50Ms"), e.get("p99Ms"), e.get("p999Ms"), e.get("maxMs"));
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.findme.backend.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --key=value} arguments of {@link LoadTest}; every option has a default.
+ */
+record LoadTestOptions(
+        String target,        // base URL of a running node; empty boots the app in-process on H2
+        String profiles,      // Spring profiles for the in-process app, e.g. local,virtual
+        double rate,          // journeys started per second (open model, Poisson arrivals)
+        int warmupSeconds,    // arrivals in this window are driven but not recorded
+        int durationSeconds,  // measured window
+        int users,            // accounts created up front; journeys rotate through them
+        String testCode,
+        int maxInFlight,      // journeys beyond this are counted as dropped instead of queued
+        long seed,
+        Path report) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("target", ""),
+                values.getOrDefault("profiles", "local"),
+                Double.parseDouble(values.getOrDefault("rate", "20")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                values.getOrDefault("test", "mbti_v1"),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report", "build/reports/loadtest/report.json")));
+        if (options.rate <= 0 || options.durationSeconds <= 0 || options.users <= 0) {
+            throw new IllegalArgumentException("rate, duration and users must be positive");
+        }
+        return options;
+    }
+}
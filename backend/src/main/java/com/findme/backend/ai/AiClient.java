@@ -0,0 +1,317 @@
+package com.findme.backend.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.findme.backend.dto.AiGenerateRequest;
+import com.findme.backend.dto.AiGenerateResponse;
+import com.findme.backend.exception.AiServiceException;
+import com.findme.backend.filter.RequestIdFilter;
+import com.findme.backend.trace.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking client for ai-python {@code POST /ai/generate}. One shared
+ * {@link HttpClient} keeps connections alive between calls. Each call has an overall
+ * deadline covering retries; transport errors, 5xx and 429 are retried with full-jitter
+ * backoff, and consecutive failures open a {@link CircuitBreaker}.
+ */
+@Slf4j
+@Component
+public class AiClient {
+
+    static final String GENERATE_PATH = "/ai/generate";
+    static final String STREAM_PATH = "/ai/generate/stream";
+
+    private final AiClientProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final CircuitBreaker breaker;
+    private final URI generateUri;
+    private final URI streamUri;
+
+    /**
+     * @param callbackExecutor runs response handling and callers' continuations, which may
+     *                         block (e.g. cache writes); Spring's applicationTaskExecutor, so
+     *                         they run on virtual threads when those are enabled
+     */
+    @Autowired
+    public AiClient(AiClientProperties properties, ObjectMapper objectMapper,
+                    @Qualifier("applicationTaskExecutor") Executor callbackExecutor) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        // uvicorn speaks HTTP/1.1 only; skip the h2c upgrade attempt
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMillis()));
+        if (callbackExecutor != null) {
+            builder.executor(callbackExecutor);
+        }
+        this.httpClient = builder.build();
+        this.permits = new Semaphore(properties.getMaxConcurrency());
+        this.breaker = new CircuitBreaker(properties.getBreakerFailureThreshold(), properties.getBreakerOpenMillis());
+        this.generateUri = URI.create(properties.getBaseUrl() + GENERATE_PATH);
+        this.streamUri = URI.create(properties.getBaseUrl() + STREAM_PATH);
+    }
+
+    public AiClient(AiClientProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, null);
+    }
+
+    /**
+     * Fails with {@link AiServiceException}: AI_BUSY when the concurrency limit is reached,
+     * AI_UNAVAILABLE while the breaker is open, AI_TIMEOUT when the deadline passes and
+     * AI_ERROR for non-retryable or exhausted failures.
+     */
+    public CompletableFuture<AiGenerateResponse> generate(AiGenerateRequest request) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new AiServiceException("AI_BUSY", "Too many AI generations in flight"));
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(new AiServiceException("AI_ERROR", "Unserializable AI request", e));
+        }
+
+        // Captured here: continuations run on HttpClient threads without the caller's MDC
+        String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getDeadlineMillis());
+        CompletableFuture<AiGenerateResponse> result = new CompletableFuture<>();
+        attempt(body, requestId, deadline, 1, result);
+        return result.whenComplete((response, error) -> permits.release());
+    }
+
+    /**
+     * Streams poem fragments to {@code onDelta} as ai-python produces them (NDJSON from
+     * {@code /ai/generate/stream}); the future completes with the full response. Not
+     * retried, since fragments already delivered can't be taken back; callers that have
+     * seen no fragment yet may fall back to {@link #generate}. Same limits and failure
+     * codes as {@link #generate}.
+     */
+    public CompletableFuture<AiGenerateResponse> generateStream(AiGenerateRequest request, Consumer<String> onDelta) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new AiServiceException("AI_BUSY", "Too many AI generations in flight"));
+        }
+        CompletableFuture<AiGenerateResponse> result = new CompletableFuture<>();
+        CompletableFuture<AiGenerateResponse> released = result.whenComplete((response, error) -> permits.release());
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            result.completeExceptionally(new AiServiceException("AI_ERROR", "Unserializable AI request", e));
+            return released;
+        }
+        if (!breaker.tryAcquire()) {
+            result.completeExceptionally(new AiServiceException("AI_UNAVAILABLE", "AI service circuit is open"));
+            return released;
+        }
+
+        String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
+        // Per-request timeout only covers the wait for headers; the deadline covers the whole stream
+        HttpRequest httpRequest = newRequest(streamUri, body, requestId,
+                Math.min(properties.getAttemptTimeoutMillis(), properties.getDeadlineMillis()));
+        StreamLines lines = new StreamLines(onDelta, result);
+        CompletableFuture<HttpResponse<Void>> exchange = httpClient.sendAsync(httpRequest, info -> info.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(lines)
+                : HttpResponse.BodySubscribers.replacing(null));
+
+        exchange.whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause != null) {
+                breaker.onFailure();
+                result.completeExceptionally(new AiServiceException(
+                        cause instanceof HttpTimeoutException ? "AI_TIMEOUT" : "AI_ERROR",
+                        "AI stream failed: " + cause.getClass().getSimpleName() + ": " + cause.getMessage(), cause));
+            } else if (response.statusCode() != 200) {
+                if (response.statusCode() >= 500) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+                result.completeExceptionally(new AiServiceException("AI_ERROR", "AI stream failed: HTTP " + response.statusCode()));
+            } else {
+                breaker.onSuccess();
+                lines.finish();
+            }
+        });
+        CompletableFuture.delayedExecutor(properties.getDeadlineMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.completeExceptionally(new AiServiceException("AI_TIMEOUT", "AI generation deadline exceeded"))) {
+                exchange.cancel(true);
+            }
+        });
+        return released;
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return breaker.state();
+    }
+
+    public int inFlight() {
+        return properties.getMaxConcurrency() - permits.availablePermits();
+    }
+
+    private void attempt(byte[] body, String requestId, long deadline, int attempt,
+                         CompletableFuture<AiGenerateResponse> result) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+            result.completeExceptionally(new AiServiceException("AI_TIMEOUT", "AI generation deadline exceeded"));
+            return;
+        }
+        if (!breaker.tryAcquire()) {
+            result.completeExceptionally(new AiServiceException("AI_UNAVAILABLE", "AI service circuit is open"));
+            return;
+        }
+
+        HttpRequest httpRequest = newRequest(generateUri, body, requestId,
+                Math.min(properties.getAttemptTimeoutMillis(), remainingMillis));
+        httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            boolean retryable;
+            String reason;
+            if (cause != null) {
+                breaker.onFailure();
+                retryable = true;
+                reason = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+            } else if (response.statusCode() == 200) {
+                breaker.onSuccess();
+                try {
+                    result.complete(objectMapper.readValue(response.body(), AiGenerateResponse.class));
+                } catch (IOException e) {
+                    result.completeExceptionally(new AiServiceException("AI_ERROR", "Malformed AI response", e));
+                }
+                return;
+            } else {
+                int status = response.statusCode();
+                // 4xx means the service is up and rejected this request; only 5xx counts against it
+                if (status >= 500) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+                retryable = status >= 500 || status == 429;
+                reason = "HTTP " + status;
+            }
+
+            if (!retryable || attempt >= properties.getMaxAttempts()) {
+                String code = cause instanceof HttpTimeoutException ? "AI_TIMEOUT" : "AI_ERROR";
+                result.completeExceptionally(new AiServiceException(code,
+                        "AI generation failed after " + attempt + " attempt(s): " + reason, cause));
+                return;
+            }
+            long backoff = backoffMillis(attempt);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+                result.completeExceptionally(new AiServiceException("AI_TIMEOUT",
+                        "AI generation deadline exceeded after " + attempt + " attempt(s): " + reason, cause));
+                return;
+            }
+            log.debug("AI generate attempt {} failed ({}), retrying in {}ms", attempt, reason, backoff);
+            CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS)
+                    .execute(() -> attempt(body, requestId, deadline, attempt + 1, result));
+        });
+    }
+
+    private static HttpRequest newRequest(URI uri, byte[] body, String requestId, long timeoutMillis) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (requestId != null) {
+            builder.header(RequestIdFilter.REQUEST_ID_HEADER, requestId);
+            String traceparent = Tracer.traceparent(requestId);
+            if (traceparent != null) {
+                builder.header(RequestIdFilter.TRACEPARENT_HEADER, traceparent);
+            }
+        }
+        return builder.build();
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt-1))]
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(properties.getBackoffMaxMillis(),
+                properties.getBackoffBaseMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Consumes NDJSON lines of {@code {"delta"}}, then {@code {"done", ...response}} or {@code {"error"}}.
+     */
+    private final class StreamLines implements Flow.Subscriber<String> {
+        private final Consumer<String> onDelta;
+        private final CompletableFuture<AiGenerateResponse> result;
+
+        private StreamLines(Consumer<String> onDelta, CompletableFuture<AiGenerateResponse> result) {
+            this.onDelta = onDelta;
+            this.result = result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isBlank() || result.isDone()) {
+                return;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (node.has("delta")) {
+                    onDelta.accept(node.get("delta").asText());
+                } else if (node.has("done")) {
+                    ((ObjectNode) node).remove("done");
+                    result.complete(objectMapper.treeToValue(node, AiGenerateResponse.class));
+                } else if (node.has("error")) {
+                    result.completeExceptionally(new AiServiceException("AI_ERROR",
+                            "AI stream failed: " + node.path("error").path("message").asText()));
+                }
+            } catch (IOException e) {
+                result.completeExceptionally(new AiServiceException("AI_ERROR", "Malformed AI stream line", e));
+            } catch (RuntimeException e) {
+                // A failing consumer ends this call instead of escaping onto the HttpClient thread
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(new AiServiceException(
+                    throwable instanceof HttpTimeoutException ? "AI_TIMEOUT" : "AI_ERROR", "AI stream interrupted", throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            finish();
+        }
+
+        void finish() {
+            if (!result.isDone()) {
+                result.completeExceptionally(new AiServiceException("AI_ERROR", "AI stream ended without a result"));
+            }
+        }
+    }
+}
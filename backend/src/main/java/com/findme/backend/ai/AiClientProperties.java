@@ -0,0 +1,30 @@
+package com.findme.backend.ai;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ai-client")
+public class AiClientProperties {
+
+    private String baseUrl = "http://localhost:8000";
+
+    private long connectTimeoutMillis = 1_000;
+    /** Upper bound for a single attempt. */
+    private long attemptTimeoutMillis = 8_000;
+    /** Upper bound for the whole call, retries and backoff included. */
+    private long deadlineMillis = 15_000;
+
+    /** Calls in flight at once; further calls fail fast instead of queueing. */
+    private int maxConcurrency = 16;
+
+    private int maxAttempts = 3;
+    private long backoffBaseMillis = 200;
+    private long backoffMaxMillis = 2_000;
+
+    /** Consecutive failures that open the breaker, and how long it stays open. */
+    private int breakerFailureThreshold = 5;
+    private long breakerOpenMillis = 10_000;
+}
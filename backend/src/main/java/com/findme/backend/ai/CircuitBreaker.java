@@ -0,0 +1,64 @@
+package com.findme.backend.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consecutive-failure breaker. While open every call is rejected; once the open period
+ * has passed a single probe call is let through and its outcome closes or re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final long CLOSED = -1L;
+    private static final long PROBING = -2L;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger failures = new AtomicInteger();
+    // CLOSED, PROBING, or the nanoTime the breaker opened at
+    private final AtomicLong openedAt = new AtomicLong(CLOSED);
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+    /**
+     * @return whether a call may proceed; every permitted call must report its outcome
+     */
+    public boolean tryAcquire() {
+        long opened = openedAt.get();
+        if (opened == CLOSED) {
+            return true;
+        }
+        if (opened == PROBING || System.nanoTime() - opened < openNanos) {
+            return false;
+        }
+        // Only one caller wins the transition to the probe
+        return openedAt.compareAndSet(opened, PROBING);
+    }
+
+    public void onSuccess() {
+        failures.set(0);
+        openedAt.set(CLOSED);
+    }
+
+    public void onFailure() {
+        if (openedAt.get() == PROBING) {
+            openedAt.compareAndSet(PROBING, System.nanoTime());
+        } else if (failures.incrementAndGet() >= failureThreshold) {
+            // Late failures from calls started before opening don't extend the open period
+            openedAt.compareAndSet(CLOSED, System.nanoTime());
+        }
+    }
+
+    public State state() {
+        long opened = openedAt.get();
+        if (opened == CLOSED) {
+            return State.CLOSED;
+        }
+        return opened == PROBING ? State.HALF_OPEN : State.OPEN;
+    }
+}
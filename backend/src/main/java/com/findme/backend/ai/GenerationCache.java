@@ -0,0 +1,305 @@
+package com.findme.backend.ai;
+
+import com.findme.backend.cache.LruCache;
+import com.findme.backend.dto.AiGenerateResponse;
+import com.findme.backend.dto.GenerationCacheStats;
+import com.findme.backend.entity.GenerationCacheEntry;
+import com.findme.backend.repository.GenerationCacheRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reuses AI generations across results with similar traits. Trait values are quantized
+ * into {@code quantum}-wide levels; the bucket (test code, template version, levels) is
+ * the key. Lookups try the in-memory LRU, then the {@code generation_cache} table, then
+ * the nearest stored bucket within {@code max-distance} levels on every axis.
+ */
+@Slf4j
+@Component
+public class GenerationCache {
+
+    private final GenerationCacheRepository generationCacheRepository;
+    private final Executor writer;
+
+    @Value("${generation-cache.template-version:1}")
+    private int templateVersion;
+
+    @Value("${generation-cache.quantum:10}")
+    private double quantum;
+
+    @Value("${generation-cache.max-distance:1}")
+    private int maxDistance;
+
+    @Value("${generation-cache.memory-size:5000}")
+    private int memorySize;
+
+    private LruCache<String, AiGenerateResponse> memory;
+    // Stored buckets per (test code, template version, axes), for nearest-bucket search
+    private final ConcurrentHashMap<String, BucketIndex> indexes = new ConcurrentHashMap<>();
+
+    private final AtomicLong exactHits = new AtomicLong();
+    private final AtomicLong similarHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicLong generationNanos = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    /**
+     * @param writer runs table writes; {@link #store} is called from HTTP client
+     *               completions, which must not wait on the database
+     */
+    public GenerationCache(GenerationCacheRepository generationCacheRepository,
+                           @Qualifier("applicationTaskExecutor") Executor writer) {
+        this.generationCacheRepository = generationCacheRepository;
+        this.writer = writer;
+    }
+
+    @PostConstruct
+    void init() {
+        memory = new LruCache<>(memorySize);
+    }
+
+    public int getTemplateVersion() {
+        return templateVersion;
+    }
+
+    public Optional<AiGenerateResponse> lookup(String testCode, Map<String, Double> traits) {
+        Bucket bucket = quantize(testCode, traits);
+        BucketIndex index = index(testCode, bucket.axes);
+
+        AiGenerateResponse cached = load(testCode, bucket.key(), index);
+        if (cached != null) {
+            exactHits.incrementAndGet();
+            recordSaving();
+            return Optional.of(cached);
+        }
+
+        int[] nearest = index.nearest(bucket.levels, maxDistance);
+        if (nearest != null) {
+            cached = load(testCode, Bucket.key(bucket.axes, nearest), index);
+            if (cached != null) {
+                similarHits.incrementAndGet();
+                recordSaving();
+                return Optional.of(cached);
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores a fresh generation and records how long it took, which prices later hits.
+     * The memory tier is updated at once; the row is written on the task executor.
+     */
+    public void store(String testCode, Map<String, Double> traits, AiGenerateResponse response, long elapsedNanos) {
+        generations.incrementAndGet();
+        generationNanos.addAndGet(elapsedNanos);
+        if (response.getModeration() != null && !response.getModeration().isSafe()) {
+            return; // never hand a flagged poem to other users
+        }
+
+        Bucket bucket = quantize(testCode, traits);
+        String key = bucket.key();
+        memory.put(memoryKey(testCode, key), response);
+        LocalDateTime createdAt = LocalDateTime.now();
+        writer.execute(() -> {
+            try {
+                generationCacheRepository.save(new GenerationCacheEntry(null, testCode, templateVersion, key,
+                        response.getPoem(), response.getImgPrompt(), createdAt));
+            } catch (DataIntegrityViolationException e) {
+                // Another node stored the same bucket first; either generation is fine
+            } catch (RuntimeException e) {
+                // Still served from memory; only other nodes and restarts miss it
+                log.warn("Failed to store generation for {} bucket {}", testCode, key, e);
+                return;
+            }
+            index(testCode, bucket.axes).add(bucket.levels);
+        });
+    }
+
+    public GenerationCacheStats stats() {
+        long exact = exactHits.get();
+        long similar = similarHits.get();
+        long missed = misses.get();
+        long lookups = exact + similar + missed;
+        long generated = generations.get();
+        return new GenerationCacheStats(
+                exact,
+                similar,
+                missed,
+                lookups == 0 ? 0 : (double) (exact + similar) / lookups,
+                generated,
+                generated == 0 ? 0 : generationNanos.get() / generated / 1_000_000,
+                savedNanos.get() / 1_000_000,
+                memory.size(),
+                indexes.values().stream().mapToInt(BucketIndex::size).sum());
+    }
+
+    private AiGenerateResponse load(String testCode, String key, BucketIndex index) {
+        String memoryKey = memoryKey(testCode, key);
+        AiGenerateResponse cached = memory.get(memoryKey);
+        if (cached != null || !index.contains(key)) {
+            return cached; // the index mirrors the table, so unknown buckets skip the query
+        }
+        cached = generationCacheRepository.findByTestCodeAndTemplateVersionAndBucket(testCode, templateVersion, key)
+                .map(entry -> new AiGenerateResponse(entry.getPoem(), entry.getImgPrompt(), new AiGenerateResponse.Moderation()))
+                .orElse(null);
+        if (cached != null) {
+            memory.put(memoryKey, cached);
+        }
+        return cached;
+    }
+
+    // A hit saves roughly one average generation
+    private void recordSaving() {
+        long generated = generations.get();
+        if (generated > 0) {
+            savedNanos.addAndGet(generationNanos.get() / generated);
+        }
+    }
+
+    private BucketIndex index(String testCode, String axes) {
+        String indexKey = testCode + "|" + axes;
+        BucketIndex index = indexes.get(indexKey);
+        if (index != null) {
+            return index;
+        }
+        // Query outside the map so other trait spaces are not blocked on it. Racing loaders
+        // read the same rows; the first to publish wins and the others use its index.
+        List<int[]> stored = new ArrayList<>();
+        String prefix = axes + ":";
+        for (String bucket : generationCacheRepository.findBuckets(testCode, templateVersion)) {
+            if (bucket.startsWith(prefix)) {
+                stored.add(Bucket.parseLevels(bucket.substring(prefix.length())));
+            }
+        }
+        BucketIndex loaded = new BucketIndex(stored);
+        BucketIndex raced = indexes.putIfAbsent(indexKey, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private String memoryKey(String testCode, String bucketKey) {
+        return testCode + "|" + templateVersion + "|" + bucketKey;
+    }
+
+    private Bucket quantize(String testCode, Map<String, Double> traits) {
+        // Sorted so the same traits always produce the same key
+        TreeMap<String, Double> sorted = new TreeMap<>(traits);
+        int[] levels = new int[sorted.size()];
+        int i = 0;
+        for (Double value : sorted.values()) {
+            levels[i++] = (int) Math.floor((value == null ? 0 : value) / quantum);
+        }
+        return new Bucket(String.join(",", sorted.keySet()), levels);
+    }
+
+    private record Bucket(String axes, int[] levels) {
+
+        String key() {
+            return key(axes, levels);
+        }
+
+        static String key(String axes, int[] levels) {
+            StringBuilder sb = new StringBuilder(axes).append(':');
+            for (int i = 0; i < levels.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(levels[i]);
+            }
+            return sb.toString();
+        }
+
+        static int[] parseLevels(String text) {
+            String[] parts = text.split(",");
+            int[] levels = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                levels[i] = Integer.parseInt(parts[i]);
+            }
+            return levels;
+        }
+    }
+
+    /**
+     * Stored level vectors of one trait space. Reads scan a snapshot; writes are rare.
+     */
+    private static final class BucketIndex {
+        private volatile List<int[]> vectors = List.of();
+        private final ConcurrentHashMap<String, Boolean> keys = new ConcurrentHashMap<>();
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        // The initial load is published as one snapshot rather than copied once per row
+        BucketIndex(List<int[]> stored) {
+            List<int[]> unique = new ArrayList<>(stored.size());
+            for (int[] levels : stored) {
+                if (keys.putIfAbsent(Bucket.key("", levels), Boolean.TRUE) == null) {
+                    unique.add(levels);
+                }
+            }
+            vectors = unique;
+        }
+
+        void add(int[] levels) {
+            if (keys.putIfAbsent(Bucket.key("", levels), Boolean.TRUE) != null) {
+                return;
+            }
+            writeLock.lock();
+            try {
+                List<int[]> next = new ArrayList<>(vectors.size() + 1);
+                next.addAll(vectors);
+                next.add(levels);
+                vectors = next; // never modified once published
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        boolean contains(String bucketKey) {
+            return keys.containsKey(bucketKey.substring(bucketKey.indexOf(':')));
+        }
+
+        int size() {
+            return vectors.size();
+        }
+
+        // Closest vector by Chebyshev distance, ties broken by L1 distance
+        int[] nearest(int[] levels, int maxDistance) {
+            int[] best = null;
+            int bestMax = Integer.MAX_VALUE;
+            int bestSum = Integer.MAX_VALUE;
+            for (int[] candidate : vectors) {
+                if (candidate.length != levels.length) {
+                    continue;
+                }
+                int max = 0;
+                int sum = 0;
+                for (int i = 0; i < levels.length && max <= maxDistance; i++) {
+                    int d = Math.abs(candidate[i] - levels[i]);
+                    max = Math.max(max, d);
+                    sum += d;
+                }
+                if (max <= maxDistance && (max < bestMax || (max == bestMax && sum < bestSum))) {
+                    best = candidate;
+                    bestMax = max;
+                    bestSum = sum;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.findme.backend.auth;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Resolves the numeric id of the authenticated user from the security context,
+ * for both JWT ({@link UserPrincipal}) and OAuth2 ({@link CustomOAuth2User}) logins.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * @return the current user id, or {@code null} for anonymous requests
+     */
+    public static Long getId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getId();
+        }
+        if (principal instanceof CustomOAuth2User oAuth2User) {
+            return oAuth2User.getId();
+        }
+        return null;
+    }
+}
@@ -20,7 +20,7 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException, ServletException {
         CustomOAuth2User oAuth2User = (CustomOAuth2User) authentication.getPrincipal();
-        String token = jwtProvider.generateToken(oAuth2User.getEmail()); // Use email as subject
+        String token = jwtProvider.generateToken(oAuth2User.getEmail(), oAuth2User.getId()); // Use email as subject, id as claim
 
         // Redirect to frontend with token
         String redirectUrl = "http://localhost:5173/auth/callback?token=" + token;
@@ -0,0 +1,36 @@
+package com.findme.backend.auth;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal set by {@link com.findme.backend.filter.JwtAuthFilter}, built from token claims only.
+ * {@link #getName()} stays the email so {@code Authentication.getName()} keeps its meaning.
+ */
+public class UserPrincipal implements AuthenticatedPrincipal {
+
+    private final Long id;
+    private final String email;
+
+    public UserPrincipal(Long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
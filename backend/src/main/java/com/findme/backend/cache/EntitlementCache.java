@@ -0,0 +1,124 @@
+package com.findme.backend.cache;
+
+import com.findme.backend.entity.Entitlement;
+import com.findme.backend.repository.EntitlementRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-user entitlement snapshot so download and billing checks are in-memory lookups.
+ * Each user maps to a sorted item-code array with parallel expiry times; expired
+ * entitlements are filtered at read time, so a cached snapshot never outlives them.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntitlementCache {
+
+    private final EntitlementRepository entitlementRepository;
+
+    @Value("${cache.entitlements.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${cache.entitlements.max-size:50000}")
+    private int maxSize;
+
+    private TtlCache<Long, UserEntitlements> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new TtlCache<>(Duration.ofSeconds(ttlSeconds), maxSize);
+    }
+
+    public TtlCache<?, ?> cache() {
+        return cache;
+    }
+
+    public boolean hasEntitlement(Long userId, String itemCode) {
+        return load(userId).has(itemCode, System.currentTimeMillis());
+    }
+
+    public List<String> getActiveItemCodes(Long userId) {
+        return load(userId).active(System.currentTimeMillis());
+    }
+
+    /**
+     * Records a newly granted entitlement. Inside a transaction the user is only dropped
+     * from the cache after commit, so a rolled-back payment never shows up as entitled.
+     * Dropping rather than patching the cached set also discards a load that read the
+     * rows before the commit; the next read loads the committed row.
+     */
+    public void grant(Long userId) {
+        Runnable apply = () -> cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private UserEntitlements load(Long userId) {
+        return cache.getOrLoad(userId, id -> UserEntitlements.of(entitlementRepository.findByUserId(id)));
+    }
+
+    private static long toEpochMillis(LocalDateTime expiresAt) {
+        return expiresAt == null ? Long.MAX_VALUE : expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static final class UserEntitlements {
+        private final String[] itemCodes; // sorted
+        private final long[] expiresAt; // epoch millis, Long.MAX_VALUE for permanent
+
+        private UserEntitlements(String[] itemCodes, long[] expiresAt) {
+            this.itemCodes = itemCodes;
+            this.expiresAt = expiresAt;
+        }
+
+        static UserEntitlements of(List<Entitlement> entitlements) {
+            List<Entitlement> sorted = new ArrayList<>(entitlements);
+            sorted.sort(Comparator.comparing(Entitlement::getItemCode));
+            String[] codes = new String[sorted.size()];
+            long[] expiries = new long[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                codes[i] = sorted.get(i).getItemCode();
+                expiries[i] = toEpochMillis(sorted.get(i).getExpiresAt());
+            }
+            return new UserEntitlements(codes, expiries);
+        }
+
+        boolean has(String itemCode, long now) {
+            int idx = Arrays.binarySearch(itemCodes, itemCode);
+            return idx >= 0 && expiresAt[idx] > now;
+        }
+
+        List<String> active(long now) {
+            List<String> result = new ArrayList<>(itemCodes.length);
+            for (int i = 0; i < itemCodes.length; i++) {
+                if (expiresAt[i] > now) {
+                    result.add(itemCodes[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.findme.backend.cache;
+
+import com.findme.backend.dto.SecondLevelCacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Admin view of Hibernate's second-level cache (regions in {@code ehcache.xml}).
+ */
+@Component
+public class SecondLevelCache {
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public SecondLevelCacheStats stats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+
+        List<SecondLevelCacheStats.Region> regions = new ArrayList<>(names.length);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(new SecondLevelCacheStats.Region(name, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), ratio(region.getHitCount(), region.getMissCount())));
+            }
+        }
+        long queryHits = statistics.getQueryCacheHitCount();
+        long queryMisses = statistics.getQueryCacheMissCount();
+        return new SecondLevelCacheStats(statistics.isStatisticsEnabled(), regions, queryHits, queryMisses,
+                statistics.getQueryCachePutCount(), ratio(queryHits, queryMisses));
+    }
+
+    /**
+     * Drops every entity, collection and query region on this node, e.g. after rows were
+     * changed outside the application.
+     */
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
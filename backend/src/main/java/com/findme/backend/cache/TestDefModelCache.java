@@ -0,0 +1,99 @@
+package com.findme.backend.cache;
+
+import com.findme.backend.dto.TestDefListItem;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.model.TestDefinition;
+import com.findme.backend.repository.TestDefRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Parsed test definitions keyed by (code, version). Only published and archived versions
+ * are cached: their content can no longer change, so models are kept without expiry, up
+ * to {@code max-models} least recently read first out. Drafts can be edited in place on
+ * any node, so they are parsed on every read and never cached.
+ * The "which version is published" metadata is short-lived and invalidated on publish.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestDefModelCache {
+
+    private final TestDefRepository testDefRepository;
+
+    @Value("${cache.test-defs.published-ttl-seconds:60}")
+    private long publishedTtlSeconds;
+
+    @Value("${cache.test-defs.max-models:500}")
+    private int maxModels;
+
+    // Every imported or edited version would otherwise stay here for the life of the process
+    private LruCache<String, TestDefinition> models;
+    private TtlCache<String, TestDefListItem> published;
+
+    @PostConstruct
+    void init() {
+        models = new LruCache<>(maxModels);
+        published = new TtlCache<>(Duration.ofSeconds(publishedTtlSeconds), 1000);
+    }
+
+    public TtlCache<?, ?> publishedCache() {
+        return published;
+    }
+
+    public int modelCount() {
+        return models.size();
+    }
+
+    public Optional<TestDefinition> get(String code, int version) {
+        String key = code + ":" + version;
+        TestDefinition model = models.get(key);
+        if (model != null) {
+            return Optional.of(model);
+        }
+        Optional<TestDef> row = testDefRepository.findByCodeAndVersion(code, version);
+        if (row.isEmpty()) {
+            return Optional.empty();
+        }
+        model = TestDefinition.from(row.get());
+        if (!"DRAFT".equals(row.get().getStatus())) {
+            models.put(key, model); // a concurrent load parsed the same row
+        }
+        return Optional.of(model);
+    }
+
+    /**
+     * Metadata (no questions/scoring) of the currently published version of {@code code}.
+     */
+    public Optional<TestDefListItem> getPublished(String code) {
+        return Optional.ofNullable(published.getOrLoad(code,
+                c -> testDefRepository.findListItemByCodeAndStatus(c, "PUBLISHED").orElse(null)));
+    }
+
+    /**
+     * Drops the published pointer for {@code code} once the current transaction commits,
+     * so a concurrent read can't re-cache the pre-publish state.
+     */
+    public void invalidatePublished(String code) {
+        afterCommit(() -> published.invalidate(code));
+    }
+
+    // Runs now and again after commit, so a concurrent read can't re-cache the old state
+    private static void afterCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
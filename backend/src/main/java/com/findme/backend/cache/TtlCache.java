@@ -0,0 +1,144 @@
+package com.findme.backend.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small in-process cache with a fixed time-to-live per entry and a soft size bound.
+ * Expired entries are dropped lazily on read and when the cache is full.
+ * Hit/miss/put/eviction counts are kept for metrics.
+ */
+public class TtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Bumped by every invalidation, so a load that started before one never caches its result
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TtlCache(Duration ttl, int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Returns the cached value or loads it. A {@code null} result from the loader is not cached,
+     * nor is one loaded while an invalidation happened: it may predate the change that caused it.
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long seen = invalidations.get();
+        value = loader.apply(key);
+        if (value != null && invalidations.get() == seen) {
+            Entry<V> entry = store(key, value);
+            // An invalidation between the check and the put: take back what was just stored
+            if (invalidations.get() != seen) {
+                entries.remove(key, entry);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        store(key, value);
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private Entry<V> store(K key, V value) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        entries.put(key, entry);
+        puts.increment();
+        return entry;
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        int before = entries.size();
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        evictions.add(before - entries.size());
+        if (entries.size() < maxSize) {
+            return;
+        }
+        // Still full: drop an arbitrary slice rather than tracking access order
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        while (toRemove-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAtNanos;
+
+        private Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
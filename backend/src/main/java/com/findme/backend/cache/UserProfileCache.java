@@ -0,0 +1,84 @@
+package com.findme.backend.cache;
+
+import com.findme.backend.dto.UserProfileDto;
+import com.findme.backend.entity.UserEntity;
+import com.findme.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of user identity/profile data so authenticated requests
+ * don't need a users table lookup. Populated on login and OAuth2 sign-in,
+ * falls back to the repository on a miss.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${cache.user-profile.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${cache.user-profile.max-size:10000}")
+    private int maxSize;
+
+    private TtlCache<Long, UserProfileDto> byId;
+    private TtlCache<String, UserProfileDto> byEmail;
+
+    @PostConstruct
+    void init() {
+        byId = new TtlCache<>(Duration.ofSeconds(ttlSeconds), maxSize);
+        byEmail = new TtlCache<>(Duration.ofSeconds(ttlSeconds), maxSize);
+    }
+
+    public Optional<UserProfileDto> get(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId.getOrLoad(userId, id -> userRepository.findById(id)
+                .map(this::cacheEntity)
+                .orElse(null)));
+    }
+
+    public Optional<UserProfileDto> getByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byEmail.getOrLoad(email, e -> userRepository.findByEmail(e)
+                .map(this::cacheEntity)
+                .orElse(null)));
+    }
+
+    public void put(UserEntity user) {
+        cacheEntity(user);
+    }
+
+    public void evict(Long userId) {
+        UserProfileDto cached = byId.get(userId);
+        byId.invalidate(userId);
+        if (cached != null) {
+            byEmail.invalidate(cached.getEmail());
+        }
+    }
+
+    /**
+     * Underlying caches by metric name.
+     */
+    public Map<String, TtlCache<?, ?>> caches() {
+        return Map.of("user-profile.by-id", byId, "user-profile.by-email", byEmail);
+    }
+
+    private UserProfileDto cacheEntity(UserEntity user) {
+        UserProfileDto profile = new UserProfileDto(user.getId(), user.getEmail(), user.getNickname());
+        byId.put(profile.getId(), profile);
+        byEmail.put(profile.getEmail(), profile);
+        return profile;
+    }
+}
@@ -3,12 +3,14 @@ package com.findme.backend.config;
 import com.findme.backend.entity.UserEntity;
 import com.findme.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
@@ -26,7 +28,7 @@ public class DataLoader implements CommandLineRunner {
             adminUser.setEmailVerified(true);
             adminUser.setCreatedAt(LocalDateTime.now());
             userRepository.save(adminUser);
-            System.out.println("Admin user created: admin@admin.admin");
+            log.info("Admin user created: admin@admin.admin");
         }
     }
 }
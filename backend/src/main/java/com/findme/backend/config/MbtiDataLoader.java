@@ -4,12 +4,14 @@ import com.findme.backend.dto.TestDefImportRequest;
 import com.findme.backend.service.TestDefService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class MbtiDataLoader implements CommandLineRunner {
@@ -24,12 +26,12 @@ public class MbtiDataLoader implements CommandLineRunner {
             try (InputStream inputStream = resource.getInputStream()) {
                 TestDefImportRequest mbtiTest = objectMapper.readValue(inputStream, TestDefImportRequest.class);
                 testDefService.importTestDef(mbtiTest, "system");
-                System.out.println("MBTI test loaded: " + mbtiTest.getTitle());
+                log.info("MBTI test loaded: {}", mbtiTest.getTitle());
                 testDefService.publishTestDef(mbtiTest.getCode(), mbtiTest.getVersion(), "system");
-                System.out.println("MBTI test published: " + mbtiTest.getTitle());
+                log.info("MBTI test published: {}", mbtiTest.getTitle());
             }
         } catch (Exception e) {
-            System.err.println("Failed to load MBTI test: " + e.getMessage());
+            log.warn("Failed to load MBTI test: {}", e.getMessage());
         }
     }
 }
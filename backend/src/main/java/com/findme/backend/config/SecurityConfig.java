@@ -2,9 +2,13 @@ package com.findme.backend.config;
 
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import com.findme.backend.filter.JwtAuthFilter;
+import com.findme.backend.filter.RateLimitFilter;
 import com.findme.backend.filter.RequestIdFilter; // Import RequestIdFilter
 import com.findme.backend.auth.OAuth2SuccessHandler;
+import com.findme.backend.metrics.AppMetrics;
+import com.findme.backend.metrics.TimedPasswordEncoder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +32,7 @@ public class SecurityConfig {
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final JwtAuthFilter jwtAuthFilter;
     private final RequestIdFilter requestIdFilter; // Inject RequestIdFilter
+    private final RateLimitFilter rateLimitFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint; // Inject JwtAuthenticationEntryPoint
 
     @Bean
@@ -40,6 +45,8 @@ public class SecurityConfig {
             .formLogin(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(mvcMatcherBuilder.pattern("/api/health")).permitAll()
+                // Actuator runs on management.server.port, which is not exposed publicly
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/api/public/**")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/oauth2/authorization/**")).permitAll()
                 .requestMatchers(mvcMatcherBuilder.pattern("/login/oauth2/code/**")).permitAll()
@@ -54,6 +61,7 @@ public class SecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint)) // Configure custom entry point
             
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthFilter.class) // Keyed by user id, so after JWT resolution
             .addFilterBefore(requestIdFilter, CorsFilter.class) // Add RequestIdFilter before CorsFilter
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
 
@@ -61,8 +69,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AppMetrics appMetrics) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), appMetrics);
     }
 
     @Bean
@@ -0,0 +1,35 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.ai.GenerationCache;
+import com.findme.backend.dto.GenerationCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/ai")
+@RequiredArgsConstructor
+public class AdminAiController {
+
+    private final GenerationCache generationCache;
+
+    @Value("${admin.token}")
+    private String adminToken;
+
+    private void validateAdminToken(String token) {
+        if (token == null || !token.equals(adminToken)) {
+            throw new IllegalArgumentException("Unauthorized: Invalid admin token.");
+        }
+    }
+
+    @GetMapping("/generation-cache")
+    public ResponseEntity<GenerationCacheStats> getGenerationCacheStats(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(generationCache.stats());
+    }
+}
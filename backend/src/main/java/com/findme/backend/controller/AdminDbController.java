@@ -0,0 +1,90 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.cache.SecondLevelCache;
+import com.findme.backend.datasource.DbStatistics;
+import com.findme.backend.datasource.QueryStats;
+import com.findme.backend.dto.DbStatisticsDto;
+import com.findme.backend.dto.QueryFingerprintStats;
+import com.findme.backend.dto.SecondLevelCacheStats;
+import com.findme.backend.dto.SlowQueryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/db")
+@RequiredArgsConstructor
+public class AdminDbController {
+
+    private final SecondLevelCache secondLevelCache;
+    private final DbStatistics dbStatistics;
+    private final QueryStats queryStats;
+
+    @Value("${admin.token}")
+    private String adminToken;
+
+    private void validateAdminToken(String token) {
+        if (token == null || !token.equals(adminToken)) {
+            throw new IllegalArgumentException("Unauthorized: Invalid admin token.");
+        }
+    }
+
+    // Per-region hit/miss/put counters for sizing the regions in ehcache.xml
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<SecondLevelCacheStats> getSecondLevelCacheStats(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(secondLevelCache.stats());
+    }
+
+    @DeleteMapping("/second-level-cache")
+    public ResponseEntity<Void> evictSecondLevelCache(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        secondLevelCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/statistics")
+    public ResponseEntity<DbStatisticsDto> getStatistics(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(dbStatistics.snapshot());
+    }
+
+    // Statement fingerprints by total time spent
+    @GetMapping("/queries")
+    public ResponseEntity<List<QueryFingerprintStats>> getQueries(
+                @RequestHeader("X-Admin-Token") String token,
+                @RequestParam(defaultValue = "20") int limit) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(queryStats.top(Math.max(1, Math.min(limit, 500))));
+    }
+
+    // Recent executions over query-stats.slow-threshold-millis, slowest first
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryDto>> getSlowQueries(
+                @RequestHeader("X-Admin-Token") String token,
+                @RequestParam(defaultValue = "50") int limit) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(queryStats.slowQueries(Math.max(1, Math.min(limit, 500))));
+    }
+
+    // Starts a fresh measurement window for fingerprints, slow queries and Hibernate counters
+    @DeleteMapping("/queries")
+    public ResponseEntity<Void> resetQueryStats(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        queryStats.reset();
+        dbStatistics.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
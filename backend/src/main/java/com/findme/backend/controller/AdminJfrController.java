@@ -0,0 +1,76 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.dto.JfrRecordingStatus;
+import com.findme.backend.jfr.JfrRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+public class AdminJfrController {
+
+    private final JfrRecorder jfrRecorder;
+
+    @Value("${admin.token}")
+    private String adminToken;
+
+    private void validateAdminToken(String token) {
+        if (token == null || !token.equals(adminToken)) {
+            throw new IllegalArgumentException("Unauthorized: Invalid admin token.");
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<JfrRecordingStatus> getStatus(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(jfrRecorder.status());
+    }
+
+    // Limits default to, and are capped by, jfr.max-age-minutes / jfr.max-size-mb
+    @PostMapping("/start")
+    public ResponseEntity<JfrRecordingStatus> start(
+                @RequestHeader("X-Admin-Token") String token,
+                @RequestParam(required = false) String settings,
+                @RequestParam(required = false) Long maxAgeMinutes,
+                @RequestParam(required = false) Long maxSizeMb) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(jfrRecorder.start(settings, maxAgeMinutes, maxSizeMb));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<JfrRecordingStatus> stop(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(jfrRecorder.stop());
+    }
+
+    // Downloads a snapshot of the recording; a copy stays in jfr.dump-dir
+    @PostMapping("/dump")
+    public ResponseEntity<Resource> dump(
+                @RequestHeader("X-Admin-Token") String token) throws IOException {
+        validateAdminToken(token);
+        Path file = jfrRecorder.dump();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,44 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.dto.SimilarityIndexStats;
+import com.findme.backend.similarity.SimilarityIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/similarity")
+@RequiredArgsConstructor
+public class AdminSimilarityController {
+
+    private final SimilarityIndex similarityIndex;
+
+    @Value("${admin.token}")
+    private String adminToken;
+
+    private void validateAdminToken(String token) {
+        if (token == null || !token.equals(adminToken)) {
+            throw new IllegalArgumentException("Unauthorized: Invalid admin token.");
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<SimilarityIndexStats> getStats(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(similarityIndex.stats());
+    }
+
+    // Writes similarity.snapshot-file now instead of waiting for the interval
+    @PostMapping("/snapshot")
+    public ResponseEntity<SimilarityIndexStats> snapshot(
+                @RequestHeader("X-Admin-Token") String token) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(similarityIndex.snapshot());
+    }
+}
@@ -1,15 +1,23 @@
 package com.findme.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.findme.backend.dto.TestAuditListItem;
+import com.findme.backend.dto.TestDefBulkImportResponse;
 import com.findme.backend.dto.TestDefImportRequest;
 import com.findme.backend.dto.TestDefListItem;
 import com.findme.backend.dto.TestDefResponse;
+import com.findme.backend.service.TestAuditService;
+import com.findme.backend.service.TestDefBulkImportService;
 import com.findme.backend.service.TestDefService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -18,6 +26,8 @@ import java.util.List;
 public class AdminTestController {
 
     private final TestDefService testDefService;
+    private final TestAuditService testAuditService;
+    private final TestDefBulkImportService testDefBulkImportService;
 
     @Value("${admin.token}") // Injected from application.yml or environment
     private String adminToken;
@@ -38,6 +48,16 @@ public class AdminTestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Streams NDJSON or a JSON array; the body is never buffered as a whole
+    @PostMapping(value = "/import/bulk", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TestDefBulkImportResponse> bulkImportTestDefs(
+                @RequestHeader("X-Admin-Token") String token,
+                HttpServletRequest request) throws IOException {
+        validateAdminToken(token);
+        TestDefBulkImportResponse response = testDefBulkImportService.importStream(request.getInputStream(), "admin");
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{code}/{version}/publish")
     public ResponseEntity<TestDefResponse> publishTestDef(
                 @RequestHeader("X-Admin-Token") String token,
@@ -76,4 +96,20 @@ public class AdminTestController {
                     .orElseThrow(() -> new IllegalArgumentException("No published test found for code: " + code));
         return ResponseEntity.ok(testDef);
     }
+
+    @GetMapping("/{code}/audits")
+    public ResponseEntity<List<TestAuditListItem>> getAudits(
+                @RequestHeader("X-Admin-Token") String token,
+                @PathVariable String code) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(testAuditService.getAudits(code));
+    }
+
+    @GetMapping("/audits/{auditId}/snapshot")
+    public ResponseEntity<JsonNode> getAuditSnapshot(
+                @RequestHeader("X-Admin-Token") String token,
+                @PathVariable Long auditId) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(testAuditService.reconstruct(auditId));
+    }
 }
@@ -0,0 +1,51 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.trace.TraceRecord;
+import com.findme.backend.trace.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+@RequiredArgsConstructor
+public class AdminTraceController {
+
+    private final Tracer tracer;
+
+    @Value("${admin.token}")
+    private String adminToken;
+
+    private void validateAdminToken(String token) {
+        if (token == null || !token.equals(adminToken)) {
+            throw new IllegalArgumentException("Unauthorized: Invalid admin token.");
+        }
+    }
+
+    // Slowest recent requests over request-tracing.slow-threshold-millis, slowest first
+    @GetMapping("/slow")
+    public ResponseEntity<List<TraceRecord>> getSlowTraces(
+                @RequestHeader("X-Admin-Token") String token,
+                @RequestParam(defaultValue = "20") int limit) {
+        validateAdminToken(token);
+        return ResponseEntity.ok(tracer.slowest(Math.max(1, Math.min(limit, 200))));
+    }
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<TraceRecord> getTrace(
+                @RequestHeader("X-Admin-Token") String token,
+                @PathVariable String traceId) {
+        validateAdminToken(token);
+        return tracer.find(traceId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,5 +1,7 @@
 package com.findme.backend.controller;
 
+import com.findme.backend.cache.UserProfileCache;
+import com.findme.backend.dto.UserProfileDto;
 import com.findme.backend.service.AuthService;
 import com.findme.backend.dto.LoginRequest;
 import com.findme.backend.dto.SignupRequest;
@@ -7,6 +9,7 @@ import com.findme.backend.entity.UserEntity;
 import com.findme.backend.util.JwtProvider;
 import com.findme.backend.entity.RefreshTokenEntity;
 import com.findme.backend.repository.RefreshTokenRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +33,7 @@ public class AuthController {
     private final JwtProvider jwtProvider;
     private final RefreshTokenRepository refreshTokenRepository; // Inject RefreshTokenRepository
     private final AuthService authService;
+    private final UserProfileCache userProfileCache;
 
     @PostMapping("/signup")
     public ResponseEntity<Map<String, String>> signup(@Valid @RequestBody SignupRequest signupRequest) {
@@ -42,12 +46,13 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<Map<String, String>> login(@Valid @RequestBody LoginRequest loginRequest) {
         UserEntity user = authService.login(loginRequest);
+        userProfileCache.put(user);
 
         // Generate access token
-        String accessToken = jwtProvider.generateToken(user.getEmail()); // Use user's email as subject
+        String accessToken = jwtProvider.generateToken(user.getEmail(), user.getId()); // Use user's email as subject, id as claim
 
         // Generate refresh token
-        String refreshToken = jwtProvider.generateRefreshToken(user.getEmail());
+        String refreshToken = jwtProvider.generateRefreshToken(user.getEmail(), user.getId());
         LocalDateTime refreshTokenExpiresAt = jwtProvider.extractExpiration(refreshToken).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
 
         // Save refresh token to DB
@@ -88,20 +93,24 @@ public class AuthController {
 
         // b) JWT 검증(서명/만료) + sub 일치 확인
         String userId;
+        Long numericUserId;
         try {
-            userId = jwtProvider.extractSubject(oldRefreshToken);
-            if (!jwtProvider.validateToken(oldRefreshToken)) {
-                return ResponseEntity.status(401).body(Collections.singletonMap("message", "Invalid refresh token (JWT validation failed)"));
-            }
+            Claims claims = jwtProvider.parseClaims(oldRefreshToken); // 서명/만료 검증 포함
+            userId = claims.getSubject();
+            numericUserId = jwtProvider.extractUserId(claims);
         } catch (Exception e) {
             return ResponseEntity.status(401).body(Collections.singletonMap("message", "Invalid refresh token (JWT parsing error)"));
         }
+        if (numericUserId == null) {
+            // uid claim 이전에 발급된 refresh 토큰
+            numericUserId = userProfileCache.getByEmail(userId).map(UserProfileDto::getId).orElse(null);
+        }
 
         // c) 새 access 발급
-        String newAccessToken = jwtProvider.generateToken(userId);
+        String newAccessToken = jwtProvider.generateToken(userId, numericUserId);
 
         // d) (회전) 새 refresh 발급 + DB 저장
-        String newRefreshToken = jwtProvider.generateRefreshToken(userId);
+        String newRefreshToken = jwtProvider.generateRefreshToken(userId, numericUserId);
         LocalDateTime newRefreshTokenExpiresAt = jwtProvider.extractExpiration(newRefreshToken).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
 
         RefreshTokenEntity newRefreshTokenEntity = new RefreshTokenEntity();
@@ -111,8 +120,7 @@ public class AuthController {
         refreshTokenRepository.save(newRefreshTokenEntity);
 
         // e) 기존 refresh 레코드 revoked_at=now 로 업데이트
-        storedRefreshToken.setRevokedAt(LocalDateTime.now());
-        refreshTokenRepository.save(storedRefreshToken);
+        refreshTokenRepository.revoke(storedRefreshToken.getId(), LocalDateTime.now());
 
         // f) 응답: { access, refresh }
         Map<String, String> responseBody = new HashMap<>();
@@ -0,0 +1,71 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.dto.GenerationJobDto;
+import com.findme.backend.entity.ResultEntity;
+import com.findme.backend.repository.ResultRepository;
+import com.findme.backend.service.GenerationJob;
+import com.findme.backend.service.GenerationJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Objects;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class GenerationJobController {
+
+    private final ResultRepository resultRepository;
+    private final GenerationJobService generationJobService;
+
+    @PostMapping("/results/{id}/poem-jobs")
+    public ResponseEntity<GenerationJobDto> submitPoemJob(@PathVariable Long id) {
+        Optional<ResultEntity> result = resultRepository.findById(id);
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Anonymous results are open; owned results only to their owner
+        Long ownerId = result.get().getUserId();
+        if (ownerId != null && !Objects.equals(ownerId, CurrentUser.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        GenerationJob job = generationJobService.submit(result.get());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job.toDto());
+    }
+
+    @GetMapping("/poem-jobs/{jobId}")
+    public ResponseEntity<GenerationJobDto> getPoemJob(@PathVariable String jobId) {
+        Optional<GenerationJob> job = generationJobService.get(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isOwner(job.get())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(job.get().toDto());
+    }
+
+    // Events: "delta" (text fragment; the first one replays everything so far), then "done" or "error"
+    @GetMapping(value = "/poem-jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPoemJob(@PathVariable String jobId) {
+        Optional<GenerationJob> job = generationJobService.get(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isOwner(job.get())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(generationJobService.stream(job.get()));
+    }
+
+    // Same rule as submitting: anonymous results are open, owned results only to their owner
+    private static boolean isOwner(GenerationJob job) {
+        return job.getOwnerId() == null || Objects.equals(job.getOwnerId(), CurrentUser.getId());
+    }
+}
@@ -9,17 +9,21 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Requests that are well-formed but clash with the current state of the resource
+    private static final Set<String> CONFLICT_CODES = Set.of("EMAIL_TAKEN", "JFR_ALREADY_RUNNING", "JFR_NOT_RUNNING");
+
     @ExceptionHandler(BizException.class)
     public ResponseEntity<Map<String, String>> handleBizException(BizException ex) {
         Map<String, String> response = new HashMap<>();
         response.put("code", ex.getCode());
         response.put("message", ex.getMessage());
         HttpStatus status = HttpStatus.BAD_REQUEST;
-        if ("EMAIL_TAKEN".equals(ex.getCode())) {
+        if (CONFLICT_CODES.contains(ex.getCode())) {
             status = HttpStatus.CONFLICT;
         }
         return new ResponseEntity<>(response, status);
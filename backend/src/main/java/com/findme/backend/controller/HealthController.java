@@ -0,0 +1,31 @@
+package com.findme.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Public readiness check on the application port, for load balancers that cannot reach
+ * the management port. Orchestrators should use /actuator/health/liveness and /readiness.
+ */
+@RestController
+@RequiredArgsConstructor
+public class HealthController {
+
+    private final HealthEndpoint healthEndpoint;
+
+    @GetMapping("/api/health")
+    public ResponseEntity<Map<String, String>> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Status status = readiness != null ? readiness.getStatus() : healthEndpoint.health().getStatus();
+        HttpStatus httpStatus = Status.UP.equals(status) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(Map.of("status", status.getCode()));
+    }
+}
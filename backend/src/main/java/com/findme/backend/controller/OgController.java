@@ -1,8 +1,12 @@
 package com.findme.backend.controller;
 
-import com.findme.backend.entity.ResultEntity;
+import com.findme.backend.dto.OgCardDto;
+import com.findme.backend.jfr.OgRenderEvent;
+import com.findme.backend.metrics.AppMetrics;
 import com.findme.backend.repository.ResultRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -23,23 +27,49 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @RestController
 @RequestMapping("/og")
 @RequiredArgsConstructor
 public class OgController {
 
     private final ResultRepository resultRepository;
+    private final AppMetrics appMetrics;
 
     @GetMapping(value = "/{id}.png", produces = MediaType.IMAGE_PNG_VALUE)
     public ResponseEntity<byte[]> getOgImage(@PathVariable Long id) {
-        Optional<ResultEntity> resultOptional = resultRepository.findById(id);
+        // Short read-only query; no transaction or connection is held while rendering (open-in-view is off)
+        Optional<OgCardDto> resultOptional = resultRepository.findOgCardById(id);
 
         if (resultOptional.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        ResultEntity result = resultOptional.get();
+        OgCardDto result = resultOptional.get();
 
+        byte[] png = null;
+        Timer.Sample sample = Timer.start();
+        OgRenderEvent renderEvent = OgRenderEvent.start();
+        try {
+            png = renderPng(result);
+        } catch (IOException e) {
+            log.error("Failed to render OG image for result {}", id, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            sample.stop(appMetrics.getOgRender());
+            renderEvent.finish(id, png != null ? png.length : -1);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.IMAGE_PNG);
+        // Optional: Cache-Control header for 1 hour
+        headers.setCacheControl("public, max-age=3600");
+
+        return new ResponseEntity<>(png, headers, HttpStatus.OK);
+    }
+
+    // Rendering + PNG encoding only, no repository access (benchmarked in src/jmh)
+    static byte[] renderPng(OgCardDto result) throws IOException {
         int width = 1200;
         int height = 630;
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
@@ -78,18 +108,7 @@ public class OgController {
         g2d.dispose();
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            ImageIO.write(image, "png", baos);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.IMAGE_PNG);
-        // Optional: Cache-Control header for 1 hour
-        headers.setCacheControl("public, max-age=3600");
-
-        return new ResponseEntity<>(baos.toByteArray(), headers, HttpStatus.OK);
+        ImageIO.write(image, "png", baos);
+        return baos.toByteArray();
     }
-}
\ No newline at end of file
+}
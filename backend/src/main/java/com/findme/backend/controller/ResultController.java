@@ -1,24 +1,21 @@
 package com.findme.backend.controller;
 
-import com.findme.backend.auth.CustomOAuth2User;
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.cache.EntitlementCache;
 import com.findme.backend.dto.PaginatedResponse;
 import com.findme.backend.dto.ResultDetailDto;
 import com.findme.backend.dto.ResultListItemDto;
-import com.findme.backend.entity.ResultEntity;
+import com.findme.backend.dto.SimilarResultsDto;
 import com.findme.backend.repository.ResultRepository;
-import com.findme.backend.repository.EntitlementRepository; // Import EntitlementRepository
+import com.findme.backend.similarity.SimilarityIndex;
+import com.findme.backend.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal; // Import AuthenticationPrincipal
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api") // Changed to /api to allow /api/results and /api/download
@@ -26,26 +23,52 @@ import java.util.stream.Collectors;
 public class ResultController {
 
     private final ResultRepository resultRepository;
-    private final EntitlementRepository entitlementRepository; // Inject EntitlementRepository
+    private final EntitlementCache entitlementCache;
+    private final SimilarityIndex similarityIndex;
 
     @GetMapping("/results") // Changed to /api/results
     public ResponseEntity<PaginatedResponse<ResultListItemDto>> getResults(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<ResultEntity> resultsPage = resultRepository.findAll(pageable);
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ResultListItemDto> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = resultRepository.findFirstPage(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = resultRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+        return ResponseEntity.ok(toPage(rows, pageSize));
+    }
 
-        List<ResultListItemDto> items = resultsPage.getContent().stream()
-                .map(result -> new ResultListItemDto(result.getId(), result.getTestCode(), result.getScore(), result.getCreatedAt()))
-                .collect(Collectors.toList());
+    @GetMapping("/results/me")
+    public ResponseEntity<PaginatedResponse<ResultListItemDto>> getMyResults(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String testCode,
+            @RequestParam(defaultValue = "10") int size) {
 
-        String nextCursor = null;
-        if (resultsPage.hasNext()) {
-            nextCursor = String.valueOf(page + 1); // Simple page number as cursor
+        Long userId = CurrentUser.getId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        return ResponseEntity.ok(new PaginatedResponse<>(items, nextCursor));
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        boolean filtered = testCode != null && !testCode.isEmpty();
+        List<ResultListItemDto> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = filtered
+                    ? resultRepository.findUserTestFirstPage(userId, testCode, limit)
+                    : resultRepository.findUserFirstPage(userId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = filtered
+                    ? resultRepository.findUserTestPageAfter(userId, testCode, after.getCreatedAt(), after.getId(), limit)
+                    : resultRepository.findUserPageAfter(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+        return ResponseEntity.ok(toPage(rows, pageSize));
     }
 
     @GetMapping("/results/{id}") // Changed to /api/results/{id}
@@ -63,14 +86,24 @@ public class ResultController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Nearest results of the same test by trait vector; exact=false searches only the closest grid cells
+    @GetMapping("/results/{id}/similar")
+    public ResponseEntity<SimilarResultsDto> getSimilarResults(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "false") boolean exact) {
+        return similarityIndex.similar(id, k, exact)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/download/{resultId}")
     public ResponseEntity<String> downloadResult(
             @PathVariable Long resultId,
-            @RequestParam String quality,
-            @AuthenticationPrincipal CustomOAuth2User principal) {
+            @RequestParam String quality) {
 
         // Check if result exists
-        if (resultRepository.findById(resultId).isEmpty()) {
+        if (!resultRepository.existsById(resultId)) {
             return ResponseEntity.notFound().build();
         }
 
@@ -78,7 +111,7 @@ public class ResultController {
             // Always allow free download with watermark
             return ResponseEntity.ok("http://localhost:8080/placeholder-watermarked-image.png");
         } else if ("hires".equalsIgnoreCase(quality)) {
-            Long userId = (principal != null) ? principal.getId() : null;
+            Long userId = CurrentUser.getId();
 
             if (userId == null) {
                 // Not logged in, return 402
@@ -86,8 +119,8 @@ public class ResultController {
                         .body("{\"code\":\"PAYMENT_REQUIRED\", \"message\":\"로그인 후 고해상도 다운로드가 가능합니다.\"}");
             }
 
-            // Check for entitlement
-            boolean hasEntitlement = entitlementRepository.findByUserIdAndItemCode(userId, "hires_download").isPresent();
+            // Check for entitlement (in-memory, honours expires_at)
+            boolean hasEntitlement = entitlementCache.hasEntitlement(userId, "hires_download");
 
             if (hasEntitlement) {
                 // Return placeholder high-res image URL
@@ -101,4 +134,23 @@ public class ResultController {
             return ResponseEntity.badRequest().body("Invalid quality parameter.");
         }
     }
-}
\ No newline at end of file
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+
+    // Queries fetch pageSize + 1 rows; the extra row only signals that another page exists (no COUNT(*))
+    private PaginatedResponse<ResultListItemDto> toPage(List<ResultListItemDto> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new PaginatedResponse<>(rows, null);
+        }
+        List<ResultListItemDto> items = rows.subList(0, pageSize);
+        ResultListItemDto last = items.get(items.size() - 1);
+        if (last.getCreatedAt() == null) {
+            // Legacy rows without created_at have no place in the keyset; end the listing
+            // rather than hand out a cursor the next request would reject
+            return new PaginatedResponse<>(items, null);
+        }
+        return new PaginatedResponse<>(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+}
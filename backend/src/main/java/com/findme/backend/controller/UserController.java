@@ -1,5 +1,10 @@
 package com.findme.backend.controller;
 
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.cache.UserProfileCache;
+import com.findme.backend.dto.TraitProfileDto;
+import com.findme.backend.dto.UserProfileDto;
+import com.findme.backend.service.ProfileService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -8,26 +13,43 @@ import org.springframework.http.ResponseEntity;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class UserController {
 
+    private final UserProfileCache userProfileCache;
+    private final ProfileService profileService;
+
     @GetMapping("/me")
     public ResponseEntity<Map<String, String>> getMyInfo(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
         }
-        String userId = authentication.getName(); // Subject of the JWT
 
-        // For now, just return the userId.
-        // If full user details (email, nickname) are needed,
-        // we would inject UserRepository and fetch UserEntity here.
+        // Id comes from the token claims; email/nickname from the profile cache
+        Optional<UserProfileDto> profile = userProfileCache.get(CurrentUser.getId());
+        if (profile.isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
+        }
+        UserProfileDto user = profile.get();
         return ResponseEntity.ok(Map.of(
-                "id", userId,
-                "email", userId + "@example.com", // Placeholder
-                "nickname", "User " + userId // Placeholder
+                "id", String.valueOf(user.getId()),
+                "email", user.getEmail(),
+                "nickname", user.getNickname() != null ? user.getNickname() : ""
         ));
     }
+
+    // Running per-test trait statistics over all of the user's results
+    @GetMapping("/me/profile")
+    public ResponseEntity<?> getMyProfile(Authentication authentication) {
+        Long userId = CurrentUser.getId();
+        if (authentication == null || !authentication.isAuthenticated() || userId == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Unauthorized"));
+        }
+        TraitProfileDto profile = profileService.getProfile(userId);
+        return ResponseEntity.ok(profile);
+    }
 }
@@ -0,0 +1,69 @@
+package com.findme.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured DataSource with primary + replica routing when
+ * {@code datasource-routing.enabled=true}. The primary keeps using {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(RoutingDataSourceProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaSet replicaSet = new ReplicaSet(properties.getMaxLagMillis());
+        int index = 0;
+        for (RoutingDataSourceProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + index;
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .driverClassName(replica.getDriverClassName())
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(replica.getMaxPoolSize());
+            dataSource.setReadOnly(true);
+            // Only the primary is a bean, so Boot's pool metrics would not see replicas
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicaSet.add(name, dataSource, replica.getLagQuery());
+            index++;
+        }
+        replicaSet.startProbing(properties.getLagCheckIntervalMillis());
+        return replicaSet;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet,
+                                 RoutingDataSourceProperties properties) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(properties.getStickyPrimaryMillis()));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaSet, tracker);
+        // Defer the physical connection until the first statement, when the read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
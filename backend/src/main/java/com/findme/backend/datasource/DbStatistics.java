@@ -0,0 +1,44 @@
+package com.findme.backend.datasource;
+
+import com.findme.backend.dto.DbStatisticsDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snapshot of Hibernate's session factory statistics for the admin API.
+ */
+@Component
+public class DbStatistics {
+
+    private final Statistics statistics;
+
+    public DbStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public DbStatisticsDto snapshot() {
+        return new DbStatisticsDto(
+                statistics.isStatisticsEnabled(),
+                statistics.getSessionOpenCount(),
+                statistics.getTransactionCount(),
+                statistics.getFlushCount(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionLoadCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount());
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,195 @@
+package com.findme.backend.datasource;
+
+import com.findme.backend.dto.QueryFingerprintStats;
+import com.findme.backend.dto.SlowQueryDto;
+import com.findme.backend.filter.RequestIdFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement JDBC timings, fed by {@link QueryStatsDataSource}. Statements are grouped
+ * by fingerprint: the SQL with literals replaced by {@code ?} and IN lists collapsed, so
+ * bind values never reach this class. Executions over {@code query-stats.slow-threshold-millis}
+ * also go to a ring of recent slow queries with the request id that ran them.
+ */
+@Slf4j
+@Component
+public class QueryStats {
+
+    static final String OTHER = "<other>";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_FINGERPRINT_LENGTH = 2000;
+
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    @Value("${query-stats.slow-threshold-millis:100}")
+    private long slowThresholdMillis;
+
+    @Value("${query-stats.max-fingerprints:1000}")
+    private int maxFingerprints;
+
+    @Value("${query-stats.slow-log-size:256}")
+    private int slowLogSize;
+
+    private long slowThresholdNanos;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Hibernate issues a small, fixed set of SQL strings; normalise each one once
+    private final ConcurrentHashMap<String, String> fingerprints = new ConcurrentHashMap<>();
+    private AtomicReferenceArray<SlowQueryDto> slowLog;
+    private int slowMask;
+    private final AtomicLong slowCursor = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        int size = Integer.highestOneBit(Math.max(1, slowLogSize - 1)) << 1;
+        slowLog = new AtomicReferenceArray<>(size);
+        slowMask = size - 1;
+    }
+
+    void record(String sql, long elapsedNanos) {
+        String fingerprint = sql == null ? OTHER : fingerprintOf(sql);
+        Capture capture = CAPTURE.get();
+        if (capture != null) {
+            capture.fingerprints.add(fingerprint);
+        }
+
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            // Bounded: once full, unseen statements are only counted in aggregate
+            String key = entries.size() < maxFingerprints ? fingerprint : OTHER;
+            entry = entries.computeIfAbsent(key, k -> new Entry());
+        }
+        entry.count.increment();
+        entry.totalNanos.add(elapsedNanos);
+        entry.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            entry.slowCount.increment();
+            long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
+            slowLog.lazySet((int) (slowCursor.getAndIncrement() & slowMask),
+                    new SlowQueryDto(fingerprint, millis, requestId, LocalDateTime.now()));
+            log.info("Slow query ({} ms, request {}): {}", millis, requestId, fingerprint);
+        }
+    }
+
+    /**
+     * Fingerprints by total time spent, the most expensive first.
+     */
+    public List<QueryFingerprintStats> top(int limit) {
+        List<QueryFingerprintStats> stats = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            stats.add(e.getValue().toDto(e.getKey()));
+        }
+        stats.sort(Comparator.comparingLong(QueryFingerprintStats::getTotalMillis)
+                .thenComparingLong(QueryFingerprintStats::getCount).reversed());
+        return stats.subList(0, Math.min(limit, stats.size()));
+    }
+
+    /**
+     * Recent executions over the slow threshold, the slowest first.
+     */
+    public List<SlowQueryDto> slowQueries(int limit) {
+        List<SlowQueryDto> slow = new ArrayList<>(slowLog.length());
+        for (int i = 0; i < slowLog.length(); i++) {
+            SlowQueryDto query = slowLog.get(i);
+            if (query != null) {
+                slow.add(query);
+            }
+        }
+        slow.sort(Comparator.comparingLong(SlowQueryDto::getDurationMillis).reversed());
+        return slow.subList(0, Math.min(limit, slow.size()));
+    }
+
+    public void reset() {
+        entries.clear();
+        for (int i = 0; i < slowLog.length(); i++) {
+            slowLog.set(i, null);
+        }
+    }
+
+    private String fingerprintOf(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(sql);
+            if (fingerprints.size() < maxFingerprints) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() > MAX_FINGERPRINT_LENGTH ? normalized.substring(0, MAX_FINGERPRINT_LENGTH) : normalized;
+    }
+
+    /**
+     * Starts recording the fingerprints of statements run on the current thread, for
+     * query-count assertions in tests. Close it to stop.
+     */
+    public static Capture capture() {
+        Capture capture = new Capture();
+        CAPTURE.set(capture);
+        return capture;
+    }
+
+    public static final class Capture implements AutoCloseable {
+        private final List<String> fingerprints = new ArrayList<>();
+
+        public int count() {
+            return fingerprints.size();
+        }
+
+        public List<String> fingerprints() {
+            return List.copyOf(fingerprints);
+        }
+
+        @Override
+        public void close() {
+            CAPTURE.remove();
+        }
+    }
+
+    private static final class Entry {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder slowCount = new LongAdder();
+
+        QueryFingerprintStats toDto(String fingerprint) {
+            long executions = count.sum();
+            long total = totalNanos.sum();
+            return new QueryFingerprintStats(
+                    fingerprint,
+                    executions,
+                    TimeUnit.NANOSECONDS.toMillis(total),
+                    executions == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total / executions),
+                    TimeUnit.NANOSECONDS.toMicros(maxNanos.get()),
+                    slowCount.sum());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.findme.backend.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} bean (the Hikari pool, or the routing proxy
+ * when {@code datasource-routing.enabled}) in a {@link QueryStatsDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    // Static: post-processors are created before regular beans; QueryStats is looked up lazily
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor(ObjectProvider<QueryStats> queryStats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryStatsDataSource)) {
+                    return new QueryStatsDataSource(dataSource, queryStats.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.findme.backend.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement execution on connections from the target and reports it to
+ * {@link QueryStats}. Connections and statements are JDK proxies; anything other than
+ * the execute methods passes straight through.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final QueryStats queryStats;
+
+    public QueryStatsDataSource(DataSource target, QueryStats queryStats) {
+        super(target);
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    // The wrapper is the bean Spring destroys, so the pool is closed through it
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, QueryStatsDataSource.invoke(target, method, args),
+                            (Connection) proxy, (String) args[0]);
+                case "prepareCall":
+                    return statement(CallableStatement.class, QueryStatsDataSource.invoke(target, method, args),
+                            (Connection) proxy, (String) args[0]);
+                case "createStatement":
+                    return statement(Statement.class, QueryStatsDataSource.invoke(target, method, args),
+                            (Connection) proxy, null);
+                default:
+                    return QueryStatsDataSource.invoke(target, method, args);
+            }
+        }
+
+        private Object statement(Class<? extends Statement> type, Object statement, Connection connection, String sql) {
+            return Proxy.newProxyInstance(QueryStatsDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, connection, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private String sql; // prepared SQL, or the last SQL passed to a plain Statement
+
+        StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                case "addBatch":
+                    if (args != null && args.length > 0) {
+                        sql = (String) args[0];
+                    }
+                    return QueryStatsDataSource.invoke(target, method, args);
+                default:
+                    if (!name.startsWith("execute")) {
+                        return QueryStatsDataSource.invoke(target, method, args);
+                    }
+            }
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                sql = statementSql;
+            }
+            long start = System.nanoTime();
+            try {
+                return QueryStatsDataSource.invoke(target, method, args);
+            } finally {
+                queryStats.record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.findme.backend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the routing decision happens after the transaction's read-only flag is set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicas;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaSet replicas, ReadYourWritesTracker readYourWrites) {
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (String name : replicas.names()) {
+            targets.put(name, replicas.get(name));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markStickyAfterCommit();
+            return PRIMARY;
+        }
+        if (readYourWrites.hasRecentWrite()) {
+            return PRIMARY;
+        }
+        String replica = replicas.pick();
+        return replica != null ? replica : PRIMARY;
+    }
+
+    private void markStickyAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.markWrite();
+                }
+            });
+        }
+    }
+}
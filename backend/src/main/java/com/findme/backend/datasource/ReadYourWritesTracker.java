@@ -0,0 +1,47 @@
+package com.findme.backend.datasource;
+
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.cache.TtlCache;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Remembers callers that just committed a write so their following reads go to the
+ * primary instead of a replica that may not have replayed the write yet.
+ * Callers are identified by user id, or by client address when anonymous.
+ */
+public class ReadYourWritesTracker {
+
+    private final TtlCache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = new TtlCache<>(window, 100_000);
+    }
+
+    public void markWrite() {
+        String caller = currentCaller();
+        if (caller != null) {
+            recentWriters.put(caller, Boolean.TRUE);
+        }
+    }
+
+    public boolean hasRecentWrite() {
+        String caller = currentCaller();
+        return caller != null && recentWriters.get(caller) != null;
+    }
+
+    private String currentCaller() {
+        Long userId = CurrentUser.getId();
+        if (userId != null) {
+            return "u:" + userId;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,137 @@
+package com.findme.backend.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas plus a background lag probe. Picks a healthy replica round-robin;
+ * returns {@code null} when none is usable so the caller falls back to the primary.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    private final List<Member> members = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService prober;
+
+    public ReplicaSet(long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void add(String name, DataSource dataSource, String lagQuery) {
+        members.add(new Member(name, dataSource, lagQuery));
+    }
+
+    public List<String> names() {
+        return members.stream().map(m -> m.name).toList();
+    }
+
+    public DataSource get(String name) {
+        for (Member member : members) {
+            if (member.name.equals(name)) {
+                return member.dataSource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the name of a healthy replica, or {@code null} if none is within the lag budget
+     */
+    public String pick() {
+        int size = members.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Member member = members.get((start + i) % size);
+            if (member.healthy) {
+                return member.name;
+            }
+        }
+        return null;
+    }
+
+    public void markHealthy(String name, boolean healthy) {
+        for (Member member : members) {
+            if (member.name.equals(name)) {
+                member.healthy = healthy;
+            }
+        }
+    }
+
+    public void startProbing(long intervalMillis) {
+        probeAll();
+        prober = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probeAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void probeAll() {
+        for (Member member : members) {
+            boolean healthy;
+            try {
+                healthy = measureLag(member) <= maxLagMillis;
+            } catch (Exception e) {
+                healthy = false;
+            }
+            if (healthy != member.healthy) {
+                log.warn("Replica {} is now {}", member.name, healthy ? "in rotation" : "out of rotation");
+            }
+            member.healthy = healthy;
+        }
+    }
+
+    private long measureLag(Member member) throws Exception {
+        try (Connection connection = member.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (member.lagQuery == null || member.lagQuery.isBlank()) {
+                return connection.isValid(1) ? 0 : Long.MAX_VALUE;
+            }
+            try (ResultSet rs = statement.executeQuery(member.lagQuery)) {
+                return rs.next() ? (long) rs.getDouble(1) : Long.MAX_VALUE;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+        for (Member member : members) {
+            if (member.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica {}: {}", member.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class Member {
+        private final String name;
+        private final DataSource dataSource;
+        private final String lagQuery;
+        private volatile boolean healthy = true;
+
+        private Member(String name, DataSource dataSource, String lagQuery) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.lagQuery = lagQuery;
+        }
+    }
+}
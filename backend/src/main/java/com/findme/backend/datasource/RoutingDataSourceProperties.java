@@ -0,0 +1,43 @@
+package com.findme.backend.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource-routing")
+public class RoutingDataSourceProperties {
+
+    /** Route @Transactional(readOnly = true) work to replicas. The primary comes from spring.datasource. */
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas lagging more than this are skipped until they catch up. */
+    private long maxLagMillis = 2000;
+
+    private long lagCheckIntervalMillis = 1000;
+
+    /** After a caller's own write commits, their reads stay on the primary for this long. */
+    private long stickyPrimaryMillis = 5000;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maxPoolSize = 10;
+        /**
+         * Query returning the replica's lag in milliseconds, e.g. for PostgreSQL
+         * {@code SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)}.
+         * When empty the replica only has to answer a ping to count as healthy.
+         */
+        private String lagQuery;
+    }
+}
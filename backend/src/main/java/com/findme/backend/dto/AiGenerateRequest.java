@@ -0,0 +1,35 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Body of ai-python POST /ai/generate
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiGenerateRequest {
+    private Profile profile = new Profile();
+    private Mood mood = new Mood();
+    private List<String> want = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Profile {
+        private Map<String, Double> traits = new LinkedHashMap<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mood {
+        private List<String> tags = new ArrayList<>();
+        private int intensity = 50;
+    }
+}
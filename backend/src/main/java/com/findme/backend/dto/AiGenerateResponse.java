@@ -0,0 +1,27 @@
+package com.findme.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiGenerateResponse {
+    private String poem;
+    @JsonProperty("img_prompt")
+    private String imgPrompt;
+    private Moderation moderation = new Moderation();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Moderation {
+        private boolean safe = true;
+        private List<String> flags = new ArrayList<>();
+    }
+}
@@ -0,0 +1,27 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DbStatisticsDto {
+    private boolean statisticsEnabled; // hibernate.generate_statistics; counters are zero when off
+    private long sessionsOpened;
+    private long transactions;
+    private long flushes;
+    private long statementsPrepared;
+    private long queryExecutions;
+    private long queryExecutionMaxMillis;
+    private String slowestQuery; // HQL of queryExecutionMaxMillis
+    private long entityLoads;
+    private long entityFetches; // lazy proxies initialised one by one: rising with loads means N+1
+    private long collectionLoads;
+    private long collectionFetches; // lazy collections initialised one by one
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+}
@@ -0,0 +1,20 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerationCacheStats {
+    private long exactHits;
+    private long similarHits; // served from a neighbouring bucket
+    private long misses;
+    private double hitRatio;
+    private long generations; // calls that reached the AI service
+    private long avgGenerationMillis;
+    private long estimatedSavedMillis; // hits x average generation time
+    private int memoryEntries;
+    private int indexedBuckets;
+}
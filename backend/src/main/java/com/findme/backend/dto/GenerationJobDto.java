@@ -0,0 +1,16 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerationJobDto {
+    private String jobId;
+    private Long resultId;
+    private String status; // RUNNING, DONE, FAILED
+    private String text; // poem so far; the full poem once DONE
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JfrRecordingStatus {
+    private String state; // NONE, RUNNING or STOPPED
+    private String settings; // "default" (~1% overhead) or "profile"
+    private Instant startedAt;
+    private long maxAgeSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes; // data currently held by the recording
+    private List<String> dumps; // files in jfr.dump-dir, newest first
+}
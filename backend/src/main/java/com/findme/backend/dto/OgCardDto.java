@@ -0,0 +1,18 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the OG image shows; fetched by projection so rendering needs no entity or connection.
+ */
+@Data
+@AllArgsConstructor
+public class OgCardDto {
+    private Long id;
+    private double score;
+    private String traits;
+    private LocalDateTime createdAt;
+}
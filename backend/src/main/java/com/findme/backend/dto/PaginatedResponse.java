@@ -9,5 +9,5 @@ import java.util.List;
 @AllArgsConstructor
 public class PaginatedResponse<T> {
     private List<T> items;
-    private String nextCursor; // Can be page number, timestamp, etc.
+    private String nextCursor; // Opaque keyset cursor, null on the last page
 }
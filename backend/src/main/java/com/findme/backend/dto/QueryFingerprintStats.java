@@ -0,0 +1,17 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryFingerprintStats {
+    private String fingerprint; // SQL with literals as ?, never bind values
+    private long count;
+    private long totalMillis;
+    private long avgMicros;
+    private long maxMicros;
+    private long slowCount; // executions over query-stats.slow-threshold-millis
+}
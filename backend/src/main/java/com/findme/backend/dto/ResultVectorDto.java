@@ -0,0 +1,15 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The columns the similarity index reads from a result: no poem, no entity.
+ */
+@Data
+@AllArgsConstructor
+public class ResultVectorDto {
+    private Long id;
+    private String testCode;
+    private String traits;
+}
@@ -0,0 +1,30 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SecondLevelCacheStats {
+    private boolean statisticsEnabled; // hibernate.generate_statistics; counters are zero when off
+    private List<Region> regions;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private long queryCachePuts;
+    private double queryCacheHitRatio;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private String name;
+        private long hits;
+        private long misses;
+        private long puts;
+        private double hitRatio;
+    }
+}
@@ -0,0 +1,29 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarResultsDto {
+    private Long resultId;
+    private String testCode;
+    private boolean exact; // false: only the nearest similarity.probe-cells grid cells were searched
+    private List<Neighbour> neighbours; // nearest first
+    private Map<String, Long> types; // neighbour count per type, most common first
+    private long indexed; // vectors searched in this test's partition
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Neighbour {
+        private Long resultId;
+        private double distance; // Euclidean, in trait units (quantized)
+        private String type; // highest trait axis
+    }
+}
@@ -0,0 +1,30 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityIndexStats {
+    private boolean ready; // false until the initial load caught up with the results table
+    private long vectors;
+    private long lastResultId; // highest result id read from the table
+    private LocalDateTime lastSnapshot;
+    private List<Partition> partitions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Partition {
+        private String testCode;
+        private List<String> axes;
+        private int vectors;
+        private int cells;
+        private long bytes;
+    }
+}
@@ -0,0 +1,17 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDto {
+    private String fingerprint;
+    private long durationMillis;
+    private String requestId; // X-Request-Id / trace id, null outside a request
+    private LocalDateTime executedAt;
+}
@@ -0,0 +1,20 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestAuditListItem {
+    private Long id;
+    private String code;
+    private int version;
+    private String action;
+    private String actor;
+    private String kind;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class TestDefBulkImportResponse {
+    private int received;
+    private int imported;
+    private int skipped; // (code, version) already exists
+    private List<Rejection> rejected = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection {
+        private int index; // position in the request stream
+        private String code;
+        private int version;
+        private String reason;
+    }
+}
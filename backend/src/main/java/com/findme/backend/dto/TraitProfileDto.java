@@ -0,0 +1,39 @@
+package com.findme.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraitProfileDto {
+    private long results;
+    private Map<String, TestProfile> tests; // by test code
+    private LocalDateTime lastUpdated; // last flush; results after it are included from the buffer
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TestProfile {
+        private long count;
+        private Map<String, Axis> axes;
+        private String latestType;
+        private double latestScore;
+        private Long latestResultId;
+        private LocalDateTime latestAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Axis {
+        private long n;
+        private double mean;
+        private double variance; // sample variance
+        private double stddev;
+    }
+}
@@ -0,0 +1,37 @@
+package com.findme.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "generation_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenerationCacheEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "test_code", nullable = false)
+    private String testCode;
+
+    @Column(name = "template_version", nullable = false)
+    private int templateVersion;
+
+    @Column(nullable = false)
+    private String bucket; // quantized trait vector, see GenerationCache
+
+    @Column(columnDefinition = "TEXT")
+    private String poem;
+
+    @Column(name = "img_prompt", columnDefinition = "TEXT")
+    private String imgPrompt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
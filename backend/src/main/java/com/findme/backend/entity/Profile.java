@@ -25,4 +25,7 @@ public class Profile {
 
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
+
+    @Version // flushes from several nodes merge into the same row
+    private Long version;
 }
@@ -24,12 +24,21 @@ public class TestAudit {
     private int version;
 
     @Column(nullable = false)
-    private String action; // IMPORT, PUBLISH, ARCHIVE
+    private String action; // IMPORT, UPDATE, PUBLISH, ARCHIVE, BULK_IMPORT
 
     private String actor; // User who performed the action
 
+    @Column(nullable = false)
+    private String kind; // FULL (keyframe) or DELTA (JSON Patch against baseId)
+
+    @Column(name = "base_id")
+    private Long baseId;
+
+    @Column(nullable = false)
+    private String encoding; // json or gzip+b64
+
     @Column(columnDefinition = "CLOB") // For H2, TEXT in Postgres
-    private String snapshot; // JSON snapshot of the test_def at that time
+    private String snapshot; // Snapshot or patch of the test_def at that time, see kind/encoding
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
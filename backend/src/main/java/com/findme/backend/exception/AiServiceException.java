@@ -0,0 +1,23 @@
+package com.findme.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AiServiceException extends RuntimeException {
+    private final String code; // AI_BUSY, AI_UNAVAILABLE, AI_TIMEOUT, AI_ERROR
+
+    public AiServiceException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public AiServiceException(String code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,22 @@
+package com.findme.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The similarity index could not do its own work (e.g. write a snapshot); a server-side
+ * failure, not a bad request.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SimilarityIndexException extends RuntimeException {
+    private final String code; // SIMILARITY_SNAPSHOT_FAILED
+
+    public SimilarityIndexException(String code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
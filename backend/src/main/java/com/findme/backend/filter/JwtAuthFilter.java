@@ -1,6 +1,14 @@
 package com.findme.backend.filter;
 
+import com.findme.backend.auth.UserPrincipal;
+import com.findme.backend.cache.UserProfileCache;
+import com.findme.backend.dto.UserProfileDto;
+import com.findme.backend.jfr.JwtVerifyEvent;
+import com.findme.backend.metrics.AppMetrics;
+import com.findme.backend.trace.Tracer;
 import com.findme.backend.util.JwtProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +17,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.security.core.AuthenticationException;
@@ -21,7 +27,7 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SecurityException;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
@@ -29,6 +35,8 @@ import java.util.ArrayList;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final UserProfileCache userProfileCache;
+    private final AppMetrics appMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -36,46 +44,57 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         String token = null;
         String subject = null;
-
-        log.debug("Processing request for URI: {}", request.getRequestURI());
+        Claims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.debug("No Bearer token found in Authorization header for URI: {}", request.getRequestURI());
             filterChain.doFilter(request, response);
             return;
         }
 
+        // Never log the token or any part of it
         token = authHeader.substring(7);
-        log.debug("Bearer token found for URI: {}. Token: {}...", request.getRequestURI(), token.substring(0, Math.min(token.length(), 10)));
 
+        Timer.Sample verification = Timer.start();
+        int span = Tracer.begin("jwt.verify");
+        JwtVerifyEvent verifyEvent = JwtVerifyEvent.start();
+        String outcome = "invalid";
         try {
-            subject = jwtProvider.extractSubject(token);
-            log.debug("Subject extracted: {}", subject);
-
-            if (!jwtProvider.validateToken(token)) {
-                log.warn("JWT token validation failed for subject: {}", subject);
-                throw new AuthenticationException("Invalid JWT token") {};
-            }
+            // Signature and expiry are verified by this single parse
+            claims = jwtProvider.parseClaims(token);
+            subject = claims.getSubject();
+            outcome = "valid";
         } catch (ExpiredJwtException e) {
-            log.warn("Invalid JWT token for URI: {}. Error: JWT expired", request.getRequestURI());
+            // Routine client traffic, and anyone can send bad tokens: not WARN, which is never
+            // sampled or dropped. INFO and below are rate-limited per logger.
+            outcome = "expired";
+            log.debug("Invalid JWT token for URI: {}. Error: JWT expired", request.getRequestURI());
             throw new AuthenticationException("Expired JWT token") {};
         } catch (MalformedJwtException | UnsupportedJwtException | IllegalArgumentException | SecurityException e) {
-            log.warn("Invalid JWT token for URI: {}. Error: {}", request.getRequestURI(), e.getMessage());
+            log.info("Invalid JWT token for URI: {}. Error: {}", request.getRequestURI(), e.getMessage());
             throw new AuthenticationException("Invalid JWT token") {};
+        } finally {
+            Tracer.end(span);
+            verification.stop(appMetrics.getJwtVerify());
+            verifyEvent.finish(outcome);
         }
 
         if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            log.debug("JWT token is valid for subject: {}", subject);
-            UserDetails userDetails = new User(subject, "", new ArrayList<>());
+            UserPrincipal principal = resolvePrincipal(subject, claims);
             UsernamePasswordAuthenticationToken authenticationToken =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            log.debug("Authentication set for subject: {}", subject);
-        } else if (subject == null) {
-            log.debug("Subject is null after extraction or token is invalid.");
-        } else {
-            log.debug("SecurityContext already has authentication for subject: {}", SecurityContextHolder.getContext().getAuthentication().getName());
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserPrincipal resolvePrincipal(String subject, Claims claims) {
+        Long userId = jwtProvider.extractUserId(claims);
+        if (userId == null) {
+            // Tokens issued before the uid claim existed: resolve once via the profile cache
+            userId = userProfileCache.getByEmail(subject)
+                    .map(UserProfileDto::getId)
+                    .orElse(null);
+        }
+        return new UserPrincipal(userId, subject);
+    }
 }
@@ -0,0 +1,80 @@
+package com.findme.backend.filter;
+
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.ratelimit.RateLimitProperties;
+import com.findme.backend.ratelimit.RateLimitResult;
+import com.findme.backend.ratelimit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Cost-weighted rate limiting keyed by user id (authenticated) or client IP.
+ * Runs after {@link JwtAuthFilter} so the principal is already resolved.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REMAINING_HEADER = "X-Rate-Limit-Remaining";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return properties.getExcludeUrls().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitResult result = rateLimiter.tryConsume(resolveKey(request), resolveCost(request));
+        response.setHeader(REMAINING_HEADER, String.valueOf(result.getRemaining()));
+
+        if (!result.isAllowed()) {
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(result.getRetryAfterSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write(String.format(
+                    "{ \"code\": \"RATE_LIMITED\", \"message\": \"Too many requests. Please try again later.\", \"requestId\": \"%s\", \"timestamp\": \"%s\" }",
+                    MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY), Instant.now()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveKey(HttpServletRequest request) {
+        Long userId = CurrentUser.getId();
+        if (userId != null) {
+            return "u:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private int resolveCost(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        for (RateLimitProperties.EndpointCost cost : properties.getCosts()) {
+            if ((cost.getMethod() == null || cost.getMethod().equalsIgnoreCase(method))
+                    && pathMatcher.match(cost.getPattern(), path)) {
+                return cost.getCost();
+            }
+        }
+        return properties.getDefaultCost();
+    }
+}
@@ -1,32 +1,46 @@
 package com.findme.backend.filter;
 
+import com.findme.backend.trace.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
+/**
+ * Assigns the request/trace id (inbound {@code traceparent} or {@code X-Request-Id}, else
+ * generated), exposes it in MDC and the response header, and traces the request; the
+ * root span covers the whole filter chain.
+ */
 @Component
+@RequiredArgsConstructor
 public class RequestIdFilter extends OncePerRequestFilter {
 
     public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
     public static final String REQUEST_ID_MDC_KEY = "requestId";
 
+    private final Tracer tracer;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
                 throws ServletException, IOException {
-        String requestId = UUID.randomUUID().toString();
+        String requestId = Tracer.resolveTraceId(request.getHeader(REQUEST_ID_HEADER), request.getHeader(TRACEPARENT_HEADER));
         MDC.put(REQUEST_ID_MDC_KEY, requestId);
         response.setHeader(REQUEST_ID_HEADER, requestId);
 
+        tracer.start(requestId);
+        int span = Tracer.begin("filterChain");
         try {
             filterChain.doFilter(request, response);
         } finally {
+            Tracer.end(span);
+            tracer.finish(request.getMethod(), request.getRequestURI(), response.getStatus());
             MDC.remove(REQUEST_ID_MDC_KEY);
         }
     }
@@ -0,0 +1,33 @@
+package com.findme.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("findme.AnalyticsFlush")
+@Label("Analytics Flush")
+@Category({"FindMe", "Analytics"})
+@Description("Mapping and persisting one batch of analytics events")
+@StackTrace(false)
+public class AnalyticsFlushEvent extends Event {
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    public static AnalyticsFlushEvent start() {
+        AnalyticsFlushEvent event = new AnalyticsFlushEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(int batchSize) {
+        end();
+        if (shouldCommit()) {
+            this.batchSize = batchSize;
+            commit();
+        }
+    }
+}
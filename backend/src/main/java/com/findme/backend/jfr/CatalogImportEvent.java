@@ -0,0 +1,50 @@
+package com.findme.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("findme.CatalogImport")
+@Label("Catalogue Import")
+@Category({"FindMe", "Catalogue"})
+@Description("Seeding or importing test definitions")
+@StackTrace(false)
+public class CatalogImportEvent extends Event {
+
+    @Label("Operation")
+    @Description("seed, import, bulk-import or catalog-file")
+    private String operation;
+
+    @Label("Test Code")
+    @Description("Empty for bulk imports")
+    private String testCode;
+
+    @Label("Definitions")
+    private int definitions;
+
+    @Label("Input Size")
+    @DataAmount
+    private long bytes;
+
+    public static CatalogImportEvent start() {
+        CatalogImportEvent event = new CatalogImportEvent();
+        event.begin();
+        return event;
+    }
+
+    // bytes is -1 when the input size is not known
+    public void finish(String operation, String testCode, int definitions, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.testCode = testCode;
+            this.definitions = definitions;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.findme.backend.jfr;
+
+import com.findme.backend.dto.JfrRecordingStatus;
+import com.findme.backend.exception.BizException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * One bounded, continuous Flight Recorder recording: a ring of at most
+ * {@code jfr.max-age-minutes} / {@code jfr.max-size-mb} on disk, with the JDK's settings
+ * plus the findme.* business events. Dumps copy the ring to {@code jfr.dump-dir}
+ * without stopping it; only the newest {@code jfr.max-dumps} files are kept.
+ */
+@Slf4j
+@Component
+public class JfrRecorder {
+
+    static final String RECORDING_NAME = "findme-continuous";
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            SubmitScoringEvent.class, OgRenderEvent.class, JwtVerifyEvent.class,
+            AnalyticsFlushEvent.class, CatalogImportEvent.class);
+
+    @Value("${jfr.auto-start:false}")
+    private boolean autoStart;
+
+    @Value("${jfr.settings:default}")
+    private String defaultSettings;
+
+    @Value("${jfr.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Value("${jfr.max-size-mb:250}")
+    private long maxSizeMb;
+
+    @Value("${jfr.dump-dir:${java.io.tmpdir}/findme-jfr}")
+    private String dumpDir;
+
+    @Value("${jfr.max-dumps:5}")
+    private int maxDumps;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private String settings;
+    // Two dumps within one millisecond get increasing suffixes instead of overwriting each other
+    private String lastDumpStamp;
+    private int dumpSequence;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (autoStart) {
+            start(null, null, null);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts the recording, replacing a stopped one. Limits can only be lowered from the
+     * configured ones, so the admin API can't make the ring unbounded.
+     */
+    public JfrRecordingStatus start(String settingsName, Long maxAgeMinutes, Long maxSizeMb) {
+        String name = settingsName != null ? settingsName : defaultSettings;
+        if (!SETTINGS.contains(name)) {
+            throw new BizException("JFR_INVALID_SETTINGS", "settings must be one of " + SETTINGS);
+        }
+        long age = clamp(maxAgeMinutes, this.maxAgeMinutes);
+        long size = clamp(maxSizeMb, this.maxSizeMb);
+
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new BizException("JFR_ALREADY_RUNNING", "A recording is already running.");
+            }
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+            Recording started = new Recording(Configuration.getConfiguration(name));
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofMinutes(age));
+            started.setMaxSize(size * 1024 * 1024);
+            for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+                started.enable(event);
+            }
+            started.start();
+            recording = started;
+            settings = name;
+            log.info("JFR recording started ({} settings, max {} min / {} MB)", name, age, size);
+            return status();
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load JFR settings " + name, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops recording; the captured data stays available to {@link #dump()} until the next start.
+     */
+    public JfrRecordingStatus stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new BizException("JFR_NOT_RUNNING", "No recording is running.");
+            }
+            recording.stop();
+            log.info("JFR recording stopped");
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the current contents of the ring to a new file in the dump directory.
+     */
+    public Path dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null) {
+                throw new BizException("JFR_NOT_RUNNING", "No recording to dump.");
+            }
+            Path dir = Paths.get(dumpDir).toAbsolutePath().normalize();
+            Files.createDirectories(dir);
+            String stamp = LocalDateTime.now().format(DUMP_NAME);
+            dumpSequence = stamp.equals(lastDumpStamp) ? dumpSequence + 1 : 0;
+            lastDumpStamp = stamp;
+            Path file = dir.resolve(String.format("findme-%s-%03d.jfr", stamp, dumpSequence));
+            recording.dump(file);
+            pruneDumps(dir);
+            log.info("JFR recording dumped to {}", file);
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public JfrRecordingStatus status() {
+        lock.lock();
+        try {
+            List<String> dumps = listDumps(Paths.get(dumpDir).toAbsolutePath().normalize()).stream()
+                    .map(path -> path.getFileName().toString())
+                    .toList();
+            if (recording == null) {
+                return new JfrRecordingStatus("NONE", null, null, 0, 0, 0, dumps);
+            }
+            return new JfrRecordingStatus(
+                    recording.getState() == RecordingState.RUNNING ? "RUNNING" : "STOPPED",
+                    settings,
+                    recording.getStartTime(),
+                    recording.getMaxAge() == null ? 0 : recording.getMaxAge().toSeconds(),
+                    recording.getMaxSize(),
+                    recording.getSize(),
+                    dumps);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pruneDumps(Path dir) throws IOException {
+        List<Path> dumps = listDumps(dir);
+        for (Path old : dumps.subList(Math.min(maxDumps, dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    // Newest first; the timestamped names sort chronologically
+    private static List<Path> listDumps(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private static long clamp(Long requested, long max) {
+        return requested == null ? max : Math.max(1, Math.min(requested, max));
+    }
+}
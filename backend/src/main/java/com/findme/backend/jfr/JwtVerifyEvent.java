@@ -0,0 +1,34 @@
+package com.findme.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("findme.JwtVerify")
+@Label("JWT Verify")
+@Category({"FindMe", "Auth"})
+@Description("Signature and expiry check of a bearer token")
+@StackTrace(false)
+public class JwtVerifyEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, expired or invalid")
+    private String outcome;
+
+    public static JwtVerifyEvent start() {
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.findme.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("findme.OgRender")
+@Label("OG Image Render")
+@Category({"FindMe", "Result"})
+@Description("Rendering and PNG encoding of one share image")
+@StackTrace(false)
+public class OgRenderEvent extends Event {
+
+    @Label("Result Id")
+    private long resultId;
+
+    @Label("PNG Size")
+    @DataAmount
+    private long bytes;
+
+    public static OgRenderEvent start() {
+        OgRenderEvent event = new OgRenderEvent();
+        event.begin();
+        return event;
+    }
+
+    // bytes is -1 when rendering failed
+    public void finish(long resultId, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.resultId = resultId;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.findme.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("findme.SubmitScoring")
+@Label("Submit Scoring")
+@Category({"FindMe", "Test"})
+@Description("Scoring of one test submission, without the database writes")
+@StackTrace(false)
+public class SubmitScoringEvent extends Event {
+
+    @Label("Test Code")
+    private String testCode;
+
+    @Label("Answers")
+    private int answers;
+
+    @Label("Questions")
+    private int questions;
+
+    public static SubmitScoringEvent start() {
+        SubmitScoringEvent event = new SubmitScoringEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String testCode, int answers, int questions) {
+        end();
+        if (shouldCommit()) {
+            this.testCode = testCode;
+            this.answers = answers;
+            this.questions = questions;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.findme.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-logger sampling: each logger may emit at most {@code maxPerSecond} events at or
+ * below {@code level} per second; the rest are denied before a logging event is even
+ * built. WARN and ERROR (above the default level) always pass. Denied events are counted
+ * and exported as {@code findme.log.suppressed}.
+ */
+public class LoggerRateLimitFilter extends TurboFilter {
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private int maxPerSecond = 100;
+    private Level level = Level.INFO;
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        // format == null is an isXxxEnabled() check, not an event; events below the logger's
+        // level are dropped anyway. Neither may spend the budget.
+        if (format == null || !isStarted() || !level.isGreaterOrEqual(eventLevel)
+                || !eventLevel.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        return window.tryAcquire(System.nanoTime() / 1_000_000_000L, maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public long suppressed() {
+        return windows.values().stream().mapToLong(w -> w.suppressed.get()).sum();
+    }
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong(-1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        boolean tryAcquire(long now, int max) {
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                count.set(0);
+            }
+            if (count.incrementAndGet() <= max) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+    }
+}
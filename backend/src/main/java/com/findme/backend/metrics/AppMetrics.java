@@ -0,0 +1,56 @@
+package com.findme.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers on the request hot paths, created once and shared. All publish histogram
+ * buckets so percentiles can be aggregated across nodes in Prometheus
+ * ({@code findme_submit_score_seconds_bucket} etc.).
+ */
+@Getter
+@Component
+public class AppMetrics {
+
+    private final Timer submitScore;
+    private final Timer submitSave;
+    private final Timer ogRender;
+    private final Timer jwtVerify;
+    private final Timer passwordEncode;
+    private final Timer passwordMatch;
+    private final Timer analyticsIngest;
+    private final DistributionSummary analyticsBatchSize;
+
+    public AppMetrics(MeterRegistry registry) {
+        submitScore = timer(registry, "findme.submit.score", "Scoring a test submission");
+        submitSave = timer(registry, "findme.submit.save", "Persisting a scored result");
+        ogRender = timer(registry, "findme.og.render", "OG image drawing plus PNG encoding");
+        jwtVerify = timer(registry, "findme.jwt.verify", "Access token signature and expiry check");
+        passwordEncode = Timer.builder("findme.password.hash")
+                .description("BCrypt work")
+                .tag("op", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        passwordMatch = Timer.builder("findme.password.hash")
+                .description("BCrypt work")
+                .tag("op", "match")
+                .publishPercentileHistogram()
+                .register(registry);
+        analyticsIngest = timer(registry, "findme.analytics.ingest", "Serializing and storing an analytics batch");
+        analyticsBatchSize = DistributionSummary.builder("findme.analytics.batch.size")
+                .description("Events per analytics batch")
+                .baseUnit("events")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
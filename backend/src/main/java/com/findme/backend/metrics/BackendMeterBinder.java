@@ -0,0 +1,109 @@
+package com.findme.backend.metrics;
+
+import com.findme.backend.ai.AiClient;
+import com.findme.backend.ai.GenerationCache;
+import com.findme.backend.cache.EntitlementCache;
+import com.findme.backend.cache.TestDefModelCache;
+import com.findme.backend.cache.UserProfileCache;
+import com.findme.backend.logging.LoggerRateLimitFilter;
+import com.findme.backend.ratelimit.RateLimiter;
+import com.findme.backend.ratelimit.SharedRateLimiter;
+import com.findme.backend.service.GenerationJobService;
+import com.findme.backend.service.ProfileService;
+import com.findme.backend.service.TestAuditService;
+import com.findme.backend.similarity.SimilarityIndex;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache hit/miss meters and queue-depth gauges for our in-process components.
+ * Hikari pool gauges ({@code hikaricp_connections_*}) come from Spring Boot.
+ */
+@Component
+@RequiredArgsConstructor
+public class BackendMeterBinder implements MeterBinder {
+
+    private final UserProfileCache userProfileCache;
+    private final EntitlementCache entitlementCache;
+    private final TestDefModelCache testDefModelCache;
+    private final GenerationCache generationCache;
+    private final TestAuditService testAuditService;
+    private final GenerationJobService generationJobService;
+    private final ProfileService profileService;
+    private final AiClient aiClient;
+    private final SimilarityIndex similarityIndex;
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        userProfileCache.caches().forEach((name, cache) -> new TtlCacheMetrics(cache, name).bindTo(registry));
+        new TtlCacheMetrics(entitlementCache.cache(), "entitlements").bindTo(registry);
+        new TtlCacheMetrics(testDefModelCache.publishedCache(), "test-defs.published").bindTo(registry);
+        Gauge.builder("findme.test-defs.models", testDefModelCache, TestDefModelCache::modelCount)
+                .description("Parsed test definition versions held in memory")
+                .register(registry);
+
+        // Generation cache keeps its own counters; exact and similar hits are separate results
+        FunctionCounter.builder("findme.generation.cache.lookups", generationCache, c -> c.stats().getExactHits())
+                .tag("result", "exact").register(registry);
+        FunctionCounter.builder("findme.generation.cache.lookups", generationCache, c -> c.stats().getSimilarHits())
+                .tag("result", "similar").register(registry);
+        FunctionCounter.builder("findme.generation.cache.lookups", generationCache, c -> c.stats().getMisses())
+                .tag("result", "miss").register(registry);
+        Gauge.builder("findme.generation.cache.hit.ratio", generationCache, c -> c.stats().getHitRatio())
+                .register(registry);
+
+        Gauge.builder("findme.audit.queue.depth", testAuditService, TestAuditService::pendingWrites)
+                .description("Audit records waiting for the background writer")
+                .register(registry);
+        Gauge.builder("findme.profiles.pending", profileService, ProfileService::pendingUsers)
+                .description("Users with results buffered for the next profile flush")
+                .register(registry);
+        Gauge.builder("findme.similarity.vectors", similarityIndex, SimilarityIndex::vectors)
+                .description("Result trait vectors held by the similarity index")
+                .register(registry);
+        Gauge.builder("findme.similarity.refresh.age", similarityIndex, SimilarityIndex::refreshAgeSeconds)
+                .description("Time since the similarity index last caught up with the results table")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("findme.similarity.failures", similarityIndex, SimilarityIndex::refreshFailures)
+                .tag("op", "refresh").register(registry);
+        FunctionCounter.builder("findme.similarity.failures", similarityIndex, SimilarityIndex::snapshotFailures)
+                .tag("op", "snapshot").register(registry);
+        Gauge.builder("findme.generation.jobs", generationJobService, GenerationJobService::runningJobs)
+                .tag("state", "running")
+                .register(registry);
+        Gauge.builder("findme.generation.jobs", generationJobService, GenerationJobService::trackedJobs)
+                .tag("state", "tracked")
+                .register(registry);
+        Gauge.builder("findme.ai.inflight", aiClient, AiClient::inFlight)
+                .description("AI service calls holding a concurrency permit")
+                .register(registry);
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("findme.ai.circuit.state", aiClient, client -> client.circuitState().ordinal())
+                .register(registry);
+
+        if (rateLimiter instanceof SharedRateLimiter shared) {
+            FunctionCounter.builder("findme.ratelimit.fallbacks", shared, SharedRateLimiter::fallbackCount)
+                    .description("Requests limited per node because the shared quota store was unreachable")
+                    .register(registry);
+        }
+
+        // Sampling filter is only configured in the prod logback profile
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().stream()
+                    .filter(LoggerRateLimitFilter.class::isInstance)
+                    .map(LoggerRateLimitFilter.class::cast)
+                    .findFirst()
+                    .ifPresent(filter -> FunctionCounter.builder("findme.log.suppressed", filter, LoggerRateLimitFilter::suppressed)
+                            .description("Log events dropped by per-logger sampling")
+                            .register(registry));
+        }
+    }
+}
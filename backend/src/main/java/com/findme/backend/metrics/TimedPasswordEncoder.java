@@ -0,0 +1,32 @@
+package com.findme.backend.metrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times the delegate's hashing; BCrypt is deliberately slow and dominates signup/login.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AppMetrics appMetrics;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, AppMetrics appMetrics) {
+        this.delegate = delegate;
+        this.appMetrics = appMetrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return appMetrics.getPasswordEncode().record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return appMetrics.getPasswordMatch().record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,51 @@
+package com.findme.backend.metrics;
+
+import com.findme.backend.cache.TtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Standard {@code cache.*} meters for a {@link TtlCache}; hit ratio is
+ * {@code cache_gets{result="hit"} / sum(cache_gets)}.
+ */
+public class TtlCacheMetrics extends CacheMeterBinder<TtlCache<?, ?>> {
+
+    public TtlCacheMetrics(TtlCache<?, ?> cache, String name) {
+        super(cache, name, Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        TtlCache<?, ?> cache = getCache();
+        return cache == null ? null : (long) cache.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        TtlCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        TtlCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TtlCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        TtlCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.findme.backend.model;
+
+import lombok.Value;
+
+@Value
+public class ChoiceDef {
+    String label;
+    String value; // axis the choice scores toward, "N" for neutral
+    int weight;
+}
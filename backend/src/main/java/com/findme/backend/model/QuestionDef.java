@@ -0,0 +1,14 @@
+package com.findme.backend.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class QuestionDef {
+    int no;
+    String body;
+    String scaleType;
+    String domain; // optional grouping, e.g. baseline/work/love
+    List<ChoiceDef> choices;
+}
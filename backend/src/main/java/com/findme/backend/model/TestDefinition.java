@@ -0,0 +1,88 @@
+package com.findme.backend.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.findme.backend.entity.TestDef;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed, immutable snapshot of one test definition version's content. A DRAFT's
+ * content may still be replaced in place, so a snapshot of a draft is only valid for the
+ * read that built it; once published, the content is final. Status/updatedAt are read
+ * separately.
+ * The raw JSON trees are kept for API responses and must not be modified.
+ */
+@Value
+public class TestDefinition {
+    Long id;
+    String code;
+    int version;
+    String title;
+    LocalDateTime createdAt;
+    String scoringType;
+    List<String> axes;
+    List<QuestionDef> questions;
+    JsonNode questionsJson;
+    JsonNode scoringJson;
+
+    public static TestDefinition from(TestDef testDef) {
+        List<QuestionDef> questions = parseQuestions(testDef.getQuestions());
+        JsonNode scoring = testDef.getScoring();
+        String scoringType = scoring != null && scoring.hasNonNull("type") ? scoring.get("type").asText() : null;
+        return new TestDefinition(
+                testDef.getId(),
+                testDef.getCode(),
+                testDef.getVersion(),
+                testDef.getTitle(),
+                testDef.getCreatedAt(),
+                scoringType,
+                parseAxes(scoring, questions),
+                questions,
+                testDef.getQuestions(),
+                scoring
+        );
+    }
+
+    private static List<QuestionDef> parseQuestions(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return Collections.emptyList();
+        }
+        List<QuestionDef> questions = new ArrayList<>(node.size());
+        for (JsonNode q : node) {
+            List<ChoiceDef> choices = new ArrayList<>();
+            for (JsonNode c : q.path("choices")) {
+                choices.add(new ChoiceDef(c.path("label").asText(), c.path("value").asText(), c.path("weight").asInt()));
+            }
+            questions.add(new QuestionDef(
+                    q.path("no").asInt(),
+                    q.path("body").asText(),
+                    q.path("scale_type").asText(null),
+                    q.path("domain").asText(null),
+                    List.copyOf(choices)));
+        }
+        return List.copyOf(questions);
+    }
+
+    // Declared axes win; otherwise every non-neutral choice value in order of appearance
+    private static List<String> parseAxes(JsonNode scoring, List<QuestionDef> questions) {
+        Set<String> axes = new LinkedHashSet<>();
+        if (scoring != null && scoring.path("axes").isArray()) {
+            scoring.path("axes").forEach(axis -> axes.add(axis.asText()));
+        } else {
+            for (QuestionDef question : questions) {
+                for (ChoiceDef choice : question.getChoices()) {
+                    if (!"N".equals(choice.getValue())) {
+                        axes.add(choice.getValue());
+                    }
+                }
+            }
+        }
+        return List.copyOf(axes);
+    }
+}
@@ -0,0 +1,122 @@
+package com.findme.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running per-user aggregate of results, stored as JSON in {@code profiles.traits}.
+ * Adding a result is O(axes): per test it keeps a count, Welford mean/M2 per trait
+ * axis and the latest result. Two aggregates combine with {@link #merge} (Chan et al.),
+ * so buffered deltas can be folded into the stored row in any order.
+ */
+@Data
+@NoArgsConstructor
+public class TraitProfile {
+    private long results;
+    private Map<String, TestStats> tests = new TreeMap<>();
+
+    public void add(String testCode, Long resultId, double score, Map<String, Double> traits, LocalDateTime at) {
+        TestStats stats = tests.computeIfAbsent(testCode, k -> new TestStats());
+        stats.count++;
+        String type = null;
+        double top = Double.NEGATIVE_INFINITY;
+        // Sorted so ties always resolve to the same axis
+        for (Map.Entry<String, Double> trait : new TreeMap<>(traits).entrySet()) {
+            if (trait.getValue() == null) {
+                continue;
+            }
+            double value = trait.getValue();
+            stats.axes.computeIfAbsent(trait.getKey(), k -> new AxisStats()).add(value);
+            if (value > top) {
+                top = value;
+                type = trait.getKey();
+            }
+        }
+        stats.offer(new Latest(resultId, score, type, at));
+        results++;
+    }
+
+    /**
+     * Folds {@code other} into this aggregate; {@code other} is left unchanged.
+     */
+    public void merge(TraitProfile other) {
+        other.tests.forEach((testCode, theirs) -> {
+            TestStats ours = tests.computeIfAbsent(testCode, k -> new TestStats());
+            ours.count += theirs.count;
+            theirs.axes.forEach((axis, stats) -> ours.axes.computeIfAbsent(axis, k -> new AxisStats()).merge(stats));
+            if (theirs.latest != null) {
+                ours.offer(theirs.latest);
+            }
+        });
+        results += other.results;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class TestStats {
+        private long count;
+        private Map<String, AxisStats> axes = new TreeMap<>();
+        private Latest latest;
+
+        void offer(Latest candidate) {
+            if (latest == null || candidate.isNewerThan(latest)) {
+                latest = candidate;
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AxisStats {
+        private long n;
+        private double mean;
+        private double m2; // sum of squared deviations from the mean
+
+        void add(double value) {
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+
+        void merge(AxisStats other) {
+            if (other.n == 0) {
+                return;
+            }
+            long total = n + other.n;
+            double delta = other.mean - mean;
+            m2 += other.m2 + delta * delta * ((double) n * other.n / total);
+            mean += delta * other.n / total;
+            n = total;
+        }
+
+        // Sample variance; a single observation has none
+        public double variance() {
+            return n < 2 ? 0 : m2 / (n - 1);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Latest {
+        private Long resultId;
+        private double score;
+        private String type; // highest-scoring trait axis
+        private LocalDateTime at;
+
+        // Result ids are issued in order; timestamps only break ties when an id is missing
+        boolean isNewerThan(Latest other) {
+            if (resultId != null && other.resultId != null) {
+                return resultId > other.resultId;
+            }
+            return at != null && (other.at == null || at.isAfter(other.at));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.findme.backend.ratelimit;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@link QuotaStore} backed by the {@code rate_limit_windows} table, so every node
+ * pointing at the same database shares the same counters.
+ */
+public class JdbcQuotaStore implements QuotaStore {
+
+    private static final String RESERVE_SQL =
+            "UPDATE rate_limit_windows SET used = used + ? WHERE bucket_key = ? AND window_start = ? AND used + ? <= ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO rate_limit_windows (bucket_key, window_start, used) VALUES (?, ?, ?)";
+    private static final String PURGE_SQL =
+            "DELETE FROM rate_limit_windows WHERE window_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcQuotaStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long acquire(String key, long window, long requested, long minimum, long limit) {
+        long lease = Math.min(requested, limit);
+        if (lease < minimum) {
+            return 0;
+        }
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (reserve(key, window, lease, limit)) {
+                return lease;
+            }
+            if (lease > minimum && reserve(key, window, minimum, limit)) {
+                return minimum;
+            }
+            try {
+                jdbcTemplate.update(INSERT_SQL, key, window, lease);
+                return lease;
+            } catch (DuplicateKeyException e) {
+                // Row exists (possibly created concurrently by another node): retry the conditional update
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void purgeBefore(long window) {
+        jdbcTemplate.update(PURGE_SQL, window);
+    }
+
+    private boolean reserve(String key, long window, long amount, long limit) {
+        return jdbcTemplate.update(RESERVE_SQL, amount, key, window, amount, limit) == 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.findme.backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process limiter: one lock-free {@link TokenBucket} per key.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+
+    public LocalRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    public LocalRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, int cost) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxKeys()) {
+                // Fully refilled buckets carry no state worth keeping
+                buckets.values().removeIf(TokenBucket::isIdle);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(
+                    properties.getCapacity(),
+                    properties.getRefillTokens(),
+                    TimeUnit.SECONDS.toNanos(properties.getRefillPeriodSeconds()),
+                    nanoClock));
+        }
+        return bucket.tryConsume(cost);
+    }
+}
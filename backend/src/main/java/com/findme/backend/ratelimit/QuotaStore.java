@@ -0,0 +1,20 @@
+package com.findme.backend.ratelimit;
+
+/**
+ * Cluster-wide quota counters, one per key and fixed time window.
+ */
+public interface QuotaStore {
+
+    /**
+     * Atomically reserves up to {@code requested} (at least {@code minimum}) tokens for
+     * {@code key} in {@code window} without letting the window's total exceed {@code limit}.
+     *
+     * @return the number of tokens granted, {@code 0} if not even {@code minimum} fit
+     */
+    long acquire(String key, long window, long requested, long minimum, long limit);
+
+    /**
+     * Drops counters for windows older than {@code window}.
+     */
+    void purgeBefore(long window);
+}
@@ -0,0 +1,17 @@
+package com.findme.backend.ratelimit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, JdbcTemplate jdbcTemplate) {
+        if (properties.getShared().isEnabled()) {
+            return new SharedRateLimiter(new JdbcQuotaStore(jdbcTemplate), properties);
+        }
+        return new LocalRateLimiter(properties);
+    }
+}
@@ -0,0 +1,45 @@
+package com.findme.backend.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Tokens per key; requests spend their endpoint cost. */
+    private long capacity = 60;
+    private long refillTokens = 60;
+    private long refillPeriodSeconds = 60;
+
+    /** Local buckets are purged once this many keys exist. */
+    private int maxKeys = 100_000;
+
+    private int defaultCost = 1;
+    private List<EndpointCost> costs = new ArrayList<>();
+    private List<String> excludeUrls = new ArrayList<>();
+
+    private Shared shared = new Shared();
+
+    @Data
+    public static class EndpointCost {
+        private String pattern;
+        private String method; // null matches any method
+        private int cost = 1;
+    }
+
+    @Data
+    public static class Shared {
+        /** Synchronise quotas across nodes through the database. */
+        private boolean enabled = false;
+        /** Tokens leased from the shared store per round trip. */
+        private int leaseSize = 10;
+    }
+}
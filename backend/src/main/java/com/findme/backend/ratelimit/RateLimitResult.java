@@ -0,0 +1,36 @@
+package com.findme.backend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+public final class RateLimitResult {
+
+    private final boolean allowed;
+    private final long remaining;
+    private final long retryAfterNanos;
+
+    private RateLimitResult(boolean allowed, long remaining, long retryAfterNanos) {
+        this.allowed = allowed;
+        this.remaining = remaining;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    public static RateLimitResult allowed(long remaining) {
+        return new RateLimitResult(true, remaining, 0);
+    }
+
+    public static RateLimitResult rejected(long remaining, long retryAfterNanos) {
+        return new RateLimitResult(false, remaining, retryAfterNanos);
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
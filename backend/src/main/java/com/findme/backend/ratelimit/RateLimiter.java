@@ -0,0 +1,9 @@
+package com.findme.backend.ratelimit;
+
+public interface RateLimiter {
+
+    /**
+     * Tries to take {@code cost} tokens from the bucket identified by {@code key}.
+     */
+    RateLimitResult tryConsume(String key, int cost);
+}
@@ -0,0 +1,135 @@
+package com.findme.backend.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster-wide limiter: each key gets {@code capacity} tokens per fixed window across all nodes.
+ * Nodes lease tokens from the {@link QuotaStore} in chunks and spend them locally with atomic
+ * counters, so the store is hit once per lease rather than once per request. Once the store
+ * refuses a lease the key stays rejected locally until the window rolls over.
+ * If the store cannot be reached, requests are limited per node by a {@link LocalRateLimiter}
+ * instead of failing, until a lease succeeds again.
+ */
+@Slf4j
+public class SharedRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final QuotaStore store;
+    private final RateLimitProperties properties;
+    private final LongSupplier millisClock;
+    private final long windowMillis;
+    private final AtomicLong purgedWindow = new AtomicLong(Long.MIN_VALUE);
+    private final LocalRateLimiter fallback;
+    private final AtomicBoolean degraded = new AtomicBoolean();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public SharedRateLimiter(QuotaStore store, RateLimitProperties properties) {
+        this(store, properties, System::currentTimeMillis);
+    }
+
+    public SharedRateLimiter(QuotaStore store, RateLimitProperties properties, LongSupplier millisClock) {
+        this.store = store;
+        this.properties = properties;
+        this.millisClock = millisClock;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(properties.getRefillPeriodSeconds());
+        this.fallback = new LocalRateLimiter(properties, () -> TimeUnit.MILLISECONDS.toNanos(millisClock.getAsLong()));
+    }
+
+    /**
+     * Requests decided by the per-node fallback because the store was unreachable.
+     */
+    public long fallbackCount() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, int cost) {
+        long now = millisClock.getAsLong();
+        long window = now / windowMillis;
+        long retryAfterNanos = TimeUnit.MILLISECONDS.toNanos((window + 1) * windowMillis - now);
+
+        Lease lease = leases.get(key);
+        if (lease != null && lease.window == window) {
+            if (lease.exhausted) {
+                return RateLimitResult.rejected(0, retryAfterNanos);
+            }
+            long left = lease.remaining.addAndGet(-cost);
+            if (left >= 0) {
+                return RateLimitResult.allowed(left);
+            }
+            lease.remaining.addAndGet(cost);
+        }
+
+        purgeOldWindows(window);
+        long requested = Math.max(properties.getShared().getLeaseSize(), cost);
+        long granted;
+        try {
+            granted = store.acquire(key, window, requested, cost, properties.getCapacity());
+        } catch (DataAccessException e) {
+            // Failing open per node beats turning a database hiccup into 500s on every request
+            fallbacks.increment();
+            if (degraded.compareAndSet(false, true)) {
+                log.warn("Rate limit store unavailable, limiting per node until it recovers: {}", e.getMessage());
+            }
+            return fallback.tryConsume(key, cost);
+        }
+        if (degraded.compareAndSet(true, false)) {
+            log.info("Rate limit store recovered after {} per-node decisions", fallbacks.sum());
+        }
+        if (granted < cost) {
+            leases.put(key, Lease.exhausted(window));
+            return RateLimitResult.rejected(0, retryAfterNanos);
+        }
+        Lease fresh = new Lease(window, granted - cost);
+        leases.merge(key, fresh, (old, neu) -> {
+            if (old.window == neu.window && !old.exhausted) {
+                // Another thread leased concurrently: pool the tokens instead of dropping either lease
+                old.remaining.addAndGet(neu.remaining.get());
+                return old;
+            }
+            return neu;
+        });
+        return RateLimitResult.allowed(granted - cost);
+    }
+
+    private void purgeOldWindows(long window) {
+        long last = purgedWindow.get();
+        if (last < window && purgedWindow.compareAndSet(last, window)) {
+            leases.values().removeIf(l -> l.window < window);
+            try {
+                store.purgeBefore(window - 1);
+            } catch (DataAccessException e) {
+                // Housekeeping only; the next window's purge removes these rows too
+                log.debug("Rate limit purge failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Lease {
+        private final long window;
+        private final AtomicLong remaining;
+        private final boolean exhausted;
+
+        private Lease(long window, long remaining) {
+            this(window, remaining, false);
+        }
+
+        private Lease(long window, long remaining, boolean exhausted) {
+            this.window = window;
+            this.remaining = new AtomicLong(remaining);
+            this.exhausted = exhausted;
+        }
+
+        private static Lease exhausted(long window) {
+            return new Lease(window, 0, true);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.findme.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket using the GCRA formulation: the whole state is one
+ * "theoretical arrival time" updated with CAS, so concurrent consumers never block.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong tat;
+
+    public TokenBucket(long capacity, long refillTokens, long refillPeriodNanos, LongSupplier nanoClock) {
+        this.nanosPerToken = Math.max(1, refillPeriodNanos / refillTokens);
+        this.burstNanos = capacity * nanosPerToken;
+        this.nanoClock = nanoClock;
+        this.tat = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public RateLimitResult tryConsume(int cost) {
+        long increment = cost * nanosPerToken;
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long next = base + increment;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                long retryAfterNanos = debt - burstNanos;
+                return RateLimitResult.rejected(remaining(base, now), retryAfterNanos);
+            }
+            if (tat.compareAndSet(current, next)) {
+                return RateLimitResult.allowed(remaining(next, now));
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has fully refilled; idle buckets can be dropped without changing behaviour.
+     */
+    public boolean isIdle() {
+        return tat.get() <= nanoClock.getAsLong();
+    }
+
+    private long remaining(long tatValue, long now) {
+        return Math.max(0, (burstNanos - (tatValue - now)) / nanosPerToken);
+    }
+}
@@ -8,5 +8,6 @@ import java.util.Optional;
 
 public interface EntitlementRepository extends JpaRepository<Entitlement, Long> {
     Optional<Entitlement> findByUserIdAndItemCode(Long userId, String itemCode);
+    // EntitlementCache loader; not in the second-level cache, so a reload always reads the database
     List<Entitlement> findByUserId(Long userId);
 }
@@ -0,0 +1,18 @@
+package com.findme.backend.repository;
+
+import com.findme.backend.entity.GenerationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface GenerationCacheRepository extends JpaRepository<GenerationCacheEntry, Long> {
+
+    Optional<GenerationCacheEntry> findByTestCodeAndTemplateVersionAndBucket(String testCode, int templateVersion, String bucket);
+
+    // Bucket keys only, to build the in-memory similarity index
+    @Query("SELECT g.bucket FROM GenerationCacheEntry g WHERE g.testCode = :testCode AND g.templateVersion = :templateVersion")
+    List<String> findBuckets(@Param("testCode") String testCode, @Param("templateVersion") int templateVersion);
+}
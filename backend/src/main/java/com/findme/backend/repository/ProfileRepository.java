@@ -3,6 +3,13 @@ package com.findme.backend.repository;
 import com.findme.backend.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
-    
+
+    Optional<Profile> findByUserId(String userId);
+
+    List<Profile> findByUserIdIn(Collection<String> userIds);
 }
@@ -2,10 +2,15 @@ package com.findme.backend.repository;
 
 import com.findme.backend.entity.Question;
 import com.findme.backend.entity.Test;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<Question, String> {
+    // Runs on every submission
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Question> findByTest(Test test);
 }
\ No newline at end of file
@@ -2,12 +2,23 @@ package com.findme.backend.repository;
 
 import com.findme.backend.entity.RefreshTokenEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
     Optional<RefreshTokenEntity> findByToken(String token);
     Optional<RefreshTokenEntity> findByUserId(String userId);
+
+    // One UPDATE; saving the detached entity instead would re-read it for the merge first
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshTokenEntity t SET t.revokedAt = :revokedAt WHERE t.id = :id")
+    int revoke(@Param("id") Long id, @Param("revokedAt") LocalDateTime revokedAt);
 }
\ No newline at end of file
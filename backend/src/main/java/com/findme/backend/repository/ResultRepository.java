@@ -1,7 +1,80 @@
 package com.findme.backend.repository;
 
+import com.findme.backend.dto.OgCardDto;
+import com.findme.backend.dto.ResultListItemDto;
+import com.findme.backend.dto.ResultVectorDto;
 import com.findme.backend.entity.ResultEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface ResultRepository extends JpaRepository<ResultEntity, Long> {
+
+    // List queries project only the list columns (never poem/traits) and use keyset pagination:
+    // a List return type means no COUNT query.
+
+    // OG card fields only (no poem); the connection is released before rendering starts
+    @Query("SELECT new com.findme.backend.dto.OgCardDto(r.id, r.score, r.traits, r.createdAt) " +
+            "FROM ResultEntity r WHERE r.id = :id")
+    Optional<OgCardDto> findOgCardById(@Param("id") Long id);
+
+    // Similarity index: one result's vector, and the id-ordered tail it loads incrementally
+    @Query("SELECT new com.findme.backend.dto.ResultVectorDto(r.id, r.testCode, r.traits) " +
+            "FROM ResultEntity r WHERE r.id = :id")
+    Optional<ResultVectorDto> findVectorById(@Param("id") Long id);
+
+    @Query("SELECT new com.findme.backend.dto.ResultVectorDto(r.id, r.testCode, r.traits) " +
+            "FROM ResultEntity r WHERE r.id > :afterId ORDER BY r.id")
+    List<ResultVectorDto> findVectorsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Backed by idx_results_created_at_id
+    @Query("SELECT new com.findme.backend.dto.ResultListItemDto(r.id, r.testCode, r.score, r.createdAt) " +
+            "FROM ResultEntity r ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResultListItemDto> findFirstPage(Pageable pageable);
+
+    @Query("SELECT new com.findme.backend.dto.ResultListItemDto(r.id, r.testCode, r.score, r.createdAt) " +
+            "FROM ResultEntity r " +
+            "WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResultListItemDto> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Backed by idx_results_user_created_id
+    @Query("SELECT new com.findme.backend.dto.ResultListItemDto(r.id, r.testCode, r.score, r.createdAt) " +
+            "FROM ResultEntity r WHERE r.userId = :userId " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResultListItemDto> findUserFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.findme.backend.dto.ResultListItemDto(r.id, r.testCode, r.score, r.createdAt) " +
+            "FROM ResultEntity r WHERE r.userId = :userId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResultListItemDto> findUserPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Pageable pageable);
+
+    // Backed by idx_results_user_test_created_id
+    @Query("SELECT new com.findme.backend.dto.ResultListItemDto(r.id, r.testCode, r.score, r.createdAt) " +
+            "FROM ResultEntity r WHERE r.userId = :userId AND r.testCode = :testCode " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResultListItemDto> findUserTestFirstPage(@Param("userId") Long userId, @Param("testCode") String testCode, Pageable pageable);
+
+    @Query("SELECT new com.findme.backend.dto.ResultListItemDto(r.id, r.testCode, r.score, r.createdAt) " +
+            "FROM ResultEntity r WHERE r.userId = :userId AND r.testCode = :testCode " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResultListItemDto> findUserTestPageAfter(@Param("userId") Long userId, @Param("testCode") String testCode,
+                                                  @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    // Fills in a generated poem without overwriting one that is already there
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResultEntity r SET r.poem = :poem WHERE r.id = :id AND r.poem IS NULL")
+    int updatePoemIfAbsent(@Param("id") Long id, @Param("poem") String poem);
 }
@@ -1,7 +1,17 @@
 package com.findme.backend.repository;
 
+import com.findme.backend.dto.TestAuditListItem;
 import com.findme.backend.entity.TestAudit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface TestAuditRepository extends JpaRepository<TestAudit, Long> {
+
+    // Metadata only; snapshots are reconstructed one at a time on demand
+    @Query("SELECT new com.findme.backend.dto.TestAuditListItem(a.id, a.code, a.version, a.action, a.actor, a.kind, a.createdAt) " +
+            "FROM TestAudit a WHERE a.code = :code ORDER BY a.id DESC")
+    List<TestAuditListItem> findListItemsByCode(@Param("code") String code);
 }
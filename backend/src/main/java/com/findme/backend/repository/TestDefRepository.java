@@ -1,14 +1,45 @@
 package com.findme.backend.repository;
 
+import com.findme.backend.dto.TestDefListItem;
 import com.findme.backend.entity.TestDef;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TestDefRepository extends JpaRepository<TestDef, Long> {
     Optional<TestDef> findByCodeAndVersion(String code, int version);
     List<TestDef> findByCodeOrderByVersionDesc(String code);
+    // Invalidated by any test_defs write (publish/archive flips status), not just by TTL
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TestDef> findByCodeAndStatus(String code, String status);
     List<TestDef> findByCodeAndStatusOrderByVersionDesc(String code, String status);
+
+    // Metadata-only projections: never read the questions/scoring CLOBs
+    @Query("SELECT new com.findme.backend.dto.TestDefListItem(t.id, t.code, t.version, t.title, t.status, t.createdAt, t.updatedAt) " +
+            "FROM TestDef t ORDER BY t.code, t.version DESC")
+    List<TestDefListItem> findAllListItems();
+
+    @Query("SELECT new com.findme.backend.dto.TestDefListItem(t.id, t.code, t.version, t.title, t.status, t.createdAt, t.updatedAt) " +
+            "FROM TestDef t WHERE t.code = :code ORDER BY t.version DESC")
+    List<TestDefListItem> findListItemsByCode(@Param("code") String code);
+
+    @Query("SELECT new com.findme.backend.dto.TestDefListItem(t.id, t.code, t.version, t.title, t.status, t.createdAt, t.updatedAt) " +
+            "FROM TestDef t WHERE t.code = :code AND t.version = :version")
+    Optional<TestDefListItem> findListItemByCodeAndVersion(@Param("code") String code, @Param("version") int version);
+
+    @Query("SELECT new com.findme.backend.dto.TestDefListItem(t.id, t.code, t.version, t.title, t.status, t.createdAt, t.updatedAt) " +
+            "FROM TestDef t WHERE t.code = :code AND t.status = :status")
+    Optional<TestDefListItem> findListItemByCodeAndStatus(@Param("code") String code, @Param("status") String status);
+
+    // "code:version" keys of every existing version of the given codes, for set-based duplicate checks.
+    // Explicit cast: CONCAT of an int is left to each dialect's implicit conversion otherwise
+    @Query("SELECT CONCAT(t.code, ':', CAST(t.version AS String)) FROM TestDef t WHERE t.code IN :codes")
+    List<String> findCodeVersionKeys(@Param("codes") Collection<String> codes);
 }
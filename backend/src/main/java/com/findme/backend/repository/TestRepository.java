@@ -1,10 +1,15 @@
 package com.findme.backend.repository;
 
 import com.findme.backend.entity.Test;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface TestRepository extends JpaRepository<Test, String> {
+    // Query cache holds the id; the row itself comes from the "tests" region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Test> findByCode(String code);
 }
\ No newline at end of file
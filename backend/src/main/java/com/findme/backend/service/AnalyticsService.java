@@ -3,10 +3,13 @@ package com.findme.backend.service;
 import com.findme.backend.dto.AnalyticsEventDto;
 import com.findme.backend.dto.AnalyticsSummaryDto;
 import com.findme.backend.entity.AnalyticsEvent;
+import com.findme.backend.jfr.AnalyticsFlushEvent;
+import com.findme.backend.metrics.AppMetrics;
 import com.findme.backend.repository.AnalyticsEventRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,30 +20,40 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
 
     private final AnalyticsEventRepository analyticsEventRepository;
     private final ObjectMapper objectMapper; // For converting payload Map to JSON string
+    private final AppMetrics appMetrics;
 
     @Transactional
     public void saveAnalyticsEvents(List<AnalyticsEventDto> events) {
-        List<AnalyticsEvent> entities = events.stream().map(dto -> {
-            String payloadJson = null;
-            if (dto.getPayload() != null) {
-                try {
-                    payloadJson = objectMapper.writeValueAsString(dto.getPayload());
-                } catch (JsonProcessingException e) {
-                    // Log error, but proceed without payload if conversion fails
-                    System.err.println("Error converting payload to JSON: " + e.getMessage());
-                }
+        appMetrics.getAnalyticsBatchSize().record(events.size());
+        AnalyticsFlushEvent flushEvent = AnalyticsFlushEvent.start();
+        appMetrics.getAnalyticsIngest().record(() -> {
+            List<AnalyticsEvent> entities = events.stream().map(this::toEntity).collect(Collectors.toList());
+            analyticsEventRepository.saveAll(entities);
+        });
+        flushEvent.finish(events.size());
+    }
+
+    AnalyticsEvent toEntity(AnalyticsEventDto dto) {
+        String payloadJson = null;
+        if (dto.getPayload() != null) {
+            try {
+                payloadJson = objectMapper.writeValueAsString(dto.getPayload());
+            } catch (JsonProcessingException e) {
+                // Log error, but proceed without payload if conversion fails
+                log.warn("Error converting analytics payload to JSON: {}", e.getMessage());
             }
-            return new AnalyticsEvent(null, dto.getEventName(), dto.getSessionId(), payloadJson, dto.getTs());
-        }).collect(Collectors.toList());
-        analyticsEventRepository.saveAll(entities);
+        }
+        return new AnalyticsEvent(null, dto.getEventName(), dto.getSessionId(), payloadJson, dto.getTs());
     }
 
+    @Transactional(readOnly = true)
     public AnalyticsSummaryDto getSummary(LocalDate from, LocalDate to) {
         LocalDateTime startOfDay = from.atStartOfDay();
         LocalDateTime endOfDay = to.atTime(LocalTime.MAX);
@@ -1,19 +1,15 @@
 package com.findme.backend.service;
 
-import com.findme.backend.auth.CustomOAuth2User;
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.cache.EntitlementCache;
 import com.findme.backend.dto.EntitlementDto;
 import com.findme.backend.dto.MockPaymentRequest;
 import com.findme.backend.dto.MockPaymentResponse;
 import com.findme.backend.entity.Entitlement;
 import com.findme.backend.entity.Purchase;
-import com.findme.backend.entity.UserEntity; // Import UserEntity
 import com.findme.backend.repository.EntitlementRepository;
 import com.findme.backend.repository.PurchaseRepository;
-import com.findme.backend.repository.UserRepository; // Import UserRepository
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails; // Import UserDetails
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,11 +24,11 @@ public class BillingService {
 
     private final PurchaseRepository purchaseRepository;
     private final EntitlementRepository entitlementRepository;
-    private final UserRepository userRepository; // Inject UserRepository
+    private final EntitlementCache entitlementCache;
 
     @Transactional
     public MockPaymentResponse processMockPayment(MockPaymentRequest request) {
-        Long userId = getCurrentUserId();
+        Long userId = CurrentUser.getId();
 
         if (userId == null) {
             throw new IllegalArgumentException("User must be logged in for mock payment.");
@@ -66,34 +62,19 @@ public class BillingService {
             );
         }
         entitlementRepository.save(entitlement);
+        entitlementCache.grant(userId);
 
         return new MockPaymentResponse(purchase.getId(), "PAID");
     }
 
+    @Transactional(readOnly = true)
     public List<EntitlementDto> getUserEntitlements() {
-        Long userId = getCurrentUserId();
+        Long userId = CurrentUser.getId();
         if (userId == null) {
             throw new IllegalArgumentException("User must be logged in to view entitlements.");
         }
-        return entitlementRepository.findByUserId(userId).stream()
-                .map(e -> new EntitlementDto(e.getItemCode()))
+        return entitlementCache.getActiveItemCodes(userId).stream()
+                .map(EntitlementDto::new)
                 .collect(Collectors.toList());
     }
-
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) { // Check if authenticated
-            Object principal = authentication.getPrincipal();
-            if (principal instanceof UserDetails) {
-                String email = ((UserDetails) principal).getUsername();
-                UserEntity user = userRepository.findByEmail(email)
-                        .orElseThrow(() -> new IllegalArgumentException("User not found with email: " + email));
-                return user.getId();
-            } else if (principal instanceof CustomOAuth2User) {
-                CustomOAuth2User oauth2Principal = (CustomOAuth2User) principal;
-                return oauth2Principal.getId();
-            }
-        }
-        return null;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.findme.backend.service;
+
+import com.findme.backend.dto.GenerationJobDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One poem generation and the SSE clients following it. Text is accumulated so late
+ * subscribers first receive everything produced so far, then live fragments.
+ */
+public class GenerationJob {
+
+    public enum Status { RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final Long resultId;
+    private final Long ownerId; // the result's user; null for anonymous results
+    private final long createdAtNanos = System.nanoTime();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringBuilder text = new StringBuilder();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile long finishedAtNanos;
+    private String error;
+
+    GenerationJob(String id, Long resultId, Long ownerId) {
+        this.id = id;
+        this.resultId = resultId;
+        this.ownerId = ownerId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getResultId() {
+        return resultId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    void append(String delta) {
+        lock.lock();
+        try {
+            text.append(delta);
+            broadcast("delta", delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void complete(String poem) {
+        lock.lock();
+        try {
+            text.setLength(0);
+            text.append(poem);
+            status = Status.DONE;
+            finishedAtNanos = System.nanoTime();
+            broadcast("done", Map.of("poem", poem));
+            finishAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void fail(String message) {
+        lock.lock();
+        try {
+            error = message;
+            status = Status.FAILED;
+            finishedAtNanos = System.nanoTime();
+            broadcast("error", Map.of("message", message));
+            finishAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replays the text so far, then either finishes the emitter or keeps it for live events.
+     */
+    void subscribe(SseEmitter emitter) {
+        lock.lock();
+        try {
+            if (status == Status.RUNNING) {
+                if (!text.isEmpty()) {
+                    emitter.send(SseEmitter.event().name("delta").data(text.toString()));
+                }
+                emitters.add(emitter);
+                emitter.onCompletion(() -> remove(emitter));
+                emitter.onTimeout(() -> remove(emitter));
+                emitter.onError(e -> remove(emitter));
+            } else if (status == Status.DONE) {
+                emitter.send(SseEmitter.event().name("done").data(Map.of("poem", text.toString())));
+                emitter.complete();
+            } else {
+                emitter.send(SseEmitter.event().name("error").data(Map.of("message", error)));
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public GenerationJobDto toDto() {
+        lock.lock();
+        try {
+            return new GenerationJobDto(id, resultId, status.name(), text.toString(), error);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isExpired(long now, long ttlNanos) {
+        long since = status == Status.RUNNING ? createdAtNanos : finishedAtNanos;
+        return now - since > ttlNanos;
+    }
+
+    private void remove(SseEmitter emitter) {
+        lock.lock();
+        try {
+            emitters.remove(emitter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock. Iterates a copy: emitter callbacks may remove themselves re-entrantly
+    private void broadcast(String event, Object data) {
+        for (SseEmitter emitter : List.copyOf(emitters)) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // That client went away; the others keep streaming
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private void finishAll() {
+        List<SseEmitter> finished = List.copyOf(emitters);
+        emitters.clear();
+        finished.forEach(SseEmitter::complete);
+    }
+}
@@ -0,0 +1,144 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.entity.ResultEntity;
+import com.findme.backend.exception.AiServiceException;
+import com.findme.backend.repository.ResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Poem generation jobs for results. Submitting returns at once; the text streams to SSE
+ * subscribers as it is produced and is written to {@code results.poem} when complete.
+ * Jobs live in a bounded in-memory table and are dropped {@code ttl-seconds} after
+ * finishing; a result has at most one live job.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GenerationJobService {
+
+    private final ResultRepository resultRepository;
+    private final GenerationService generationService;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, GenerationJob> jobsByResult = new ConcurrentHashMap<>();
+
+    @Value("${generation-jobs.max-jobs:1000}")
+    private int maxJobs;
+
+    @Value("${generation-jobs.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${generation-jobs.stream-timeout-seconds:60}")
+    private long streamTimeoutSeconds;
+
+    public GenerationJob submit(ResultEntity result) {
+        purgeExpired();
+        // Check and insert atomically per result, so concurrent submits share one job and one AI call
+        GenerationJob[] created = new GenerationJob[1];
+        GenerationJob job = jobsByResult.compute(result.getId(), (resultId, existing) -> {
+            if (existing != null && existing.getStatus() != GenerationJob.Status.FAILED) {
+                return existing;
+            }
+            if (jobs.size() >= maxJobs) {
+                throw new AiServiceException("AI_BUSY", "Too many generation jobs in flight");
+            }
+            // A failed job stays readable under its own id until it expires
+            GenerationJob fresh = new GenerationJob(UUID.randomUUID().toString(), resultId, result.getUserId());
+            jobs.put(fresh.getId(), fresh);
+            created[0] = fresh;
+            return fresh;
+        });
+        if (created[0] == null) {
+            return job;
+        }
+
+        if (result.getPoem() != null) {
+            job.complete(result.getPoem());
+            return job;
+        }
+
+        Map<String, Double> traits;
+        try {
+            traits = objectMapper.readValue(result.getTraits(), new TypeReference<Map<String, Double>>() { });
+        } catch (IOException | IllegalArgumentException e) {
+            job.fail("Result has no readable traits");
+            return job;
+        }
+
+        generationService.streamForResult(result.getTestCode(), traits, job::append)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        log.warn("Poem generation for result {} failed: {}", result.getId(), cause.getMessage());
+                        job.fail(cause instanceof AiServiceException e ? e.getCode() : "AI_ERROR");
+                        return;
+                    }
+                    try {
+                        resultRepository.updatePoemIfAbsent(result.getId(), response.getPoem());
+                    } catch (Exception e) {
+                        log.error("Failed to store poem for result {}: {}", result.getId(), e.getMessage());
+                    }
+                    job.complete(response.getPoem());
+                });
+        return job;
+    }
+
+    public Optional<GenerationJob> get(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job != null && job.isExpired(System.nanoTime(), TimeUnit.SECONDS.toNanos(ttlSeconds))) {
+            remove(job);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * Async servlet response: no request thread is held while the client waits.
+     */
+    public SseEmitter stream(GenerationJob job) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(streamTimeoutSeconds));
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    public long runningJobs() {
+        return jobs.values().stream().filter(job -> job.getStatus() == GenerationJob.Status.RUNNING).count();
+    }
+
+    public int trackedJobs() {
+        return jobs.size();
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        for (GenerationJob job : jobs.values()) {
+            if (job.isExpired(now, ttlNanos)) {
+                if (job.getStatus() == GenerationJob.Status.RUNNING) {
+                    job.fail("AI_TIMEOUT"); // stuck past its TTL; release the slot
+                }
+                remove(job);
+            }
+        }
+    }
+
+    private void remove(GenerationJob job) {
+        jobs.remove(job.getId(), job);
+        jobsByResult.remove(job.getResultId(), job);
+    }
+}
@@ -0,0 +1,84 @@
+package com.findme.backend.service;
+
+import com.findme.backend.ai.AiClient;
+import com.findme.backend.ai.GenerationCache;
+import com.findme.backend.dto.AiGenerateRequest;
+import com.findme.backend.dto.AiGenerateResponse;
+import com.findme.backend.exception.AiServiceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Poem generation for a test result: served from {@link GenerationCache} when a similar
+ * result was generated before, otherwise streamed from the AI service. Concurrent
+ * requests for the same result share one job (see GenerationJobService).
+ */
+@Service
+@RequiredArgsConstructor
+public class GenerationService {
+
+    private final AiClient aiClient;
+    private final GenerationCache generationCache;
+
+    @Value("${generation-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    /**
+     * Generates the poem, handing text to {@code onDelta} as it is produced, and stores it
+     * in the cache. A cache hit arrives as a single fragment. If the stream fails before producing any
+     * text (e.g. an ai-python without the streaming endpoint), falls back to a plain call.
+     */
+    public CompletableFuture<AiGenerateResponse> streamForResult(String testCode, Map<String, Double> traits,
+                                                                 Consumer<String> onDelta) {
+        if (cacheEnabled) {
+            Optional<AiGenerateResponse> cached = generationCache.lookup(testCode, traits);
+            if (cached.isPresent()) {
+                onDelta.accept(cached.get().getPoem());
+                return CompletableFuture.completedFuture(cached.get());
+            }
+        }
+
+        AtomicBoolean streamed = new AtomicBoolean();
+        long start = System.nanoTime();
+        return aiClient.generateStream(requestFor(traits), delta -> {
+                    streamed.set(true);
+                    onDelta.accept(delta);
+                })
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (streamed.get() || !(cause instanceof AiServiceException e) || !"AI_ERROR".equals(e.getCode())) {
+                        return CompletableFuture.<AiGenerateResponse>failedFuture(error);
+                    }
+                    return aiClient.generate(requestFor(traits)).thenApply(full -> {
+                        onDelta.accept(full.getPoem());
+                        return full;
+                    });
+                })
+                .thenCompose(Function.identity())
+                .whenComplete((response, error) -> {
+                    if (error == null && cacheEnabled) {
+                        generationCache.store(testCode, traits, response, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private static AiGenerateRequest requestFor(Map<String, Double> traits) {
+        AiGenerateRequest request = new AiGenerateRequest();
+        request.getProfile().getTraits().putAll(traits);
+        request.setWant(List.of("poem"));
+        return request;
+    }
+}
@@ -1,6 +1,7 @@
 package com.findme.backend.service;
 
 import com.findme.backend.auth.CustomOAuth2User;
+import com.findme.backend.cache.UserProfileCache;
 import com.findme.backend.entity.UserEntity;
 import com.findme.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import java.util.Optional;
 public class OAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
 
     @Override
     @Transactional
@@ -46,6 +48,7 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
             user.setCreatedAt(LocalDateTime.now());
         }
         userRepository.save(user);
+        userProfileCache.put(user);
 
         // Return OAuth2User with additional user details
         return new CustomOAuth2User(oAuth2User, user.getId(), user.getEmail(), user.getNickname());
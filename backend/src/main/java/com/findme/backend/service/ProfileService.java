@@ -0,0 +1,269 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.TraitProfileDto;
+import com.findme.backend.entity.Profile;
+import com.findme.backend.model.TraitProfile;
+import com.findme.backend.repository.ProfileRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user trait profiles. Each committed result is added to a pending delta for its
+ * user; deltas coalesce in memory and a single flusher folds them into the
+ * {@code profiles} row every {@code flush-interval-millis}, so a user submitting
+ * repeatedly costs one row update per interval instead of one per result.
+ * A delta being flushed stays readable, tagged with the row version it was written
+ * over, so reads include it exactly once whether or not they see the new row yet.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProfileService {
+
+    private final ProfileRepository profileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${profiles.flush-interval-millis:2000}")
+    private long flushIntervalMillis;
+
+    @Value("${profiles.flush-batch-size:200}")
+    private int flushBatchSize;
+
+    @Value("${profiles.max-pending:10000}")
+    private int maxPending;
+
+    // Deltas not yet written, by user id; only mutated inside compute/merge so readers see whole updates
+    private final ConcurrentHashMap<Long, TraitProfile> pending = new ConcurrentHashMap<>();
+    // Deltas taken by a flush, by user id; moved in and out of pending inside its compute for the user.
+    // Kept for one flush interval after commit, for reads that loaded the row just before it.
+    private final ConcurrentHashMap<Long, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void init() {
+        // One thread writes profiles, so flushes never race each other on this node
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "profile-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush(); // whatever is still buffered
+    }
+
+    /**
+     * Adds a result to the user's profile. Inside a transaction it is only buffered after
+     * commit, so rolled-back submissions never count.
+     */
+    public void record(Long userId, String testCode, Long resultId, double score, Map<String, Double> traits, LocalDateTime at) {
+        Runnable apply = () -> {
+            pending.compute(userId, (id, delta) -> {
+                TraitProfile profile = delta != null ? delta : new TraitProfile();
+                profile.add(testCode, resultId, score, traits, at);
+                return profile;
+            });
+            if (pending.size() >= maxPending && earlyFlushQueued.compareAndSet(false, true)) {
+                flusher.execute(this::flush);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * The stored row plus anything still buffered or being flushed for the user: one
+     * indexed lookup.
+     */
+    @Transactional(readOnly = true)
+    public TraitProfileDto getProfile(Long userId) {
+        Profile row = profileRepository.findByUserId(String.valueOf(userId)).orElse(null);
+        TraitProfile profile = row != null ? parse(row) : new TraitProfile();
+        // Under the user's lock, so a flush can't move the delta between the two maps mid-read
+        pending.compute(userId, (id, delta) -> {
+            InFlight flushing = inFlight.get(id);
+            if (flushing != null && flushing.missingFrom(row)) {
+                profile.merge(flushing.delta());
+            }
+            if (delta != null) {
+                profile.merge(delta);
+            }
+            return delta;
+        });
+        return toDto(profile, row != null ? row.getLastUpdated() : null);
+    }
+
+    public int pendingUsers() {
+        return pending.size();
+    }
+
+    void flush() {
+        earlyFlushQueued.set(false);
+        // Written at least one interval ago; every read since has seen the new row
+        inFlight.values().removeIf(InFlight::committed);
+        Map<Long, TraitProfile> batch = new LinkedHashMap<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            TraitProfile[] taken = new TraitProfile[1];
+            pending.computeIfPresent(userId, (id, delta) -> {
+                inFlight.put(id, new InFlight(delta, InFlight.NOT_WRITTEN, false));
+                taken[0] = delta;
+                return null;
+            });
+            if (taken[0] == null) {
+                continue;
+            }
+            batch.put(userId, taken[0]);
+            if (batch.size() >= flushBatchSize) {
+                write(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(Map<Long, TraitProfile> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> userIds = batch.keySet().stream().map(String::valueOf).toList();
+                Map<String, Profile> rows = profileRepository.findByUserIdIn(userIds).stream()
+                        .collect(Collectors.toMap(Profile::getUserId, Function.identity()));
+                LocalDateTime now = LocalDateTime.now();
+                List<Profile> created = new ArrayList<>();
+                batch.forEach((userId, delta) -> {
+                    Profile row = rows.get(String.valueOf(userId));
+                    long base = row != null && row.getVersion() != null ? row.getVersion() : InFlight.NO_ROW;
+                    inFlight.put(userId, new InFlight(delta, base, false));
+                    if (row == null) {
+                        row = new Profile(null, String.valueOf(userId), null, null, null);
+                        created.add(row);
+                    }
+                    TraitProfile merged = parse(row);
+                    merged.merge(delta);
+                    row.setTraits(serialize(merged));
+                    row.setLastUpdated(now);
+                });
+                profileRepository.saveAll(created); // existing rows are flushed by dirty checking
+            });
+            batch.keySet().forEach(userId -> inFlight.computeIfPresent(userId,
+                    (id, flushing) -> new InFlight(flushing.delta(), flushing.baseVersion(), true)));
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            // Another node wrote one of these rows first; the whole batch rolled back, retry next flush
+            log.info("Profile flush of {} users conflicted, requeued: {}", batch.size(), e.getMessage());
+            requeue(batch);
+        } catch (RuntimeException e) {
+            log.error("Profile flush of {} users failed, requeued", batch.size(), e);
+            requeue(batch);
+        }
+    }
+
+    // Deltas are order-independent, so a failed batch simply merges back into whatever arrived since
+    private void requeue(Map<Long, TraitProfile> batch) {
+        batch.forEach((userId, delta) -> pending.compute(userId, (id, current) -> {
+            inFlight.remove(id);
+            if (current == null) {
+                return delta;
+            }
+            current.merge(delta);
+            return current;
+        }));
+    }
+
+    private TraitProfile parse(Profile row) {
+        if (row.getTraits() == null) {
+            return new TraitProfile();
+        }
+        try {
+            return objectMapper.readValue(row.getTraits(), TraitProfile.class);
+        } catch (JsonProcessingException e) {
+            // Unreadable aggregate: rebuild from results from here on rather than failing every flush
+            log.warn("Discarding unreadable profile for user {}: {}", row.getUserId(), e.getMessage());
+            return new TraitProfile();
+        }
+    }
+
+    private String serialize(TraitProfile profile) {
+        try {
+            return objectMapper.writeValueAsString(profile);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A delta taken by a flush. {@code baseVersion} is the row version it is being written
+     * over, so a read whose row is newer than that already includes it.
+     */
+    private record InFlight(TraitProfile delta, long baseVersion, boolean committed) {
+        static final long NOT_WRITTEN = Long.MAX_VALUE; // row not read yet: cannot include it
+        static final long NO_ROW = -1; // the flush inserts the row
+
+        boolean missingFrom(Profile row) {
+            return row == null || row.getVersion() == null || row.getVersion() <= baseVersion;
+        }
+    }
+
+    static TraitProfileDto toDto(TraitProfile profile, LocalDateTime lastUpdated) {
+        Map<String, TraitProfileDto.TestProfile> tests = new TreeMap<>();
+        profile.getTests().forEach((testCode, stats) -> {
+            Map<String, TraitProfileDto.Axis> axes = new TreeMap<>();
+            stats.getAxes().forEach((axis, axisStats) -> axes.put(axis, new TraitProfileDto.Axis(
+                    axisStats.getN(),
+                    axisStats.getMean(),
+                    axisStats.variance(),
+                    Math.sqrt(axisStats.variance()))));
+            TraitProfile.Latest latest = stats.getLatest();
+            tests.put(testCode, new TraitProfileDto.TestProfile(
+                    stats.getCount(),
+                    axes,
+                    latest != null ? latest.getType() : null,
+                    latest != null ? latest.getScore() : 0,
+                    latest != null ? latest.getResultId() : null,
+                    latest != null ? latest.getAt() : null));
+        });
+        return new TraitProfileDto(profile.getResults(), tests, lastUpdated);
+    }
+}
@@ -0,0 +1,247 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.TestAuditListItem;
+import com.findme.backend.entity.TestAudit;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.repository.TestAuditRepository;
+import com.findme.backend.util.JsonPatch;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Test definition audit trail. Records are handed to a single background writer after
+ * the admin transaction commits; the writer stores each snapshot as a JSON Patch
+ * against the previous record of the same code, with a full keyframe every
+ * {@code keyframe-interval} records, gzip-compressed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestAuditService {
+
+    static final String KIND_FULL = "FULL";
+    static final String KIND_DELTA = "DELTA";
+    static final String ENCODING_JSON = "json";
+    static final String ENCODING_GZIP = "gzip+b64";
+
+    private final TestAuditRepository testAuditRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.test-defs.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${audit.test-defs.keyframe-interval:10}")
+    private int keyframeInterval;
+
+    // Last written record per code; only touched while holding writeLock
+    private final Map<String, ChainHead> heads = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ThreadPoolExecutor writer;
+
+    @PostConstruct
+    void init() {
+        // Single writer keeps per-code chains ordered. A full queue makes the caller wait for
+        // room rather than write inline: records are handed over from a completed transaction's
+        // synchronization, where an inline save would join that transaction and never commit.
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "test-audit-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                TestAuditService::awaitRoom);
+    }
+
+    private static void awaitRoom(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            log.warn("Test audit writer is stopped; record dropped");
+            return;
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted waiting for the test audit writer; record dropped");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Test audit writer did not drain; {} records dropped", writer.getQueue().size());
+            writer.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues an audit record. Inside a transaction it is only queued after commit, so
+     * rolled-back imports/publishes leave no trace. The caller only waits when the writer's
+     * queue is full.
+     */
+    public void record(TestDef testDef, String action, String actor) {
+        // Copy now: the managed entity may change after this call
+        TestDef snapshot = new TestDef(testDef.getId(), testDef.getCode(), testDef.getVersion(), testDef.getTitle(),
+                testDef.getStatus(), testDef.getQuestions(), testDef.getScoring(),
+                testDef.getCreatedAt(), testDef.getUpdatedAt());
+        LocalDateTime at = LocalDateTime.now();
+        Runnable task = () -> write(snapshot, action, actor, at);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        writer.execute(task);
+                    }
+                }
+            });
+        } else {
+            writer.execute(task);
+        }
+    }
+
+    /**
+     * Queues a standalone record that is not part of any definition's chain, e.g. the
+     * summary of a bulk import. {@code code} is the catalogue-level label it is listed under.
+     */
+    public void recordSummary(String code, String action, String actor, JsonNode summary) {
+        LocalDateTime at = LocalDateTime.now();
+        writer.execute(() -> {
+            try {
+                testAuditRepository.save(new TestAudit(null, code, 0, action, actor,
+                        KIND_FULL, null, ENCODING_GZIP, compress(summary.toString()), at));
+            } catch (Exception e) {
+                log.error("Failed to record {} audit", action, e);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<TestAuditListItem> getAudits(String code) {
+        return testAuditRepository.findListItemsByCode(code);
+    }
+
+    /**
+     * Records waiting for the background writer.
+     */
+    public int pendingWrites() {
+        return writer.getQueue().size();
+    }
+
+    /**
+     * Rebuilds the full snapshot of one audit record by replaying patches from its keyframe.
+     */
+    @Transactional(readOnly = true)
+    public JsonNode reconstruct(Long auditId) {
+        Deque<TestAudit> deltas = new ArrayDeque<>();
+        TestAudit audit = find(auditId);
+        while (KIND_DELTA.equals(audit.getKind())) {
+            deltas.push(audit);
+            audit = find(audit.getBaseId());
+        }
+        JsonNode document = readPayload(audit);
+        while (!deltas.isEmpty()) {
+            document = JsonPatch.apply(document, readPayload(deltas.pop()));
+        }
+        return document;
+    }
+
+    private void write(TestDef testDef, String action, String actor, LocalDateTime at) {
+        writeLock.lock();
+        try {
+            JsonNode document = objectMapper.valueToTree(testDef);
+            ChainHead head = heads.get(testDef.getCode());
+
+            String kind = KIND_FULL;
+            Long baseId = null;
+            JsonNode payload = document;
+            if (head != null && head.sinceKeyframe + 1 < keyframeInterval) {
+                JsonNode patch = JsonPatch.diff(head.document, document);
+                // A patch that rewrites most of the document is no cheaper than a keyframe
+                if (patch.toString().length() < document.toString().length()) {
+                    kind = KIND_DELTA;
+                    baseId = head.auditId;
+                    payload = patch;
+                }
+            }
+
+            TestAudit audit = new TestAudit(null, testDef.getCode(), testDef.getVersion(), action, actor,
+                    kind, baseId, ENCODING_GZIP, compress(payload.toString()), at);
+            testAuditRepository.save(audit);
+
+            int sinceKeyframe = KIND_FULL.equals(kind) ? 0 : head.sinceKeyframe + 1;
+            heads.put(testDef.getCode(), new ChainHead(audit.getId(), document, sinceKeyframe));
+        } catch (Exception e) {
+            // Next record for this code starts a fresh keyframe
+            heads.remove(testDef.getCode());
+            log.error("Failed to record audit for testDef {} v{}", testDef.getCode(), testDef.getVersion(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private TestAudit find(Long auditId) {
+        return testAuditRepository.findById(auditId)
+                .orElseThrow(() -> new IllegalArgumentException("Audit record not found: " + auditId));
+    }
+
+    private JsonNode readPayload(TestAudit audit) {
+        String text = ENCODING_GZIP.equals(audit.getEncoding()) ? decompress(audit.getSnapshot()) : audit.getSnapshot();
+        try {
+            return objectMapper.readTree(text);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt audit payload: " + audit.getId(), e);
+        }
+    }
+
+    static String compress(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    static String decompress(String encoded) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record ChainHead(Long auditId, JsonNode document, int sinceKeyframe) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.TestDefImportRequest;
+import com.findme.backend.dto.TestDefResponse;
+import com.findme.backend.jfr.CatalogImportEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * File-based catalogue mode. Every {@code *.json} file in {@code catalog.watch.dir} is a
+ * test definition in the seed format; created or modified files are debounced, then
+ * imported (or, for drafts, updated in place) and published when their
+ * {@code "status"} is {@code PUBLISHED}. Caches are invalidated per version by
+ * {@link TestDefService}, so edits go live without a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "catalog.watch", name = "enabled", havingValue = "true")
+public class TestCatalogWatcher {
+
+    private final TestDefService testDefService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.watch.dir:./catalog}")
+    private String dir;
+
+    @Value("${catalog.watch.debounce-millis:500}")
+    private long debounceMillis;
+
+    @Value("${catalog.watch.actor:catalog}")
+    private String actor;
+
+    // Editors save in bursts; only the last event per file within the debounce window counts
+    private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    // SHA-256 of the last content applied per file, so touch-only events skip the database
+    private final Map<Path, String> applied = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService loader;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Path root = Paths.get(dir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+
+        // One thread applies every change, so imports of the same code never race
+        loader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "test-catalog-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchService = FileSystems.getDefault().newWatchService();
+        root.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        loader.execute(() -> scan(root));
+        watchThread = new Thread(() -> watch(root), "test-catalog-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("Watching test catalogue at {}", root);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (loader != null) {
+            loader.shutdownNow();
+        }
+    }
+
+    private void watch(Path root) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were lost; fall back to a full rescan
+                        loader.execute(() -> scan(root));
+                        continue;
+                    }
+                    Path file = root.resolve((Path) event.context());
+                    if (isCatalogFile(file)) {
+                        schedule(file);
+                    }
+                }
+                if (!key.reset()) {
+                    log.warn("Test catalogue directory {} is no longer accessible", root);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Shutting down
+        }
+    }
+
+    private void schedule(Path file) {
+        pending.compute(file, (path, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+            ScheduledFuture<?> next = loader.schedule(() -> {
+                // Only our own entry: a newer event may already have replaced it
+                pending.remove(path, self.get());
+                apply(path);
+            }, debounceMillis, TimeUnit.MILLISECONDS);
+            // Set before compute returns, and remove() waits for compute to release the key
+            self.set(next);
+            return next;
+        });
+    }
+
+    private void scan(Path root) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "*.json")) {
+            for (Path file : files) {
+                apply(file);
+            }
+        } catch (IOException e) {
+            log.error("Failed to scan test catalogue {}: {}", root, e.getMessage());
+        }
+    }
+
+    private void apply(Path file) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return;
+            }
+            byte[] content = Files.readAllBytes(file);
+            String hash = sha256(content);
+            if (hash.equals(applied.get(file))) {
+                return;
+            }
+
+            CatalogImportEvent importEvent = CatalogImportEvent.start();
+            JsonNode root = objectMapper.readTree(content);
+            TestDefImportRequest request = objectMapper.treeToValue(root, TestDefImportRequest.class);
+            TestDefResponse saved = testDefService.saveDraft(request, actor);
+            if ("PUBLISHED".equals(root.path("status").asText()) && "DRAFT".equals(saved.getStatus())) {
+                testDefService.publishTestDef(saved.getCode(), saved.getVersion(), actor);
+            }
+            applied.put(file, hash);
+            importEvent.finish("catalog-file", saved.getCode(), 1, content.length);
+            log.info("Applied test catalogue file {} ({} v{})", file.getFileName(), saved.getCode(), saved.getVersion());
+        } catch (IOException | IllegalArgumentException e) {
+            // Leave the hash unrecorded so the next save of the file is retried
+            log.warn("Skipped test catalogue file {}: {}", file.getFileName(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to apply test catalogue file {}", file.getFileName(), e);
+        }
+    }
+
+    private static boolean isCatalogFile(Path file) {
+        return file.getFileName().toString().endsWith(".json");
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.findme.backend.dto.TestDefBulkImportResponse;
+import com.findme.backend.dto.TestDefImportRequest;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.jfr.CatalogImportEvent;
+import com.findme.backend.repository.TestDefRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Catalogue migration: streams definitions from an NDJSON or JSON-array body and
+ * imports them chunk by chunk. Each chunk is validated in parallel, checked against
+ * existing (code, version) pairs with one query and inserted in one transaction.
+ * A single summary audit replaces the per-definition IMPORT records.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestDefBulkImportService {
+
+    private final TestDefRepository testDefRepository;
+    private final TestDefValidator testDefValidator;
+    private final TestAuditService testAuditService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.bulk-import.batch-size:200}")
+    private int batchSize;
+
+    public TestDefBulkImportResponse importStream(InputStream body, String actor) throws IOException {
+        CatalogImportEvent importEvent = CatalogImportEvent.start();
+        TestDefBulkImportResponse response = new TestDefBulkImportResponse();
+        ArrayNode imported = objectMapper.createArrayNode();
+        Set<String> seen = new HashSet<>();
+        List<TestDefImportRequest> chunk = new ArrayList<>(batchSize);
+
+        // readValues iterates root-level values (NDJSON) or the elements of a top-level array
+        try (MappingIterator<TestDefImportRequest> items =
+                     objectMapper.readerFor(TestDefImportRequest.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                if (chunk.size() == batchSize) {
+                    importChunk(chunk, response, seen, imported);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Nothing after a malformed value can be trusted; report it and keep what was imported
+            response.getRejected().add(new TestDefBulkImportResponse.Rejection(
+                    response.getReceived() + chunk.size(), null, 0, "Malformed JSON: " + e.getOriginalMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, response, seen, imported);
+        }
+
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("received", response.getReceived());
+        summary.put("imported", response.getImported());
+        summary.put("skipped", response.getSkipped());
+        summary.put("rejected", response.getRejected().size());
+        summary.set("definitions", imported);
+        testAuditService.recordSummary("*", "BULK_IMPORT", actor, summary);
+        importEvent.finish("bulk-import", "", response.getReceived(), -1);
+        return response;
+    }
+
+    private void importChunk(List<TestDefImportRequest> chunk, TestDefBulkImportResponse response,
+                             Set<String> seen, ArrayNode imported) {
+        int offset = response.getReceived();
+        response.setReceived(offset + chunk.size());
+
+        // Validation is pure CPU work on independent items
+        List<List<String>> errors = chunk.parallelStream().map(testDefValidator::validate).toList();
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors.get(i).isEmpty()) {
+                codes.add(chunk.get(i).getCode());
+            }
+        }
+        Set<String> existing = codes.isEmpty() ? Set.of() : new HashSet<>(testDefRepository.findCodeVersionKeys(codes));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TestDef> toInsert = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            TestDefImportRequest request = chunk.get(i);
+            String key = request.getCode() + ":" + request.getVersion();
+            if (!errors.get(i).isEmpty()) {
+                reject(response, offset + i, request, String.join("; ", errors.get(i)));
+            } else if (existing.contains(key)) {
+                response.setSkipped(response.getSkipped() + 1);
+            } else if (!seen.add(key)) {
+                reject(response, offset + i, request, "Duplicate of an earlier item in this import");
+            } else {
+                toInsert.add(new TestDef(null, request.getCode(), request.getVersion(), request.getTitle(), "DRAFT",
+                        request.getQuestions(), request.getScoring(), now, now));
+                positions.add(offset + i);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> testDefRepository.saveAll(toInsert));
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent import; the whole chunk rolled back
+            log.warn("Bulk import chunk at item {} rolled back: {}", offset, e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < toInsert.size(); i++) {
+                TestDef testDef = toInsert.get(i);
+                response.getRejected().add(new TestDefBulkImportResponse.Rejection(positions.get(i),
+                        testDef.getCode(), testDef.getVersion(), "Conflicting concurrent import, retry"));
+            }
+            return;
+        }
+        response.setImported(response.getImported() + toInsert.size());
+        for (TestDef testDef : toInsert) {
+            imported.addObject().put("code", testDef.getCode()).put("version", testDef.getVersion());
+        }
+    }
+
+    private static void reject(TestDefBulkImportResponse response, int index, TestDefImportRequest request, String reason) {
+        response.getRejected().add(new TestDefBulkImportResponse.Rejection(index, request.getCode(), request.getVersion(), reason));
+    }
+}
@@ -1,32 +1,39 @@
 package com.findme.backend.service;
 
+import com.findme.backend.cache.TestDefModelCache;
 import com.findme.backend.dto.TestDefImportRequest;
 import com.findme.backend.dto.TestDefListItem;
 import com.findme.backend.dto.TestDefResponse;
-import com.findme.backend.entity.TestAudit;
 import com.findme.backend.entity.TestDef;
-import com.findme.backend.repository.TestAuditRepository;
+import com.findme.backend.jfr.CatalogImportEvent;
+import com.findme.backend.model.TestDefinition;
 import com.findme.backend.repository.TestDefRepository;
-import com.fasterxml.jackson.databind.ObjectMapper; // For JSON snapshot
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TestDefService {
 
     private final TestDefRepository testDefRepository;
-    private final TestAuditRepository testAuditRepository;
-    private final ObjectMapper objectMapper; // For JSON snapshot
+    private final TestAuditService testAuditService;
+    private final TestDefValidator testDefValidator;
+    private final TestDefModelCache testDefModelCache;
 
     @Transactional
     public TestDefResponse importTestDef(TestDefImportRequest request, String actor) {
+        CatalogImportEvent importEvent = CatalogImportEvent.start();
+        List<String> errors = testDefValidator.validate(request);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid test definition: " + String.join("; ", errors));
+        }
+
         // Check for existing code and version
         Optional<TestDef> existingTestDef = testDefRepository.findByCodeAndVersion(request.getCode(), request.getVersion());
         if (existingTestDef.isPresent()) {
@@ -49,6 +56,44 @@ public class TestDefService {
         // Record audit
         recordAudit(testDef, "IMPORT", actor);
 
+        importEvent.finish("import", testDef.getCode(), 1, -1);
+        return convertToResponseDto(testDef);
+    }
+
+    /**
+     * Imports a new version, or replaces the content of an existing DRAFT version in
+     * place. Published/archived versions are immutable; identical content is a no-op.
+     */
+    @Transactional
+    public TestDefResponse saveDraft(TestDefImportRequest request, String actor) {
+        Optional<TestDef> existing = testDefRepository.findByCodeAndVersion(request.getCode(), request.getVersion());
+        if (existing.isEmpty()) {
+            return importTestDef(request, actor);
+        }
+        List<String> errors = testDefValidator.validate(request);
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid test definition: " + String.join("; ", errors));
+        }
+
+        TestDef testDef = existing.get();
+        if (Objects.equals(testDef.getTitle(), request.getTitle())
+                && Objects.equals(testDef.getQuestions(), request.getQuestions())
+                && Objects.equals(testDef.getScoring(), request.getScoring())) {
+            return convertToResponseDto(testDef);
+        }
+        if (!"DRAFT".equals(testDef.getStatus())) {
+            throw new IllegalArgumentException("Test definition " + request.getCode() + " v" + request.getVersion()
+                    + " is " + testDef.getStatus() + "; bump the version to change its content.");
+        }
+
+        testDef.setTitle(request.getTitle());
+        testDef.setQuestions(request.getQuestions());
+        testDef.setScoring(request.getScoring());
+        testDef.setUpdatedAt(LocalDateTime.now());
+        testDefRepository.save(testDef); // drafts are never in the model cache
+
+        recordAudit(testDef, "UPDATE", actor);
+
         return convertToResponseDto(testDef);
     }
 
@@ -72,6 +117,7 @@ public class TestDefService {
         testDef.setStatus("PUBLISHED");
         testDef.setUpdatedAt(LocalDateTime.now());
         testDefRepository.save(testDef);
+        testDefModelCache.invalidatePublished(code);
 
         // Record audit
         recordAudit(testDef, "PUBLISH", actor);
@@ -79,45 +125,40 @@ public class TestDefService {
         return convertToResponseDto(testDef);
     }
 
+    @Transactional(readOnly = true)
     public List<TestDefListItem> getTestDefs(String code) {
-        List<TestDef> testDefs;
+        // Metadata projections only; questions/scoring CLOBs are not loaded for listings
         if (code != null && !code.isEmpty()) {
-            testDefs = testDefRepository.findByCodeOrderByVersionDesc(code);
-        } else {
-            testDefs = testDefRepository.findAll(); // Or paginate, for simplicity
+            return testDefRepository.findListItemsByCode(code);
         }
-        return testDefs.stream()
-                .map(this::convertToListDto)
-                .collect(Collectors.toList());
+        return testDefRepository.findAllListItems();
     }
 
+    @Transactional(readOnly = true)
     public TestDefResponse getTestDef(String code, int version) {
-        TestDef testDef = testDefRepository.findByCodeAndVersion(code, version)
+        TestDefListItem meta = testDefRepository.findListItemByCodeAndVersion(code, version)
                 .orElseThrow(() -> new IllegalArgumentException("Test definition not found: " + code + " v" + version));
-        return convertToResponseDto(testDef);
+        return convertToResponseDto(meta, getDefinition(code, version));
     }
 
+    @Transactional(readOnly = true)
     public Optional<TestDefResponse> getLatestPublishedTestDef(String code) {
-        return testDefRepository.findByCodeAndStatus(code, "PUBLISHED")
-                .map(this::convertToResponseDto);
+        return testDefModelCache.getPublished(code)
+                .map(meta -> convertToResponseDto(meta, getDefinition(code, meta.getVersion())));
+    }
+
+    /**
+     * Parsed, cached content of one version, shared by scoring, rendering and admin reads.
+     */
+    @Transactional(readOnly = true)
+    public TestDefinition getDefinition(String code, int version) {
+        return testDefModelCache.get(code, version)
+                .orElseThrow(() -> new IllegalArgumentException("Test definition not found: " + code + " v" + version));
     }
 
     private void recordAudit(TestDef testDef, String action, String actor) {
-        try {
-            String snapshot = objectMapper.writeValueAsString(testDef);
-            TestAudit audit = new TestAudit(
-                    null,
-                    testDef.getCode(),
-                    testDef.getVersion(),
-                    action,
-                    actor,
-                    snapshot,
-                    LocalDateTime.now()
-            );
-            testAuditRepository.save(audit);
-        } catch (Exception e) {
-            System.err.println("Failed to record audit for testDef " + testDef.getCode() + " v" + testDef.getVersion() + ": " + e.getMessage());
-        }
+        // Serialized, diffed and written off the request thread after commit
+        testAuditService.record(testDef, action, actor);
     }
 
     private TestDefResponse convertToResponseDto(TestDef testDef) {
@@ -134,15 +175,17 @@ public class TestDefService {
         );
     }
 
-    private TestDefListItem convertToListDto(TestDef testDef) {
-        return new TestDefListItem(
-                testDef.getId(),
-                testDef.getCode(),
-                testDef.getVersion(),
-                testDef.getTitle(),
-                testDef.getStatus(),
-                testDef.getCreatedAt(),
-                testDef.getUpdatedAt()
+    private TestDefResponse convertToResponseDto(TestDefListItem meta, TestDefinition definition) {
+        return new TestDefResponse(
+                meta.getId(),
+                meta.getCode(),
+                meta.getVersion(),
+                meta.getTitle(),
+                meta.getStatus(),
+                definition.getQuestionsJson(),
+                definition.getScoringJson(),
+                meta.getCreatedAt(),
+                meta.getUpdatedAt()
         );
     }
 }
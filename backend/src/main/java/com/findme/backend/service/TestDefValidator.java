@@ -0,0 +1,62 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.findme.backend.dto.TestDefImportRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Structural checks for an imported test definition. Stateless and thread-safe so
+ * bulk imports can validate in parallel.
+ */
+@Component
+public class TestDefValidator {
+
+    private static final Pattern CODE = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    /**
+     * @return problems found, empty when the definition can be imported
+     */
+    public List<String> validate(TestDefImportRequest request) {
+        List<String> errors = new ArrayList<>();
+        if (request.getCode() == null || !CODE.matcher(request.getCode()).matches()) {
+            errors.add("code must be 1-64 characters of [A-Za-z0-9_-]");
+        }
+        if (request.getVersion() < 1) {
+            errors.add("version must be >= 1");
+        }
+        if (request.getTitle() == null || request.getTitle().isBlank() || request.getTitle().length() > 128) {
+            errors.add("title must be 1-128 characters");
+        }
+        if (request.getScoring() != null && !request.getScoring().isObject()) {
+            errors.add("scoring must be an object");
+        }
+
+        JsonNode questions = request.getQuestions();
+        if (questions == null || !questions.isArray() || questions.isEmpty()) {
+            errors.add("questions must be a non-empty array");
+            return errors;
+        }
+        for (int i = 0; i < questions.size(); i++) {
+            JsonNode question = questions.get(i);
+            if (!question.path("body").isTextual() || question.path("body").asText().isBlank()) {
+                errors.add("questions[" + i + "].body is required");
+            }
+            JsonNode choices = question.path("choices");
+            if (!choices.isArray() || choices.isEmpty()) {
+                errors.add("questions[" + i + "].choices must be a non-empty array");
+                continue;
+            }
+            for (int j = 0; j < choices.size(); j++) {
+                JsonNode choice = choices.get(j);
+                if (!choice.path("value").isTextual() || !choice.path("weight").isNumber()) {
+                    errors.add("questions[" + i + "].choices[" + j + "] needs a text value and a numeric weight");
+                }
+            }
+        }
+        return errors;
+    }
+}
@@ -8,14 +8,15 @@ import com.findme.backend.entity.ResultEntity; // Import ResultEntity
 import com.findme.backend.repository.QuestionRepository;
 import com.findme.backend.repository.TestRepository;
 import com.findme.backend.repository.ResultRepository; // Import ResultRepository
-import com.findme.backend.auth.CustomOAuth2User; // Import CustomOAuth2User
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.jfr.CatalogImportEvent;
+import com.findme.backend.jfr.SubmitScoringEvent;
+import com.findme.backend.metrics.AppMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.core.context.SecurityContextHolder; // Import SecurityContextHolder
-import org.springframework.security.core.Authentication; // Import Authentication
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,6 +34,8 @@ public class TestService {
     private final QuestionRepository questionRepository;
     private final ResultRepository resultRepository;
     private final ObjectMapper objectMapper;
+    private final AppMetrics appMetrics;
+    private final ProfileService profileService;
 
     @PostConstruct
     @Transactional
@@ -40,6 +43,7 @@ public class TestService {
         
 
                 if (testRepository.findByCode("mbti_v1").isEmpty()) {
+            CatalogImportEvent importEvent = CatalogImportEvent.start();
             try {
                 InputStream inputStream = new ClassPathResource("seed/tests/mbti_v1.json").getInputStream();
                 MbtiTestDto mbtiTestDto = objectMapper.readValue(inputStream, MbtiTestDto.class);
@@ -51,6 +55,7 @@ public class TestService {
                         .map(q -> new Question(String.valueOf(q.getNo()), test, q.getBody(), false))
                         .collect(Collectors.toList());
                 questionRepository.saveAll(questions);
+                importEvent.finish("seed", test.getCode(), questions.size(), -1);
 
             } catch (IOException e) {
                 throw new RuntimeException("Failed to load mbti_v1.json", e);
@@ -58,6 +63,7 @@ public class TestService {
         }
 
         if (testRepository.findByCode("teto_egen_v1").isEmpty()) {
+            CatalogImportEvent importEvent = CatalogImportEvent.start();
             try {
                 InputStream inputStream = new ClassPathResource("seed/tests/teto_egen_v1.json").getInputStream();
                 MbtiTestDto mbtiTestDto = objectMapper.readValue(inputStream, MbtiTestDto.class);
@@ -69,6 +75,7 @@ public class TestService {
                         .map(q -> new Question(String.valueOf(q.getNo()), test, q.getBody(), false))
                         .collect(Collectors.toList());
                 questionRepository.saveAll(questions);
+                importEvent.finish("seed", test.getCode(), questions.size(), -1);
 
             } catch (IOException e) {
                 throw new RuntimeException("Failed to load teto_egen_v1.json", e);
@@ -76,6 +83,7 @@ public class TestService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Optional<TestResponseDto> getTestByCode(String testCode) {
         return testRepository.findByCode(testCode)
                 .map(this::convertToTestResponseDto);
@@ -89,8 +97,40 @@ public class TestService {
         Map<String, Question> questionMap = questionRepository.findByTest(test).stream()
                 .collect(Collectors.toMap(Question::getId, q -> q));
 
+        SubmitScoringEvent scoringEvent = SubmitScoringEvent.start();
+        Score score = appMetrics.getSubmitScore().record(
+                () -> score(questionMap, questionMap.size(), submission.getAnswers()));
+        scoringEvent.finish(testCode, submission.getAnswers().size(), questionMap.size());
+        double normalizedScore = score.normalizedScore();
+        Map<String, Double> traits = score.traits();
+
+        // Save result to database
+        Long userId = CurrentUser.getId(); // null for anonymous submissions
+
+        ResultEntity resultEntity = new ResultEntity(
+            null, // ID will be generated
+            userId,
+            testCode,
+            normalizedScore,
+            traitsJson(traits),
+            submission.getPoem(), // Save the generated poem from submission
+            LocalDateTime.now()
+        );
+        appMetrics.getSubmitSave().record(() -> resultRepository.save(resultEntity));
+        if (userId != null) {
+            profileService.record(userId, testCode, resultEntity.getId(), normalizedScore, traits, resultEntity.getCreatedAt());
+        }
+
+        return new ResultDto(resultEntity.getId(), normalizedScore, traits);
+    }
+
+    record Score(double normalizedScore, Map<String, Double> traits) {
+    }
+
+    // Scoring and traits serialization are pure so they can be benchmarked without a database (src/jmh)
+    static Score score(Map<String, Question> questionMap, int questionCount, List<AnswerDto> answers) {
         double totalScore = 0;
-        for (AnswerDto answer : submission.getAnswers()) {
+        for (AnswerDto answer : answers) {
             Question question = questionMap.get(answer.getQuestionId());
             if (question != null) {
                 int value = answer.getValue();
@@ -98,8 +138,8 @@ public class TestService {
             }
         }
 
-        double averageScore = totalScore / submission.getAnswers().size();
-        
+        double averageScore = totalScore / answers.size();
+
         // Normalize score to 0-100
         // Min possible avg is 1, max is 5. So range is 4.
         double normalizedScore = ((averageScore - 1) / 4.0) * 100;
@@ -108,32 +148,16 @@ public class TestService {
         Map<String, Double> traits = Map.of(
                 "A", normalizedScore * 0.9,
                 "B", 100 - (normalizedScore * 0.5),
-                "C", (totalScore / (test.getQuestions().size() * 5)) * 100 * 1.2
+                "C", (totalScore / (questionCount * 5)) * 100 * 1.2
         );
+        return new Score(normalizedScore, traits);
+    }
 
-        // Save result to database
-        Long userId = null;
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof CustomOAuth2User) {
-            CustomOAuth2User principal = (CustomOAuth2User) authentication.getPrincipal();
-            userId = principal.getId();
-        }
-
-        ResultEntity resultEntity = new ResultEntity(
-            null, // ID will be generated
-            userId,
-            testCode,
-            normalizedScore,
-            // Convert traits map to JSON string
-            traits.entrySet().stream()
+    // Convert traits map to JSON string
+    static String traitsJson(Map<String, Double> traits) {
+        return traits.entrySet().stream()
                 .map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue())
-                .collect(Collectors.joining(",", "{", "}")),
-            submission.getPoem(), // Save the generated poem from submission
-            LocalDateTime.now()
-        );
-        resultRepository.save(resultEntity);
-
-        return new ResultDto(resultEntity.getId(), normalizedScore, traits);
+                .collect(Collectors.joining(",", "{", "}"));
     }
 
     private TestResponseDto convertToTestResponseDto(Test test) {
@@ -0,0 +1,370 @@
+package com.findme.backend.similarity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.ResultVectorDto;
+import com.findme.backend.dto.SimilarResultsDto;
+import com.findme.backend.dto.SimilarityIndexStats;
+import com.findme.backend.exception.BizException;
+import com.findme.backend.exception.SimilarityIndexException;
+import com.findme.backend.repository.ResultRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * "People like me": k-NN over result trait vectors, one {@link TraitVectorIndex} per
+ * (test code, axes). A single loader thread tails the results table by id, so results
+ * from every node are picked up within {@code similarity.refresh-millis}; the index and
+ * its position are snapshotted to {@code similarity.snapshot-file} so a restart only
+ * reads results newer than the snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarityIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x464D5649; // "FMVI"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final TypeReference<TreeMap<String, Double>> TRAITS = new TypeReference<>() {
+    };
+
+    private final ResultRepository resultRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${similarity.enabled:true}")
+    private boolean enabled;
+
+    @Value("${similarity.quantum:0.5}")
+    private double quantum;
+
+    @Value("${similarity.refresh-millis:1000}")
+    private long refreshMillis;
+
+    @Value("${similarity.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${similarity.commit-overlap:1000}")
+    private long commitOverlap;
+
+    @Value("${similarity.probe-cells:8}")
+    private int probeCells;
+
+    @Value("${similarity.max-k:100}")
+    private int maxK;
+
+    @Value("${similarity.snapshot-file:}")
+    private String snapshotFile;
+
+    @Value("${similarity.snapshot-interval-minutes:10}")
+    private long snapshotIntervalMinutes;
+
+    private final ConcurrentHashMap<String, TraitVectorIndex> partitions = new ConcurrentHashMap<>();
+    // Ids already indexed within commit-overlap of the watermark; only touched by the loader thread
+    private final TreeSet<Long> recentIds = new TreeSet<>();
+    private volatile long lastResultId;
+    private volatile boolean ready;
+    private volatile LocalDateTime lastSnapshot;
+    private long snapshotResultId = -1;
+    private volatile long lastRefreshMillis;
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong snapshotFailures = new AtomicLong();
+    private ScheduledExecutorService loader;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        lastRefreshMillis = System.currentTimeMillis();
+        // One thread restores, tails and snapshots, so the watermark and partitions change together
+        loader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "similarity-index-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loader.execute(this::restore);
+        loader.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+        if (!snapshotFile.isBlank()) {
+            loader.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMinutes, snapshotIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (loader == null) {
+            return;
+        }
+        loader.shutdown();
+        if (loader.awaitTermination(10, TimeUnit.SECONDS)) {
+            snapshotQuietly();
+        }
+    }
+
+    public Optional<SimilarResultsDto> similar(Long resultId, int k, boolean exact) {
+        Optional<ResultVectorDto> row = resultRepository.findVectorById(resultId);
+        if (row.isEmpty()) {
+            return Optional.empty();
+        }
+        String testCode = row.get().getTestCode();
+        TreeMap<String, Double> traits = parseTraits(row.get().getTraits());
+        if (traits == null) {
+            // Nothing to compare; such results are not indexed either
+            return Optional.of(new SimilarResultsDto(resultId, testCode, exact, List.of(), Map.of(), 0));
+        }
+
+        TraitVectorIndex index = partitions.get(partitionKey(testCode, traits));
+        List<TraitVectorIndex.Neighbour> hits = index == null
+                ? List.of()
+                : index.search(index.quantize(values(traits)), Math.max(1, Math.min(k, maxK)), exact ? 0 : probeCells, resultId);
+
+        List<SimilarResultsDto.Neighbour> neighbours = hits.stream()
+                .map(hit -> new SimilarResultsDto.Neighbour(hit.id(), hit.distance(), hit.type()))
+                .collect(Collectors.toList());
+        Map<String, Long> types = hits.stream()
+                .collect(Collectors.groupingBy(TraitVectorIndex.Neighbour::type, Collectors.counting()))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        return Optional.of(new SimilarResultsDto(resultId, testCode, exact, neighbours, types,
+                index == null ? 0 : index.size()));
+    }
+
+    public long refreshFailures() {
+        return refreshFailures.get();
+    }
+
+    public long snapshotFailures() {
+        return snapshotFailures.get();
+    }
+
+    /**
+     * Seconds since the last complete refresh (or since start, before the first one); NaN
+     * when the index is disabled.
+     */
+    public double refreshAgeSeconds() {
+        return loader == null ? Double.NaN : (System.currentTimeMillis() - lastRefreshMillis) / 1000.0;
+    }
+
+    public long vectors() {
+        return partitions.values().stream().mapToLong(TraitVectorIndex::size).sum();
+    }
+
+    public SimilarityIndexStats stats() {
+        List<SimilarityIndexStats.Partition> stats = partitions.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new SimilarityIndexStats.Partition(
+                        entry.getKey().substring(0, entry.getKey().indexOf('|')),
+                        entry.getValue().axes(),
+                        entry.getValue().size(),
+                        entry.getValue().cellCount(),
+                        entry.getValue().bytes()))
+                .collect(Collectors.toList());
+        return new SimilarityIndexStats(ready, vectors(), lastResultId, lastSnapshot, stats);
+    }
+
+    /**
+     * Writes a snapshot now, on the loader thread so it matches the watermark exactly.
+     */
+    public SimilarityIndexStats snapshot() {
+        if (loader == null || snapshotFile.isBlank()) {
+            throw new BizException("SIMILARITY_SNAPSHOT_DISABLED", "similarity.snapshot-file is not configured.");
+        }
+        try {
+            loader.submit(() -> {
+                writeSnapshot();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            snapshotFailures.incrementAndGet();
+            throw new SimilarityIndexException("SIMILARITY_SNAPSHOT_FAILED", "Similarity snapshot failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimilarityIndexException("SIMILARITY_SNAPSHOT_FAILED", "Interrupted.", e);
+        }
+        return stats();
+    }
+
+    void refresh() {
+        try {
+            // Re-read commit-overlap ids behind the watermark: ids are assigned at insert, so a
+            // lower id can commit after a higher one was already read
+            int pageSize = batchSize + (int) commitOverlap;
+            List<ResultVectorDto> rows;
+            do {
+                rows = resultRepository.findVectorsAfter(Math.max(0, lastResultId - commitOverlap), PageRequest.of(0, pageSize));
+                add(rows);
+            } while (rows.size() == pageSize);
+            lastRefreshMillis = System.currentTimeMillis();
+            if (!ready) {
+                ready = true;
+                log.info("Similarity index ready: {} vectors in {} partitions", vectors(), partitions.size());
+            }
+        } catch (RuntimeException e) {
+            // Retried on the next tick; the failure counter and refresh age show a stalled index
+            refreshFailures.incrementAndGet();
+            log.warn("Similarity index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void add(List<ResultVectorDto> rows) {
+        Map<String, List<ResultVectorDto>> byPartition = new HashMap<>();
+        Map<String, List<double[]>> values = new HashMap<>();
+        Map<String, List<String>> axes = new HashMap<>();
+        long watermark = lastResultId;
+        for (ResultVectorDto row : rows) {
+            if (!recentIds.add(row.getId())) {
+                continue; // indexed by an earlier pass
+            }
+            watermark = Math.max(watermark, row.getId());
+            TreeMap<String, Double> traits = parseTraits(row.getTraits());
+            if (traits == null) {
+                continue;
+            }
+            String key = partitionKey(row.getTestCode(), traits);
+            byPartition.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+            values.computeIfAbsent(key, k -> new ArrayList<>()).add(values(traits));
+            axes.putIfAbsent(key, List.copyOf(traits.keySet()));
+        }
+        byPartition.forEach((key, partitionRows) -> {
+            long[] ids = partitionRows.stream().mapToLong(ResultVectorDto::getId).toArray();
+            partitions.computeIfAbsent(key, k -> new TraitVectorIndex(axes.get(key), quantum))
+                    .addAll(ids, values.get(key));
+        });
+        lastResultId = watermark;
+        recentIds.headSet(watermark - commitOverlap, true).clear();
+    }
+
+    void restore() {
+        if (snapshotFile.isBlank()) {
+            return;
+        }
+        Path file = Paths.get(snapshotFile);
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 20))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION || in.readDouble() != quantum) {
+                log.info("Ignoring similarity snapshot {} written with another format or quantum", file);
+                return;
+            }
+            long watermark = in.readLong();
+            int recentCount = in.readInt();
+            List<Long> recent = new ArrayList<>(recentCount);
+            for (int i = 0; i < recentCount; i++) {
+                recent.add(in.readLong());
+            }
+            Map<String, TraitVectorIndex> restored = new HashMap<>();
+            int partitionCount = in.readInt();
+            for (int i = 0; i < partitionCount; i++) {
+                String key = in.readUTF();
+                restored.put(key, TraitVectorIndex.readFrom(in, quantum));
+            }
+            partitions.putAll(restored);
+            recentIds.addAll(recent);
+            lastResultId = watermark;
+            snapshotResultId = watermark;
+            lastSnapshot = LocalDateTime.now();
+            log.info("Restored similarity index from {}: {} vectors up to result {}", file, vectors(), watermark);
+        } catch (IOException e) {
+            // A damaged snapshot only costs a full load from the results table
+            log.warn("Could not read similarity snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException e) {
+            snapshotFailures.incrementAndGet();
+            log.warn("Similarity snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    // Loader thread only
+    void writeSnapshot() throws IOException {
+        if (snapshotFile.isBlank() || lastResultId == snapshotResultId) {
+            return;
+        }
+        Path file = Paths.get(snapshotFile).toAbsolutePath().normalize();
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 20))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeDouble(quantum);
+            out.writeLong(lastResultId);
+            out.writeInt(recentIds.size());
+            for (long id : recentIds) {
+                out.writeLong(id);
+            }
+            List<Map.Entry<String, TraitVectorIndex>> entries = new ArrayList<>(partitions.entrySet());
+            entries.sort(Comparator.comparing(Map.Entry::getKey));
+            out.writeInt(entries.size());
+            for (Map.Entry<String, TraitVectorIndex> entry : entries) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        }
+        // Readers never see a half-written snapshot
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotResultId = lastResultId;
+        lastSnapshot = LocalDateTime.now();
+        log.info("Wrote similarity snapshot {}: {} vectors up to result {}", file, vectors(), lastResultId);
+    }
+
+    private TreeMap<String, Double> parseTraits(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            TreeMap<String, Double> traits = objectMapper.readValue(json, TRAITS);
+            traits.values().removeIf(value -> value == null);
+            return traits.isEmpty() ? null : traits;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static double[] values(TreeMap<String, Double> traits) {
+        return traits.values().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    // Sorted axes, as in the generation cache: results of one test with other axes get their own partition
+    private static String partitionKey(String testCode, TreeMap<String, Double> traits) {
+        return testCode + "|" + String.join(",", traits.keySet());
+    }
+}
@@ -0,0 +1,291 @@
+package com.findme.backend.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trait vectors of one (test code, axes) partition. Each value is scalar-quantized to
+ * one unsigned byte ({@code value / quantum}, clamped to 0..255) and stored in a single
+ * {@code byte[]}, with result ids in a parallel {@code long[]}: about 8 + axes bytes per
+ * vector plus a 4-byte cell entry.
+ * <p>
+ * Vectors are also bucketed into a coarse grid (the top bits of the codes on the first 16
+ * axes, at most 2^16 cells). A search visits cells in order of their minimum possible
+ * distance to the query and stops once no unvisited cell can beat the k-th best, which is
+ * exact; limiting the number of visited cells makes it approximate.
+ */
+final class TraitVectorIndex {
+
+    // Axes beyond this still count in distances but not in cells; 16 one-bit axes = 2^16 cells
+    private static final int MAX_CELL_DIMS = 16;
+
+    private final List<String> axes;
+    private final int dims;
+    private final double quantum;
+    private final int cellDims;
+    private final int cellBits;
+    private final int cellShift;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private byte[] codes;
+    private long[] ids;
+    private int size;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final List<Cell> cellList = new ArrayList<>();
+
+    TraitVectorIndex(List<String> axes, double quantum) {
+        this.axes = List.copyOf(axes);
+        this.dims = axes.size();
+        this.quantum = quantum;
+        this.cellDims = Math.min(dims, MAX_CELL_DIMS);
+        // 32 levels per axis for up to 3 axes, fewer as axes grow, so cells stay <= 2^16
+        this.cellBits = Math.max(1, Math.min(5, 16 / Math.max(1, dims)));
+        this.cellShift = 8 - cellBits;
+        this.codes = new byte[Math.max(1, dims) * 1024];
+        this.ids = new long[1024];
+    }
+
+    List<String> axes() {
+        return axes;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cellList.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long bytes() {
+        lock.readLock().lock();
+        try {
+            return (long) codes.length + 8L * ids.length + 4L * size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantizes values given in {@link #axes()} order.
+     */
+    int[] quantize(double[] values) {
+        int[] query = new int[dims];
+        for (int i = 0; i < dims; i++) {
+            long code = Math.round(values[i] / quantum);
+            query[i] = (int) Math.max(0, Math.min(255, code));
+        }
+        return query;
+    }
+
+    void add(long id, double[] values) {
+        addAll(new long[]{id}, List.of(values));
+    }
+
+    // One lock acquisition per refresh batch
+    void addAll(long[] batchIds, List<double[]> batchValues) {
+        lock.writeLock().lock();
+        try {
+            for (int n = 0; n < batchIds.length; n++) {
+                int[] q = quantize(batchValues.get(n));
+                byte[] vector = new byte[dims];
+                for (int i = 0; i < dims; i++) {
+                    vector[i] = (byte) q[i];
+                }
+                append(batchIds[n], vector);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The k nearest vectors to {@code query} (quantized codes) by Euclidean distance,
+     * nearest first. {@code maxCells <= 0} means exact.
+     */
+    List<Neighbour> search(int[] query, int k, int maxCells, long excludeId) {
+        lock.readLock().lock();
+        try {
+            // Every cell's lower bound, packed with its index so a primitive sort orders them
+            long[] order = new long[cellList.size()];
+            for (int c = 0; c < order.length; c++) {
+                order[c] = ((long) cellList.get(c).lowerBound(query) << 32) | c;
+            }
+            Arrays.sort(order);
+
+            // Max-heap of (squared distance, ordinal): the root is the current k-th best
+            PriorityQueue<long[]> best = new PriorityQueue<>((a, b) -> Long.compare(b[0], a[0]));
+            int visited = 0;
+            for (long entry : order) {
+                long bound = entry >>> 32;
+                if (best.size() == k && (bound >= best.peek()[0] || (maxCells > 0 && visited >= maxCells))) {
+                    break;
+                }
+                Cell cell = cellList.get((int) entry);
+                for (int m = 0; m < cell.count; m++) {
+                    int ordinal = cell.members[m];
+                    if (ids[ordinal] == excludeId) {
+                        continue;
+                    }
+                    long distance = distance(query, ordinal);
+                    if (best.size() < k) {
+                        best.add(new long[]{distance, ordinal});
+                    } else if (distance < best.peek()[0]) {
+                        best.poll();
+                        best.add(new long[]{distance, ordinal});
+                    }
+                }
+                visited++;
+            }
+
+            Neighbour[] result = new Neighbour[best.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                long[] hit = best.poll();
+                int ordinal = (int) hit[1];
+                result[i] = new Neighbour(ids[ordinal], Math.sqrt(hit[0]) * quantum, topAxis(ordinal));
+            }
+            return List.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(dims);
+            for (String axis : axes) {
+                out.writeUTF(axis);
+            }
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(ids[i]);
+            }
+            out.write(codes, 0, size * dims);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static TraitVectorIndex readFrom(DataInputStream in, double quantum) throws IOException {
+        int dims = in.readInt();
+        List<String> axes = new ArrayList<>(dims);
+        for (int i = 0; i < dims; i++) {
+            axes.add(in.readUTF());
+        }
+        TraitVectorIndex index = new TraitVectorIndex(axes, quantum);
+        int count = in.readInt();
+        long[] snapshotIds = new long[count];
+        for (int i = 0; i < count; i++) {
+            snapshotIds[i] = in.readLong();
+        }
+        byte[] snapshotCodes = new byte[count * dims];
+        in.readFully(snapshotCodes);
+        // Cells are not stored; rebuilding them is a single pass
+        for (int i = 0; i < count; i++) {
+            index.append(snapshotIds[i], Arrays.copyOfRange(snapshotCodes, i * dims, (i + 1) * dims));
+        }
+        return index;
+    }
+
+    // Caller holds the write lock (or owns an unpublished index)
+    private void append(long id, byte[] vector) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            codes = Arrays.copyOf(codes, Math.max(1, dims) * size * 2);
+        }
+        System.arraycopy(vector, 0, codes, size * dims, dims);
+        ids[size] = id;
+
+        long key = 0;
+        for (int i = 0; i < cellDims; i++) {
+            key = (key << cellBits) | ((vector[i] & 0xFF) >>> cellShift);
+        }
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell(vector);
+            cells.put(key, cell);
+            cellList.add(cell);
+        }
+        cell.add(size);
+        size++;
+    }
+
+    private long distance(int[] query, int ordinal) {
+        long sum = 0;
+        int offset = ordinal * dims;
+        for (int i = 0; i < dims; i++) {
+            int d = query[i] - (codes[offset + i] & 0xFF);
+            sum += (long) d * d;
+        }
+        return sum;
+    }
+
+    // Highest-valued axis; ties go to the first axis, as in the stored profile type
+    private String topAxis(int ordinal) {
+        int offset = ordinal * dims;
+        int top = -1;
+        String type = null;
+        for (int i = 0; i < dims; i++) {
+            int code = codes[offset + i] & 0xFF;
+            if (code > top) {
+                top = code;
+                type = axes.get(i);
+            }
+        }
+        return type;
+    }
+
+    record Neighbour(long id, double distance, String type) {
+    }
+
+    private final class Cell {
+        private final int[] low; // lowest code on each cell axis
+        private int[] members = new int[8];
+        private int count;
+
+        Cell(byte[] vector) {
+            low = new int[cellDims];
+            for (int i = 0; i < cellDims; i++) {
+                low[i] = ((vector[i] & 0xFF) >>> cellShift) << cellShift;
+            }
+        }
+
+        void add(int ordinal) {
+            if (count == members.length) {
+                members = Arrays.copyOf(members, count * 2);
+            }
+            members[count++] = ordinal;
+        }
+
+        // Squared distance from the query to the nearest point of this cell
+        long lowerBound(int[] query) {
+            int width = (1 << cellShift) - 1;
+            long sum = 0;
+            for (int i = 0; i < cellDims; i++) {
+                int q = query[i];
+                int gap = q < low[i] ? low[i] - q : Math.max(0, q - (low[i] + width));
+                sum += (long) gap * gap;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.findme.backend.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spans of the request running on the current thread, kept in parallel arrays so
+ * opening and closing a span allocates nothing.
+ */
+final class ActiveTrace {
+
+    final String traceId;
+    final long startNanos = System.nanoTime();
+    final long startEpochMillis = System.currentTimeMillis();
+    private final String[] names;
+    private final int[] parents;
+    private final long[] starts;
+    private final long[] ends;
+    private int count;
+    private int open = -1; // innermost unfinished span
+    private boolean truncated;
+
+    ActiveTrace(String traceId, int maxSpans) {
+        this.traceId = traceId;
+        names = new String[maxSpans];
+        parents = new int[maxSpans];
+        starts = new long[maxSpans];
+        ends = new long[maxSpans];
+    }
+
+    int begin(String name) {
+        if (count == names.length) {
+            truncated = true;
+            return -1;
+        }
+        int span = count++;
+        names[span] = name;
+        parents[span] = open;
+        starts[span] = System.nanoTime();
+        open = span;
+        return span;
+    }
+
+    void end(int span) {
+        if (span < 0) {
+            return;
+        }
+        ends[span] = System.nanoTime();
+        open = parents[span];
+    }
+
+    TraceRecord finish(String method, String path, int status) {
+        long now = System.nanoTime();
+        List<TraceRecord.Span> spans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long end = ends[i] == 0 ? now : ends[i];
+            spans.add(new TraceRecord.Span(names[i], parents[i],
+                    (starts[i] - startNanos) / 1000, (end - starts[i]) / 1000));
+        }
+        return new TraceRecord(traceId, method, path, status, startEpochMillis,
+                (now - startNanos) / 1000, truncated, spans);
+    }
+}
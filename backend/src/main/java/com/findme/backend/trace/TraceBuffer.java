@@ -0,0 +1,39 @@
+package com.findme.backend.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent traces. Writers claim a slot with one atomic
+ * increment and overwrite whatever was there; readers take a best-effort snapshot.
+ */
+class TraceBuffer {
+
+    private final AtomicReferenceArray<TraceRecord> slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+
+    TraceBuffer(int capacity) {
+        // Round up to a power of two so the slot is a mask, not a division
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    void add(TraceRecord trace) {
+        slots.lazySet((int) (cursor.getAndIncrement() & mask), trace);
+    }
+
+    List<TraceRecord> snapshot() {
+        List<TraceRecord> traces = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            TraceRecord trace = slots.get(i);
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+}
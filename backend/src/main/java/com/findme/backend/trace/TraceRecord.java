@@ -0,0 +1,21 @@
+package com.findme.backend.trace;
+
+import java.util.List;
+
+/**
+ * A finished request trace. Span offsets and durations are microseconds from the start
+ * of the request; {@code parent} is the index of the enclosing span, -1 for the root.
+ */
+public record TraceRecord(
+        String traceId,
+        String method,
+        String path,
+        int status,
+        long startedAtEpochMillis,
+        long durationMicros,
+        boolean truncated, // more spans than request-tracing.max-spans; the rest were not recorded
+        List<Span> spans) {
+
+    public record Span(String name, int parent, long offsetMicros, long durationMicros) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.findme.backend.trace;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * In-process request tracer. The request filter starts a trace per request; code on the
+ * same thread adds spans with {@link #begin}/{@link #end}, which are no-ops outside a
+ * request. Finished traces go to a ring of recent traces, and to a second ring when
+ * they exceed {@code request-tracing.slow-threshold-millis}, so slow ones survive bursts
+ * of fast traffic.
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Pattern TRACE_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final Pattern REQUEST_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    // Generated ids: random per-process prefix + counter, 32 hex chars like a W3C trace-id
+    private static final String NODE_PREFIX = HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Value("${request-tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${request-tracing.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${request-tracing.slow-buffer-size:256}")
+    private int slowBufferSize;
+
+    @Value("${request-tracing.slow-threshold-millis:500}")
+    private long slowThresholdMillis;
+
+    @Value("${request-tracing.max-spans:256}")
+    private int maxSpans;
+
+    private TraceBuffer recent;
+    private TraceBuffer slow;
+
+    @PostConstruct
+    void init() {
+        recent = new TraceBuffer(bufferSize);
+        slow = new TraceBuffer(slowBufferSize);
+    }
+
+    /**
+     * Picks the trace id for an inbound request: the trace-id of a W3C {@code traceparent},
+     * else a well-formed {@code X-Request-Id}, else a generated one.
+     */
+    public static String resolveTraceId(String requestId, String traceparent) {
+        if (traceparent != null && traceparent.length() >= 55) {
+            String traceId = traceparent.substring(3, 35);
+            if (TRACE_ID.matcher(traceId).matches()) {
+                return traceId;
+            }
+        }
+        if (requestId != null && REQUEST_ID.matcher(requestId).matches()) {
+            return requestId;
+        }
+        return NODE_PREFIX + HEX.toHexDigits(SEQUENCE.incrementAndGet());
+    }
+
+    /**
+     * W3C {@code traceparent} for an outbound call, or {@code null} when the trace id is
+     * not in W3C form (a caller-supplied X-Request-Id), in which case only that is sent.
+     */
+    public static String traceparent(String traceId) {
+        if (traceId == null || !TRACE_ID.matcher(traceId).matches()) {
+            return null;
+        }
+        return "00-" + traceId + "-" + HEX.toHexDigits(ThreadLocalRandom.current().nextLong() | 1) + "-01";
+    }
+
+    public void start(String traceId) {
+        if (enabled) {
+            CURRENT.set(new ActiveTrace(traceId, maxSpans));
+        }
+    }
+
+    public void finish(String method, String path, int status) {
+        ActiveTrace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+        CURRENT.remove();
+        TraceRecord record = trace.finish(method, path, status);
+        recent.add(record);
+        if (record.durationMicros() >= slowThresholdMillis * 1000) {
+            slow.add(record);
+        }
+    }
+
+    /**
+     * @return span handle for {@link #end}, negative when no trace is active
+     */
+    public static int begin(String name) {
+        ActiveTrace trace = CURRENT.get();
+        return trace == null ? -1 : trace.begin(name);
+    }
+
+    public static void end(int span) {
+        if (span >= 0) {
+            ActiveTrace trace = CURRENT.get();
+            if (trace != null) {
+                trace.end(span);
+            }
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public List<TraceRecord> slowest(int limit) {
+        return slow.snapshot().stream()
+                .sorted(Comparator.comparingLong(TraceRecord::durationMicros).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public Optional<TraceRecord> find(String traceId) {
+        return slow.snapshot().stream()
+                .filter(trace -> trace.traceId().equals(traceId))
+                .findFirst()
+                .or(() -> recent.snapshot().stream().filter(trace -> trace.traceId().equals(traceId)).findFirst());
+    }
+}
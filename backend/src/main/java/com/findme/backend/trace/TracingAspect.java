@@ -0,0 +1,49 @@
+package com.findme.backend.trace;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans for every {@code @Service} method and Spring Data repository call made while a
+ * request is being traced.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    // Spring Data proxies implement the repository interface first; name spans after it
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyClass) {
+            Class<?>[] interfaces = proxyClass.getInterfaces();
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : proxyClass.getSimpleName();
+        }
+    };
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        return proceed(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        return proceed(joinPoint, REPOSITORY_NAMES.get(joinPoint.getThis().getClass()));
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint, String owner) throws Throwable {
+        int span = Tracer.begin(owner + "." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Tracer.end(span);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.findme.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Minimal RFC 6902 JSON Patch support (add / remove / replace), enough to store
+ * document versions as deltas and replay them.
+ */
+public final class JsonPatch {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private JsonPatch() {
+    }
+
+    /**
+     * @return a patch that turns {@code source} into {@code target}
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode ops = NODES.arrayNode();
+        diff("", source, target, ops);
+        return ops;
+    }
+
+    /**
+     * Applies {@code patch} to a copy of {@code document}.
+     */
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        JsonNode root = document.deepCopy();
+        for (JsonNode op : patch) {
+            String path = op.get("path").asText();
+            String kind = op.get("op").asText();
+            if (path.isEmpty()) {
+                if (!"replace".equals(kind)) {
+                    throw new IllegalArgumentException("Unsupported root operation: " + kind);
+                }
+                root = op.get("value").deepCopy();
+                continue;
+            }
+            int slash = path.lastIndexOf('/');
+            JsonNode parent = resolve(root, path.substring(0, slash));
+            String token = unescape(path.substring(slash + 1));
+            switch (kind) {
+                case "add" -> add(parent, token, op.get("value").deepCopy());
+                case "remove" -> remove(parent, token);
+                case "replace" -> {
+                    remove(parent, token);
+                    add(parent, token, op.get("value").deepCopy());
+                }
+                default -> throw new IllegalArgumentException("Unsupported patch operation: " + kind);
+            }
+        }
+        return root;
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode ops) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String childPath = path + "/" + escape(field.getKey());
+                JsonNode targetValue = target.get(field.getKey());
+                if (targetValue == null) {
+                    ops.add(op("remove", childPath, null));
+                } else {
+                    diff(childPath, field.getValue(), targetValue, ops);
+                }
+            }
+            Iterator<Map.Entry<String, JsonNode>> added = target.fields();
+            while (added.hasNext()) {
+                Map.Entry<String, JsonNode> field = added.next();
+                if (!source.has(field.getKey())) {
+                    ops.add(op("add", path + "/" + escape(field.getKey()), field.getValue()));
+                }
+            }
+        } else if (source.isArray() && target.isArray()) {
+            int common = Math.min(source.size(), target.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, source.get(i), target.get(i), ops);
+            }
+            // Remove from the end so earlier indexes stay valid
+            for (int i = source.size() - 1; i >= common; i--) {
+                ops.add(op("remove", path + "/" + i, null));
+            }
+            for (int i = common; i < target.size(); i++) {
+                ops.add(op("add", path + "/" + i, target.get(i)));
+            }
+        } else {
+            ops.add(op("replace", path, target));
+        }
+    }
+
+    private static ObjectNode op(String kind, String path, JsonNode value) {
+        ObjectNode op = NODES.objectNode();
+        op.put("op", kind);
+        op.put("path", path);
+        if (value != null) {
+            op.set("value", value);
+        }
+        return op;
+    }
+
+    private static JsonNode resolve(JsonNode root, String pointer) {
+        JsonNode node = root;
+        if (pointer.isEmpty()) {
+            return node;
+        }
+        for (String token : pointer.substring(1).split("/", -1)) {
+            String key = unescape(token);
+            node = node.isArray() ? node.get(Integer.parseInt(key)) : node.get(key);
+            if (node == null) {
+                throw new IllegalArgumentException("Patch path not found: " + pointer);
+            }
+        }
+        return node;
+    }
+
+    private static void add(JsonNode parent, String token, JsonNode value) {
+        if (parent instanceof ObjectNode object) {
+            object.set(token, value);
+        } else if (parent instanceof ArrayNode array) {
+            if ("-".equals(token)) {
+                array.add(value);
+            } else {
+                array.insert(Integer.parseInt(token), value);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot add to a value node");
+        }
+    }
+
+    private static void remove(JsonNode parent, String token) {
+        if (parent instanceof ObjectNode object) {
+            object.remove(token);
+        } else if (parent instanceof ArrayNode array) {
+            array.remove(Integer.parseInt(token));
+        } else {
+            throw new IllegalArgumentException("Cannot remove from a value node");
+        }
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
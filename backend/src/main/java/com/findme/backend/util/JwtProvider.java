@@ -1,10 +1,12 @@
 package com.findme.backend.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.Jwts.SIG;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -18,6 +20,8 @@ import java.util.function.Function;
 @Component
 public class JwtProvider {
 
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -27,23 +31,47 @@ public class JwtProvider {
     @Value("${jwt.refresh-expiration-minutes}") // New property
     private long refreshExpirationMinutes; // New field
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        // Decode the key and build the parser once instead of on every call
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
     private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     public String generateToken(String subject) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, subject);
+        return generateToken(subject, null);
+    }
+
+    public String generateToken(String subject, Long userId) {
+        return createToken(userClaims(userId), subject);
     }
 
     public String generateRefreshToken(String subject) {
+        return generateRefreshToken(subject, null);
+    }
+
+    public String generateRefreshToken(String subject, Long userId) {
+        return createRefreshToken(userClaims(userId), subject);
+    }
+
+    private Map<String, Object> userClaims(Long userId) {
         Map<String, Object> claims = new HashMap<>();
-        return createRefreshToken(claims, subject);
+        if (userId != null) {
+            claims.put(USER_ID_CLAIM, userId);
+        }
+        return claims;
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
+                .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationMinutes * 60 * 1000)) // Convert minutes to milliseconds
@@ -53,6 +81,7 @@ public class JwtProvider {
 
     private String createRefreshToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
+                .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + refreshExpirationMinutes * 60 * 1000))
@@ -81,7 +110,26 @@ public class JwtProvider {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verifies signature and expiry in a single parse.
+     * Throws {@link io.jsonwebtoken.JwtException} (e.g. {@code ExpiredJwtException}) if the token is not valid.
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    /**
+     * @return the numeric user id carried in the token, or {@code null} for tokens issued without one
+     */
+    public Long extractUserId(Claims claims) {
+        Object uid = claims.get(USER_ID_CLAIM);
+        if (uid instanceof Number number) {
+            return number.longValue();
+        }
+        return null;
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
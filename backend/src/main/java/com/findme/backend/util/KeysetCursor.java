@@ -0,0 +1,51 @@
+package com.findme.backend.util;
+
+import com.findme.backend.exception.BizException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque cursor for keyset pagination over {@code (created_at DESC, id DESC)}.
+ * Clients treat it as a token; internally it is the last row's sort key.
+ */
+public final class KeysetCursor {
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public KeysetCursor(LocalDateTime createdAt, long id) {
+        // A cursor without a timestamp would not decode; callers must not build one
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BizException("INVALID_CURSOR", "Invalid pagination cursor");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+CREATE TABLE rate_limit_windows (
+    bucket_key VARCHAR(128) NOT NULL,
+    window_start BIGINT NOT NULL, -- epoch millis / window length
+    used BIGINT NOT NULL,
+    PRIMARY KEY (bucket_key, window_start)
+);
+CREATE INDEX idx_rate_limit_window_start ON rate_limit_windows(window_start);
@@ -0,0 +1,2 @@
+-- Supports keyset pagination on /api/results: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_results_created_at_id ON results(created_at DESC, id DESC);
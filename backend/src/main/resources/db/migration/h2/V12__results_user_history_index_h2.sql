@@ -0,0 +1,7 @@
+-- Per-user history (/api/results/me). Trailing columns make the indexes covering for the list projection,
+-- so listing never touches the row (and its poem/traits text).
+CREATE INDEX idx_results_user_created_id ON results(user_id, created_at DESC, id DESC, test_code, score);
+CREATE INDEX idx_results_user_test_created_id ON results(user_id, test_code, created_at DESC, id DESC, score);
+
+-- Superseded by the composite indexes above (same leading column)
+DROP INDEX idx_results_user_id;
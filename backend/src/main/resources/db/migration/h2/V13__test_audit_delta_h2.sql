@@ -0,0 +1,7 @@
+-- Audit snapshots are stored as a full keyframe or as a JSON Patch against base_id.
+-- encoding: 'json' (legacy plain text) or 'gzip+b64'.
+ALTER TABLE test_audit ADD COLUMN kind VARCHAR(8) DEFAULT 'FULL' NOT NULL;
+ALTER TABLE test_audit ADD COLUMN base_id BIGINT;
+ALTER TABLE test_audit ADD COLUMN encoding VARCHAR(16) DEFAULT 'json' NOT NULL;
+
+CREATE INDEX idx_test_audit_code_version ON test_audit(code, version, id);
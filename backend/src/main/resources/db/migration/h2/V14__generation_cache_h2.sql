@@ -0,0 +1,12 @@
+-- AI generations shared by results whose quantized trait vectors fall in the same bucket.
+-- bucket: '<axes>:<levels>', e.g. 'A,B,C:6,7,8'
+CREATE TABLE generation_cache (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    test_code VARCHAR(64) NOT NULL,
+    template_version INT NOT NULL,
+    bucket VARCHAR(255) NOT NULL,
+    poem TEXT,
+    img_prompt TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+CREATE UNIQUE INDEX idx_generation_cache_bucket ON generation_cache(test_code, template_version, bucket);
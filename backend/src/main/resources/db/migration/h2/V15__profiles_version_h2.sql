@@ -0,0 +1,3 @@
+-- profiles.traits holds the running per-user aggregate written by ProfileService.
+-- version guards the read-merge-write of a flush against concurrent nodes.
+ALTER TABLE profiles ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,4 @@
+-- Keyset cursors on /api/results are (created_at, id); a row without created_at has no
+-- position in that order. Backfill any such rows and forbid new ones.
+UPDATE results SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE results ALTER COLUMN created_at SET NOT NULL;
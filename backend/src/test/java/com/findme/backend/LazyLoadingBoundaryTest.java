@@ -0,0 +1,85 @@
+package com.findme.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.AnswerDto;
+import com.findme.backend.dto.ResultDto;
+import com.findme.backend.dto.SubmissionDto;
+import com.findme.backend.dto.TestResponseDto;
+import com.findme.backend.entity.Question;
+import com.findme.backend.repository.QuestionRepository;
+import com.findme.backend.service.TestService;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the "no open-session-in-view" rule: nothing keeps a persistence context open
+ * across a request, so a lazy association touched after its transaction must fail here
+ * rather than silently holding a pooled connection in production.
+ */
+@SpringBootTest(properties = {
+        // Offline: no OAuth issuer discovery
+        "spring.security.oauth2.client.provider.google.issuer-uri=",
+        "GOOGLE_CLIENT_ID=test",
+        "GOOGLE_CLIENT_SECRET=test"
+})
+class LazyLoadingBoundaryTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void openInViewIsDisabled() {
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    void lazyAssociationOutsideTransactionFails() {
+        List<Question> questions = questionRepository.findAll();
+        assertFalse(questions.isEmpty());
+
+        Question question = questions.get(0);
+        assertThrows(LazyInitializationException.class, () -> question.getTest().getTitle());
+    }
+
+    @Test
+    void serviceResultsSerializeWithoutASession() {
+        TestResponseDto test = testService.getTestByCode("mbti_v1").orElseThrow();
+        assertDoesNotThrow(() -> objectMapper.writeValueAsString(test));
+
+        SubmissionDto submission = new SubmissionDto();
+        List<AnswerDto> answers = new ArrayList<>();
+        test.getQuestions().forEach(q -> {
+            AnswerDto answer = new AnswerDto();
+            answer.setQuestionId(q.getId());
+            answer.setValue(3);
+            answers.add(answer);
+        });
+        submission.setAnswers(answers);
+
+        ResultDto result = testService.calculateResult("mbti_v1", submission);
+        assertNotNull(result.getId());
+        assertDoesNotThrow(() -> objectMapper.writeValueAsString(result));
+    }
+}
@@ -0,0 +1,204 @@
+package com.findme.backend.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.AiGenerateRequest;
+import com.findme.backend.dto.AiGenerateResponse;
+import com.findme.backend.exception.AiServiceException;
+import com.findme.backend.filter.RequestIdFilter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiClientTest {
+
+    private static final String OK_BODY = "{\"poem\":\"봄\",\"img_prompt\":\"spring\",\"moderation\":{\"safe\":true,\"flags\":[]}}";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicReference<String> lastRequestId = new AtomicReference<>();
+    // Behaviour of the stub for the current test: (call number) -> handled
+    private volatile StubBehaviour behaviour = (exchange, call) -> respond(exchange, 200, OK_BODY);
+
+    interface StubBehaviour {
+        void handle(HttpExchange exchange, int call) throws Exception;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext(AiClient.GENERATE_PATH, exchange -> {
+            lastRequestId.set(exchange.getRequestHeaders().getFirst(RequestIdFilter.REQUEST_ID_HEADER));
+            exchange.getRequestBody().readAllBytes();
+            try {
+                behaviour.handle(exchange, calls.incrementAndGet());
+            } catch (Exception e) {
+                exchange.close();
+            }
+        });
+        server.createContext(AiClient.STREAM_PATH, exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    for (String line : new String[]{"{\"delta\":\"봄\"}", "{\"delta\":\"비\"}",
+                            "{\"done\":true,\"poem\":\"봄비\",\"img_prompt\":null,\"moderation\":{\"safe\":true,\"flags\":[]}}"}) {
+                        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        Thread.sleep(50);
+                    }
+                }
+            } catch (Exception e) {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void returnsResponseAndPropagatesRequestId() throws Exception {
+        MDC.put(RequestIdFilter.REQUEST_ID_MDC_KEY, "req-123");
+
+        AiGenerateResponse response = client(properties()).generate(new AiGenerateRequest()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("봄", response.getPoem());
+        assertEquals("spring", response.getImgPrompt());
+        assertEquals("req-123", lastRequestId.get());
+    }
+
+    @Test
+    void retriesServerErrorsUntilSuccess() throws Exception {
+        behaviour = (exchange, call) -> respond(exchange, call < 3 ? 503 : 200, call < 3 ? "{}" : OK_BODY);
+
+        AiGenerateResponse response = client(properties()).generate(new AiGenerateRequest()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("봄", response.getPoem());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        behaviour = (exchange, call) -> respond(exchange, 422, "{}");
+
+        assertEquals("AI_ERROR", failureCode(client(properties()).generate(new AiGenerateRequest())));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void slowResponsesHitTheDeadline() {
+        behaviour = (exchange, call) -> {
+            Thread.sleep(2_000);
+            respond(exchange, 200, OK_BODY);
+        };
+        AiClientProperties properties = properties();
+        properties.setAttemptTimeoutMillis(150);
+        properties.setDeadlineMillis(400);
+
+        long start = System.nanoTime();
+        assertEquals("AI_TIMEOUT", failureCode(client(properties).generate(new AiGenerateRequest())));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_500);
+    }
+
+    @Test
+    void rejectsCallsBeyondConcurrencyLimit() throws Exception {
+        behaviour = (exchange, call) -> {
+            Thread.sleep(300);
+            respond(exchange, 200, OK_BODY);
+        };
+        AiClientProperties properties = properties();
+        properties.setMaxConcurrency(1);
+        AiClient client = client(properties);
+
+        CompletableFuture<AiGenerateResponse> first = client.generate(new AiGenerateRequest());
+        assertEquals("AI_BUSY", failureCode(client.generate(new AiGenerateRequest())));
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(0, client.inFlight());
+    }
+
+    @Test
+    void breakerOpensAfterConsecutiveFailures() {
+        behaviour = (exchange, call) -> respond(exchange, 500, "{}");
+        AiClientProperties properties = properties();
+        properties.setMaxAttempts(1);
+        properties.setBreakerFailureThreshold(2);
+        AiClient client = client(properties);
+
+        assertEquals("AI_ERROR", failureCode(client.generate(new AiGenerateRequest())));
+        assertEquals("AI_ERROR", failureCode(client.generate(new AiGenerateRequest())));
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitState());
+
+        // Rejected without reaching the server
+        assertEquals("AI_UNAVAILABLE", failureCode(client.generate(new AiGenerateRequest())));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void streamsFragmentsBeforeCompleting() throws Exception {
+        List<String> fragments = new CopyOnWriteArrayList<>();
+
+        AiGenerateResponse response = client(properties())
+                .generateStream(new AiGenerateRequest(), fragments::add)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("봄", "비"), fragments);
+        assertEquals("봄비", response.getPoem());
+    }
+
+    private AiClientProperties properties() {
+        AiClientProperties properties = new AiClientProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setBackoffBaseMillis(10);
+        properties.setBackoffMaxMillis(50);
+        return properties;
+    }
+
+    private static AiClient client(AiClientProperties properties) {
+        return new AiClient(properties, new ObjectMapper());
+    }
+
+    private static String failureCode(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return assertInstanceOf(AiServiceException.class, e.getCause()).getCode();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
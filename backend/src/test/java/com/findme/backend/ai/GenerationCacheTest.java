@@ -0,0 +1,143 @@
+package com.findme.backend.ai;
+
+import com.findme.backend.dto.AiGenerateResponse;
+import com.findme.backend.entity.GenerationCacheEntry;
+import com.findme.backend.repository.GenerationCacheRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GenerationCacheTest {
+
+    private static final String CODE = "mbti_v1";
+
+    private final GenerationCacheRepository repository = mock(GenerationCacheRepository.class);
+    // Writes queued here run only when the test says so
+    private final List<Runnable> writes = new ArrayList<>();
+
+    @Test
+    void traitsInTheSameBucketShareAGeneration() {
+        GenerationCache cache = cache(1, writes::add);
+        cache.store(CODE, Map.of("E", 15.0, "I", 27.0), response("봄"), 1_000_000);
+        runWrites();
+
+        assertEquals("봄", cache.lookup(CODE, Map.of("I", 20.0, "E", 19.9)).orElseThrow().getPoem());
+        assertEquals(1, cache.stats().getExactHits());
+        // Served from memory: the row is never read back
+        verify(repository, never()).findByTestCodeAndTemplateVersionAndBucket(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    void neighbouringBucketIsASimilarHitAndFurtherAwayIsAMiss() {
+        GenerationCache cache = cache(1, writes::add);
+        cache.store(CODE, Map.of("E", 15.0, "I", 27.0), response("봄"), 1_000_000);
+        runWrites();
+
+        assertTrue(cache.lookup(CODE, Map.of("E", 25.0, "I", 35.0)).isPresent()); // levels 2,3: one away
+        assertTrue(cache.lookup(CODE, Map.of("E", 35.0, "I", 27.0)).isEmpty()); // level 3 on E: two away
+        assertTrue(cache.lookup(CODE, Map.of("E", 15.0, "I", 27.0, "S", 1.0)).isEmpty()); // other axes
+        assertTrue(cache.lookup("other", Map.of("E", 15.0, "I", 27.0)).isEmpty());
+        assertEquals(1, cache.stats().getSimilarHits());
+        assertEquals(3, cache.stats().getMisses());
+    }
+
+    @Test
+    void storedRowsOnlyMatchTheirTemplateVersion() {
+        GenerationCacheEntry row = new GenerationCacheEntry(1L, CODE, 1, "E,I:1,2", "봄", "spring", LocalDateTime.now());
+        when(repository.findBuckets(CODE, 1)).thenReturn(List.of(row.getBucket()));
+        when(repository.findBuckets(CODE, 2)).thenReturn(List.of());
+        when(repository.findByTestCodeAndTemplateVersionAndBucket(CODE, 1, "E,I:1,2")).thenReturn(Optional.of(row));
+
+        GenerationCache current = cache(1, Runnable::run);
+        GenerationCache bumped = cache(2, Runnable::run);
+
+        assertEquals("봄", current.lookup(CODE, Map.of("E", 15.0, "I", 27.0)).orElseThrow().getPoem());
+        assertTrue(bumped.lookup(CODE, Map.of("E", 15.0, "I", 27.0)).isEmpty());
+        verify(repository, never()).findByTestCodeAndTemplateVersionAndBucket(anyString(), eq(2), anyString());
+    }
+
+    @Test
+    void storedBucketsAreIndexedByOneQueryPerTraitSpace() {
+        List<String> stored = new ArrayList<>();
+        for (int level = 0; level < 1_000; level++) {
+            stored.add("E,I:" + level + "," + level);
+        }
+        stored.add("E,I:5,5"); // duplicate row
+        stored.add("E,I,S:5,5,5"); // other trait space
+        when(repository.findBuckets(CODE, 1)).thenReturn(stored);
+        when(repository.findByTestCodeAndTemplateVersionAndBucket(CODE, 1, "E,I:500,500")).thenReturn(Optional.of(
+                new GenerationCacheEntry(1L, CODE, 1, "E,I:500,500", "봄", "spring", LocalDateTime.now())));
+        GenerationCache cache = cache(1, writes::add);
+
+        // Levels 501,499: only 500,500 is within one level on every axis
+        assertEquals("봄", cache.lookup(CODE, Map.of("E", 5_015.0, "I", 4_995.0)).orElseThrow().getPoem());
+        assertTrue(cache.lookup(CODE, Map.of("E", 5_015.0, "I", 4_995.0)).isPresent());
+        assertEquals(1_000, cache.stats().getIndexedBuckets());
+        verify(repository, times(1)).findBuckets(CODE, 1);
+
+        cache.store(CODE, Map.of("E", 20_000.0, "I", 20_000.0), response("여름"), 1_000_000);
+        runWrites();
+        assertEquals(1_001, cache.stats().getIndexedBuckets());
+    }
+
+    @Test
+    void rowIsWrittenOnTheExecutorNotTheCallingThread() {
+        GenerationCache cache = cache(1, writes::add);
+
+        cache.store(CODE, Map.of("E", 15.0, "I", 27.0), response("봄"), 1_000_000);
+
+        verify(repository, never()).save(any());
+        assertTrue(cache.lookup(CODE, Map.of("E", 15.0, "I", 27.0)).isPresent()); // memory already has it
+        runWrites();
+        verify(repository).save(any(GenerationCacheEntry.class));
+    }
+
+    @Test
+    void flaggedGenerationIsNeverStored() {
+        GenerationCache cache = cache(1, writes::add);
+        AiGenerateResponse flagged = new AiGenerateResponse("poem", "prompt",
+                new AiGenerateResponse.Moderation(false, List.of("violence")));
+
+        cache.store(CODE, Map.of("E", 15.0, "I", 27.0), flagged, 1_000_000);
+
+        assertTrue(writes.isEmpty());
+        assertTrue(cache.lookup(CODE, Map.of("E", 15.0, "I", 27.0)).isEmpty());
+    }
+
+    private GenerationCache cache(int templateVersion, Executor writer) {
+        GenerationCache cache = new GenerationCache(repository, writer);
+        ReflectionTestUtils.setField(cache, "templateVersion", templateVersion);
+        ReflectionTestUtils.setField(cache, "quantum", 10.0);
+        ReflectionTestUtils.setField(cache, "maxDistance", 1);
+        ReflectionTestUtils.setField(cache, "memorySize", 100);
+        cache.init();
+        return cache;
+    }
+
+    private void runWrites() {
+        writes.forEach(Runnable::run);
+        writes.clear();
+    }
+
+    private static AiGenerateResponse response(String poem) {
+        return new AiGenerateResponse(poem, "prompt", new AiGenerateResponse.Moderation());
+    }
+}
@@ -0,0 +1,95 @@
+package com.findme.backend.cache;
+
+import com.findme.backend.entity.Entitlement;
+import com.findme.backend.repository.EntitlementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntitlementCacheTest {
+
+    private static final Long USER_ID = 42L;
+
+    private final EntitlementRepository repository = mock(EntitlementRepository.class);
+    private final EntitlementCache cache = new EntitlementCache(repository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        cache.init();
+    }
+
+    @Test
+    void grantDuringLoadDiscardsTheStaleSnapshot() {
+        List<Entitlement> paid = List.of(new Entitlement(1L, USER_ID, "hires_download", null, LocalDateTime.now()));
+        when(repository.findByUserId(USER_ID))
+                .thenAnswer(invocation -> {
+                    // The payment commits while this read is in flight: it saw the rows before it
+                    cache.grant(USER_ID);
+                    return List.of();
+                })
+                .thenReturn(paid);
+
+        assertFalse(cache.hasEntitlement(USER_ID, "hires_download"));
+        // The stale empty set was not cached, so the committed row is loaded
+        assertTrue(cache.hasEntitlement(USER_ID, "hires_download"));
+        assertTrue(cache.hasEntitlement(USER_ID, "hires_download"));
+        verify(repository, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void grantAfterLoadReloadsOnNextRead() {
+        when(repository.findByUserId(USER_ID))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new Entitlement(1L, USER_ID, "hires_download", null, LocalDateTime.now())));
+
+        assertFalse(cache.hasEntitlement(USER_ID, "hires_download"));
+        assertFalse(cache.hasEntitlement(USER_ID, "hires_download")); // cached
+        cache.grant(USER_ID);
+
+        assertTrue(cache.hasEntitlement(USER_ID, "hires_download"));
+        verify(repository, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void expiredEntitlementsAreFilteredAtReadTime() {
+        when(repository.findByUserId(USER_ID)).thenReturn(List.of(
+                new Entitlement(1L, USER_ID, "hires_download", LocalDateTime.now().minusMinutes(1), LocalDateTime.now()),
+                new Entitlement(2L, USER_ID, "premium", null, LocalDateTime.now())));
+
+        assertFalse(cache.hasEntitlement(USER_ID, "hires_download"));
+        assertEquals(List.of("premium"), cache.getActiveItemCodes(USER_ID));
+    }
+
+    @Test
+    void ttlCacheSkipsPutWhenInvalidatedDuringLoad() {
+        TtlCache<String, String> ttlCache = new TtlCache<>(Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        String value = ttlCache.getOrLoad("k", key -> {
+            loads.incrementAndGet();
+            ttlCache.invalidate("other"); // any invalidation makes an in-flight load suspect
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(ttlCache.get("k"));
+        assertEquals("fresh", ttlCache.getOrLoad("k", key -> "fresh"));
+        assertEquals("fresh", ttlCache.get("k"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.findme.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.TestDefImportRequest;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.repository.TestDefRepository;
+import com.findme.backend.repository.TestRepository;
+import com.findme.backend.service.TestDefService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // Offline: no OAuth issuer discovery
+        "spring.security.oauth2.client.provider.google.issuer-uri=",
+        "GOOGLE_CLIENT_ID=test",
+        "GOOGLE_CLIENT_SECRET=test",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    private static final String CODE = "l2c_probe";
+
+    @Autowired
+    private TestDefService testDefService;
+
+    @Autowired
+    private TestDefRepository testDefRepository;
+
+    @Autowired
+    private TestRepository testRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedTestLookupsAreServedFromTheCache() {
+        testRepository.findByCode("mbti_v1").orElseThrow();
+        long queries = statistics.getPrepareStatementCount();
+
+        testRepository.findByCode("mbti_v1").orElseThrow();
+
+        assertEquals(queries, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+    }
+
+    @Test
+    void publishInvalidatesThePublishedVersionQuery() throws Exception {
+        testDefService.saveDraft(request(1), "test");
+        testDefService.publishTestDef(CODE, 1, "test");
+
+        assertEquals(1, testDefRepository.findByCodeAndStatus(CODE, "PUBLISHED").orElseThrow().getVersion());
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals(1, testDefRepository.findByCodeAndStatus(CODE, "PUBLISHED").orElseThrow().getVersion());
+        assertEquals(hits + 1, statistics.getQueryCacheHitCount());
+
+        // Publishing v2 archives v1; neither the query nor the v1 entity may be served stale
+        testDefService.saveDraft(request(2), "test");
+        testDefService.publishTestDef(CODE, 2, "test");
+
+        assertEquals(2, testDefRepository.findByCodeAndStatus(CODE, "PUBLISHED").orElseThrow().getVersion());
+        TestDef archived = testDefRepository.findByCodeAndVersion(CODE, 1).orElseThrow();
+        assertEquals("ARCHIVED", testDefRepository.findById(archived.getId()).orElseThrow().getStatus());
+    }
+
+    private TestDefImportRequest request(int version) throws Exception {
+        return new TestDefImportRequest(CODE, "L2 probe", version,
+                objectMapper.readTree("[{\"body\":\"q\",\"choices\":[{\"value\":\"A\",\"weight\":1}]}]"),
+                objectMapper.readTree("{}"));
+    }
+}
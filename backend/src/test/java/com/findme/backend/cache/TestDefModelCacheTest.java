@@ -0,0 +1,88 @@
+package com.findme.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.model.TestDefinition;
+import com.findme.backend.repository.TestDefRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestDefModelCacheTest {
+
+    private static final String CODE = "model_probe";
+
+    private final TestDefRepository repository = mock(TestDefRepository.class);
+    private final TestDefModelCache cache = new TestDefModelCache(repository);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int version = 1; version <= 3; version++) {
+            TestDef row = new TestDef((long) version, CODE, version, "Probe v" + version, "PUBLISHED",
+                    objectMapper.readTree("[]"), objectMapper.readTree("{\"type\":\"sum\"}"),
+                    LocalDateTime.now(), LocalDateTime.now());
+            when(repository.findByCodeAndVersion(CODE, version)).thenReturn(Optional.of(row));
+        }
+        ReflectionTestUtils.setField(cache, "publishedTtlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxModels", 2);
+        cache.init();
+    }
+
+    @Test
+    void modelsAreBoundedLeastRecentlyReadFirst() {
+        TestDefinition v1 = cache.get(CODE, 1).orElseThrow();
+        cache.get(CODE, 2);
+        assertSame(v1, cache.get(CODE, 1).orElseThrow()); // v2 is now the least recently read
+        cache.get(CODE, 3);
+
+        assertEquals(2, cache.modelCount());
+        assertSame(v1, cache.get(CODE, 1).orElseThrow());
+        cache.get(CODE, 2); // evicted by v3, parsed again
+        verify(repository, times(1)).findByCodeAndVersion(CODE, 1);
+        verify(repository, times(2)).findByCodeAndVersion(CODE, 2);
+    }
+
+    @Test
+    void draftsAreParsedOnEveryReadAndNeverCached() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TestDef draft = new TestDef(4L, CODE, 4, "Probe v4", "DRAFT",
+                objectMapper.readTree("[]"), objectMapper.readTree("{\"type\":\"sum\"}"),
+                LocalDateTime.now(), LocalDateTime.now());
+        when(repository.findByCodeAndVersion(CODE, 4)).thenReturn(Optional.of(draft));
+
+        assertEquals("Probe v4", cache.get(CODE, 4).orElseThrow().getTitle());
+        draft.setTitle("Probe v4 edited"); // replaced in place, e.g. on another node
+        assertEquals("Probe v4 edited", cache.get(CODE, 4).orElseThrow().getTitle());
+
+        assertEquals(0, cache.modelCount());
+        verify(repository, times(2)).findByCodeAndVersion(CODE, 4);
+
+        draft.setStatus("PUBLISHED");
+        TestDefinition published = cache.get(CODE, 4).orElseThrow();
+        assertSame(published, cache.get(CODE, 4).orElseThrow());
+        verify(repository, times(3)).findByCodeAndVersion(CODE, 4);
+    }
+
+    @Test
+    void missingVersionIsNotCached() {
+        assertTrue(cache.get(CODE, 9).isEmpty());
+        assertTrue(cache.get(CODE, 9).isEmpty());
+
+        assertEquals(0, cache.modelCount());
+        verify(repository, times(2)).findByCodeAndVersion(eq(CODE), anyInt());
+    }
+}
@@ -0,0 +1,210 @@
+package com.findme.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static com.findme.backend.support.QueryCountAssertions.assertQueryCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exact JDBC statement counts per endpoint, so an accidental lazy load or extra lookup
+ * fails the build. Read endpoints are called once first and measured on the second call:
+ * the budget is the steady state, with the second-level and in-memory caches warm.
+ */
+@SpringBootTest(properties = {
+        // Offline: no OAuth issuer discovery
+        "spring.security.oauth2.client.provider.google.issuer-uri=",
+        "GOOGLE_CLIENT_ID=test",
+        "GOOGLE_CLIENT_SECRET=test",
+        // The shared quota store would add its own statements
+        "rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class ControllerQueryCountTest {
+
+    private static final String PASSWORD = "query-count-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${admin.token}")
+    private String adminToken;
+
+    private String accessToken;
+    private String refreshToken;
+
+    @BeforeEach
+    void signUpAndLogIn() throws Exception {
+        String email = "qc-" + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(signup(email)).andExpect(status().isOk());
+        JsonNode tokens = json(mockMvc.perform(login(email)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        accessToken = tokens.get("accessToken").asText();
+        refreshToken = tokens.get("refreshToken").asText();
+    }
+
+    @Test
+    void authController() throws Exception {
+        String other = "qc-" + UUID.randomUUID() + "@example.com";
+        // Email lookup + insert
+        assertQueryCount(2, () -> mockMvc.perform(signup(other)).andExpect(status().isOk()));
+        // User lookup + refresh token insert
+        assertQueryCount(2, () -> mockMvc.perform(login(other)).andExpect(status().isOk()));
+        // Token lookup + new token insert + revoke
+        assertQueryCount(3, () -> mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void userController() throws Exception {
+        // Profile cached at login
+        assertQueryCount(0, () -> mockMvc.perform(authed(get("/api/me"))).andExpect(status().isOk()));
+        // Single profile row; buffered results are merged in memory
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/me/profile"))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void testController() throws Exception {
+        mockMvc.perform(authed(get("/api/tests/mbti_v1"))).andExpect(status().isOk());
+        // Test, question ids and questions all from the second-level cache
+        assertQueryCount(0, () -> mockMvc.perform(authed(get("/api/tests/mbti_v1"))).andExpect(status().isOk()));
+
+        submit();
+        // Only the result insert; the profile update is buffered
+        assertQueryCount(1, this::submit);
+    }
+
+    @Test
+    void resultController() throws Exception {
+        long resultId = submit();
+
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/results/" + resultId))).andExpect(status().isOk()));
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/results?size=5"))).andExpect(status().isOk()));
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/results/me?size=5"))).andExpect(status().isOk()));
+        // The result's traits; neighbours come from the in-memory index
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/results/" + resultId + "/similar"))).andExpect(status().isOk()));
+        // Existence check; the entitlement check is in memory
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/download/" + resultId).param("quality", "free")))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void ogController() throws Exception {
+        long resultId = submit();
+        // One projection query, nothing during rendering
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/og/" + resultId + ".png"))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void generationJobController() throws Exception {
+        assertQueryCount(0, () -> mockMvc.perform(authed(get("/api/poem-jobs/" + UUID.randomUUID())))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void billingController() throws Exception {
+        // Purchase insert + entitlement lookup + entitlement insert (or update on a repeat purchase)
+        assertQueryCount(3, () -> mockMvc.perform(authed(post("/api/pay/mock"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemCode\":\"hires_download\",\"amount\":1000}"))
+                .andExpect(status().isOk()));
+        assertQueryCount(3, () -> mockMvc.perform(authed(post("/api/pay/mock"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemCode\":\"hires_download\",\"amount\":1000}"))
+                .andExpect(status().isOk()));
+
+        mockMvc.perform(authed(get("/api/entitlements/me"))).andExpect(status().isOk());
+        assertQueryCount(0, () -> mockMvc.perform(authed(get("/api/entitlements/me"))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void analyticsController() throws Exception {
+        String batch = "{\"items\":["
+                + "{\"eventName\":\"test_start\",\"payload\":{\"test\":\"mbti_v1\"},\"ts\":\"2024-05-01T10:00:00\",\"sessionId\":\"s1\"},"
+                + "{\"eventName\":\"test_submit\",\"payload\":{},\"ts\":\"2024-05-01T10:03:00\",\"sessionId\":\"s1\"}]}";
+        // One insert per event: identity keys rule out JDBC batching
+        assertQueryCount(2, () -> mockMvc.perform(authed(post("/api/analytics/batch"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk()));
+        assertQueryCount(1, () -> mockMvc.perform(authed(get("/api/analytics/summary"))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void publicAndHealthControllers() throws Exception {
+        assertQueryCount(0, () -> mockMvc.perform(get("/api/public/ping")).andExpect(status().isOk()));
+        // The db health check validates a connection without running a statement
+        assertQueryCount(0, () -> mockMvc.perform(get("/api/health")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void adminControllers() throws Exception {
+        // Metadata projection, no CLOBs
+        assertQueryCount(1, () -> mockMvc.perform(admin(get("/api/admin/tests").param("code", "mbti")))
+                .andExpect(status().isOk()));
+        assertQueryCount(0, () -> mockMvc.perform(admin(get("/api/admin/ai/generation-cache"))).andExpect(status().isOk()));
+        assertQueryCount(0, () -> mockMvc.perform(admin(get("/api/admin/traces/slow"))).andExpect(status().isOk()));
+        assertQueryCount(0, () -> mockMvc.perform(admin(get("/api/admin/db/queries"))).andExpect(status().isOk()));
+        assertQueryCount(0, () -> mockMvc.perform(admin(get("/api/admin/db/statistics"))).andExpect(status().isOk()));
+    }
+
+    private long submit() throws Exception {
+        JsonNode test = json(mockMvc.perform(authed(get("/api/tests/mbti_v1"))).andReturn().getResponse().getContentAsString());
+        StringBuilder answers = new StringBuilder();
+        for (JsonNode question : test.get("questions")) {
+            if (!answers.isEmpty()) {
+                answers.append(',');
+            }
+            answers.append("{\"questionId\":\"").append(question.get("id").asText()).append("\",\"value\":4}");
+        }
+        String body = mockMvc.perform(authed(post("/api/tests/mbti_v1/submit"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"answers\":[" + answers + "]}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return json(body).get("id").asLong();
+    }
+
+    private MockHttpServletRequestBuilder signup(String address) throws Exception {
+        return post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "email", address, "password", PASSWORD, "nickname", "qc")));
+    }
+
+    private MockHttpServletRequestBuilder login(String address) throws Exception {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", address, "password", PASSWORD)));
+    }
+
+    private MockHttpServletRequestBuilder authed(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + accessToken);
+    }
+
+    private MockHttpServletRequestBuilder admin(MockHttpServletRequestBuilder request) {
+        return authed(request).header("X-Admin-Token", adminToken);
+    }
+
+    private JsonNode json(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,29 @@
+package com.findme.backend.controller;
+
+import com.findme.backend.exception.BizException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void stateConflictsAre409() {
+        assertEquals(HttpStatus.CONFLICT, status("EMAIL_TAKEN"));
+        assertEquals(HttpStatus.CONFLICT, status("JFR_ALREADY_RUNNING"));
+        assertEquals(HttpStatus.CONFLICT, status("JFR_NOT_RUNNING"));
+    }
+
+    @Test
+    void otherBusinessErrorsAre400() {
+        assertEquals(HttpStatus.BAD_REQUEST, status("JFR_INVALID_SETTINGS"));
+        assertEquals(HttpStatus.BAD_REQUEST, status("INVALID_CURSOR"));
+    }
+
+    private HttpStatus status(String code) {
+        return HttpStatus.valueOf(handler.handleBizException(new BizException(code, "message")).getStatusCode().value());
+    }
+}
@@ -0,0 +1,188 @@
+package com.findme.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pagination over (created_at DESC, id DESC): pages must neither skip nor repeat
+ * rows, even when many rows share a timestamp or rows are inserted between requests.
+ */
+@SpringBootTest(properties = {
+        // Offline: no OAuth issuer discovery
+        "spring.security.oauth2.client.provider.google.issuer-uri=",
+        "GOOGLE_CLIENT_ID=test",
+        "GOOGLE_CLIENT_SECRET=test",
+        "rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class ResultPaginationTest {
+
+    private static final String PASSWORD = "pagination-1";
+    private static final String CODE = "page_probe";
+    // Later than every seeded row, so the probe rows are the head of the global listing
+    private static final LocalDateTime T = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String accessToken;
+    private long userId;
+
+    @BeforeEach
+    void signUpAndLogIn() throws Exception {
+        String email = "page-" + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD, "nickname", "page"))))
+                .andExpect(status().isOk());
+        accessToken = json(mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn()).get("accessToken").asText();
+        userId = json(mockMvc.perform(authed(get("/api/me"))).andExpect(status().isOk()).andReturn()).get("id").asLong();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM results WHERE test_code LIKE 'page_probe%'");
+    }
+
+    @Test
+    void equalTimestampsArePagedByIdWithoutSkipsOrDuplicates() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, insert(userId, CODE, T));
+        }
+        List<Long> older = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            older.add(0, insert(userId, CODE, T.minusMinutes(1)));
+        }
+        expected.addAll(older);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        boolean first = true;
+        while (seen.size() < expected.size()) {
+            JsonNode page = page("/api/results", cursor, null);
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = nextCursor(page);
+            assertFalse(cursor == null && seen.size() < expected.size(), "listing ended early");
+            if (first) {
+                // Mid-scroll inserts sort ahead of the cursor: later pages must not shift
+                insert(userId, CODE, T);
+                insert(userId, CODE, T.plusSeconds(1));
+                first = false;
+            }
+        }
+
+        assertEquals(expected, seen.subList(0, expected.size()));
+    }
+
+    @Test
+    void malformedCursorIsAClientError() throws Exception {
+        mockMvc.perform(authed(get("/api/results")).param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void myResultsAreOnlyTheCallersAndContinueAcrossPages() throws Exception {
+        List<Long> mine = new ArrayList<>();
+        List<Long> mineB = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            mine.add(0, insert(userId, CODE, T));
+            mineB.add(0, insert(userId, CODE + "_b", T));
+            insert(null, CODE, T); // anonymous
+            insert(userId + 1_000_000, CODE, T); // someone else
+        }
+        List<Long> all = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            all.add(mineB.get(i));
+            all.add(mine.get(i));
+        }
+
+        assertEquals(all, readAll("/api/results/me", null));
+        assertEquals(mine, readAll("/api/results/me", CODE));
+        assertEquals(mineB, readAll("/api/results/me", CODE + "_b"));
+        assertEquals(List.of(), readAll("/api/results/me", CODE + "_none"));
+    }
+
+    @Test
+    void myResultsNeedAUser() throws Exception {
+        mockMvc.perform(get("/api/results/me")).andExpect(status().isUnauthorized());
+    }
+
+    // Every page of a listing that ends (nextCursor null) within the probe rows
+    private List<Long> readAll(String path, String testCode) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page(path, cursor, testCode);
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = nextCursor(page);
+        } while (cursor != null);
+        return seen;
+    }
+
+    private JsonNode page(String path, String cursor, String testCode) throws Exception {
+        MockHttpServletRequestBuilder request = authed(get(path)).param("size", "2");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        if (testCode != null) {
+            request.param("testCode", testCode);
+        }
+        return json(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+    }
+
+    private static String nextCursor(JsonNode page) {
+        JsonNode cursor = page.get("nextCursor");
+        return cursor.isNull() ? null : cursor.asText();
+    }
+
+    private long insert(Long owner, String testCode, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO results (user_id, test_code, score, created_at) VALUES (?, ?, 0, ?)",
+                owner, testCode, Timestamp.valueOf(createdAt));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM results", Long.class);
+    }
+
+    private MockHttpServletRequestBuilder authed(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + accessToken);
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
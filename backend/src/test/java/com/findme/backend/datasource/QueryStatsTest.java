@@ -0,0 +1,22 @@
+package com.findme.backend.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryStatsTest {
+
+    @Test
+    void fingerprintDropsLiteralsButKeepsAliases() {
+        assertEquals("select r1_0.id from results r1_0 where r1_0.test_code=? and r1_0.score>? limit ?",
+                QueryStats.fingerprint("select r1_0.id from results r1_0\n  where r1_0.test_code='mbti_v1' and r1_0.score>72.5 limit 10"));
+    }
+
+    @Test
+    void fingerprintCollapsesInListsAndEscapedQuotes() {
+        assertEquals("select * from users where email=? and id in (?...)",
+                QueryStats.fingerprint("select * from users where email='o''brien@x.io' and id in (?, ?,?)"));
+        assertEquals(QueryStats.fingerprint("delete from t where id in (?, ?)"),
+                QueryStats.fingerprint("delete from t where id in (1, 2, 3)"));
+    }
+}
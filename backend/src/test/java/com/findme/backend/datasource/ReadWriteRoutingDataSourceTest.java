@@ -0,0 +1,99 @@
+package com.findme.backend.datasource;
+
+import com.findme.backend.auth.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaSet replicaSet;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        // Two independent in-memory H2 instances play primary and replica
+        primary = markedDatabase("primary");
+        replica = markedDatabase("replica");
+
+        replicaSet = new ReplicaSet(1000);
+        replicaSet.add("replica-1", replica, null);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primary, replicaSet, new ReadYourWritesTracker(Duration.ofSeconds(5))));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        readTx = new TransactionTemplate(txManager);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(txManager);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(42L, "user@find.me"), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals("replica", readTx.execute(status -> currentNode()));
+        assertEquals("primary", writeTx.execute(status -> currentNode()));
+    }
+
+    @Test
+    void readsStickToPrimaryAfterOwnWrite() {
+        writeTx.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET hits = hits + 1"));
+
+        assertEquals("primary", readTx.execute(status -> currentNode()));
+
+        // Other callers are unaffected
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(7L, "other@find.me"), null, List.of()));
+        assertEquals("replica", readTx.execute(status -> currentNode()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicaSet.markHealthy("replica-1", false);
+
+        assertEquals("primary", readTx.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT node FROM marker", String.class);
+    }
+
+    private static EmbeddedDatabase markedDatabase(String node) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE marker (node VARCHAR(16), hits INT)");
+        template.update("INSERT INTO marker (node, hits) VALUES (?, 0)", node);
+        return database;
+    }
+}
@@ -0,0 +1,122 @@
+package com.findme.backend.filter;
+
+import com.findme.backend.auth.CurrentUser;
+import com.findme.backend.cache.UserProfileCache;
+import com.findme.backend.entity.UserEntity;
+import com.findme.backend.metrics.AppMetrics;
+import com.findme.backend.repository.UserRepository;
+import com.findme.backend.util.JwtProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthFilterTest {
+
+    private static final String EMAIL = "uid@example.com";
+
+    private final JwtProvider jwtProvider = new JwtProvider();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserProfileCache userProfileCache = new UserProfileCache(userRepository);
+    private final JwtAuthFilter filter =
+            new JwtAuthFilter(jwtProvider, userProfileCache, new AppMetrics(new SimpleMeterRegistry()));
+
+    // CurrentUser.getId() as seen by the rest of the chain, one entry per request
+    private final List<Long> seen = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtProvider, "secret", "BmJKbUWK9LaVPT2mZCGkUDk7QsBQkUIGmGZBBOPUwXU=");
+        ReflectionTestUtils.setField(jwtProvider, "expirationMinutes", 60L);
+        ReflectionTestUtils.setField(jwtProvider, "refreshExpirationMinutes", 600L);
+        ReflectionTestUtils.invokeMethod(jwtProvider, "init");
+        ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(userProfileCache, "maxSize", 100);
+        ReflectionTestUtils.invokeMethod(userProfileCache, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void uidClaimIsIssuedAndReadBack() {
+        assertEquals(42L, jwtProvider.extractUserId(jwtProvider.parseClaims(jwtProvider.generateToken(EMAIL, 42L))));
+        assertEquals(42L, jwtProvider.extractUserId(jwtProvider.parseClaims(jwtProvider.generateRefreshToken(EMAIL, 42L))));
+        // Parsed back as an Integer or a Long depending on size
+        assertEquals(5_000_000_000L, jwtProvider.extractUserId(jwtProvider.parseClaims(jwtProvider.generateToken(EMAIL, 5_000_000_000L))));
+        assertNull(jwtProvider.extractUserId(jwtProvider.parseClaims(jwtProvider.generateToken(EMAIL))));
+    }
+
+    @Test
+    void tokenWithUidNeedsNoLookup() throws Exception {
+        authenticate(jwtProvider.generateToken(EMAIL, 42L));
+
+        assertEquals(List.of(42L), seen);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void tokenWithoutUidFallsBackToTheProfileCache() throws Exception {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(
+                new UserEntity(7L, EMAIL, "local", "nick", null, true, LocalDateTime.now())));
+        String legacy = jwtProvider.generateToken(EMAIL);
+
+        authenticate(legacy);
+        authenticate(legacy);
+
+        assertEquals(List.of(7L, 7L), seen);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        // The email lookup also filled the by-id side
+        assertEquals("nick", userProfileCache.get(7L).orElseThrow().getNickname());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void tokenWithoutUidForAnUnknownUserIsAnonymousToCurrentUser() throws Exception {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        authenticate(jwtProvider.generateToken(EMAIL));
+
+        assertEquals(1, seen.size());
+        assertNull(seen.get(0));
+    }
+
+    @Test
+    void requestWithoutBearerTokenStaysAnonymous() throws Exception {
+        authenticate(null);
+
+        assertEquals(1, seen.size());
+        assertNull(seen.get(0));
+    }
+
+    private void authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.add(CurrentUser.getId()));
+    }
+}
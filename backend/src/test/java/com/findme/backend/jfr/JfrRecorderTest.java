@@ -0,0 +1,99 @@
+package com.findme.backend.jfr;
+
+import com.findme.backend.dto.JfrRecordingStatus;
+import com.findme.backend.exception.BizException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrRecorderTest {
+
+    private final JfrRecorder recorder = new JfrRecorder();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recorder, "defaultSettings", "default");
+        ReflectionTestUtils.setField(recorder, "maxAgeMinutes", 10L);
+        ReflectionTestUtils.setField(recorder, "maxSizeMb", 20L);
+        ReflectionTestUtils.setField(recorder, "dumpDir", dir.toString());
+        ReflectionTestUtils.setField(recorder, "maxDumps", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    void startRunsTheRecordingWithinTheConfiguredLimits() {
+        assertEquals("NONE", recorder.status().getState());
+
+        JfrRecordingStatus status = recorder.start("profile", 1_000L, null);
+
+        assertEquals("RUNNING", status.getState());
+        assertEquals("profile", status.getSettings());
+        assertEquals(10 * 60, status.getMaxAgeSeconds()); // asked for more than allowed
+        assertEquals(20L * 1024 * 1024, status.getMaxSizeBytes());
+
+        recorder.stop();
+        status = recorder.start(null, 5L, 1L);
+        assertEquals("default", status.getSettings());
+        assertEquals(5 * 60, status.getMaxAgeSeconds());
+        assertEquals(1024 * 1024, status.getMaxSizeBytes());
+    }
+
+    @Test
+    void invalidStartAndStopAreRejected() {
+        assertEquals("JFR_INVALID_SETTINGS", assertThrows(BizException.class, () -> recorder.start("custom", null, null)).getCode());
+        assertEquals("JFR_NOT_RUNNING", assertThrows(BizException.class, recorder::stop).getCode());
+        assertEquals("JFR_NOT_RUNNING", assertThrows(BizException.class, recorder::dump).getCode());
+
+        recorder.start(null, null, null);
+        assertEquals("JFR_ALREADY_RUNNING", assertThrows(BizException.class, () -> recorder.start(null, null, null)).getCode());
+    }
+
+    @Test
+    void stoppedRecordingCanStillBeDumpedAndRestarted() throws Exception {
+        recorder.start(null, null, null);
+        SubmitScoringEvent event = SubmitScoringEvent.start();
+        event.finish("mbti_v1", 12, 12);
+
+        assertEquals("STOPPED", recorder.stop().getState());
+        Path file = recorder.dump();
+
+        assertTrue(Files.size(file) > 0);
+        assertEquals("RUNNING", recorder.start(null, null, null).getState());
+    }
+
+    @Test
+    void dumpsInQuickSuccessionGetDistinctFilesAndOnlyTheNewestAreKept() throws Exception {
+        recorder.start(null, null, null);
+
+        List<Path> files = List.of(recorder.dump(), recorder.dump(), recorder.dump(), recorder.dump(), recorder.dump());
+
+        assertEquals(5, new HashSet<>(files).size());
+        List<String> kept = recorder.status().getDumps();
+        assertEquals(3, kept.size());
+        // Newest first, and the newest three are the ones kept
+        assertEquals(List.of(name(files.get(4)), name(files.get(3)), name(files.get(2))), kept);
+        assertTrue(Files.notExists(files.get(0)));
+    }
+
+    private static String name(Path file) {
+        return file.getFileName().toString();
+    }
+}
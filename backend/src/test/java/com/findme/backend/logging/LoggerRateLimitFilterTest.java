@@ -0,0 +1,97 @@
+package com.findme.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoggerRateLimitFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LoggerRateLimitFilter filter = new LoggerRateLimitFilter();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter.setContext(context);
+        filter.setMaxPerSecond(3);
+        filter.setLevel("INFO");
+        filter.start();
+        logger = context.getLogger("com.findme.probe");
+        logger.setLevel(Level.DEBUG);
+        awaitFreshSecond();
+    }
+
+    @Test
+    void eventsOverTheBudgetAreDeniedAndCounted() {
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO));
+        assertEquals(FilterReply.DENY, decide(logger, Level.DEBUG));
+
+        assertEquals(2, filter.suppressed());
+    }
+
+    @Test
+    void eachLoggerHasItsOwnBudget() {
+        Logger other = context.getLogger("com.findme.other");
+        for (int i = 0; i < 3; i++) {
+            decide(logger, Level.INFO);
+        }
+
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(other, Level.INFO));
+    }
+
+    @Test
+    void warnAndErrorAlwaysPass() {
+        for (int i = 0; i < 3; i++) {
+            decide(logger, Level.INFO);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR));
+        }
+        assertEquals(0, filter.suppressed());
+    }
+
+    @Test
+    void enabledChecksAndDisabledLevelsDoNotSpendTheBudget() {
+        logger.setLevel(Level.INFO);
+        for (int i = 0; i < 10; i++) {
+            // isInfoEnabled() passes no format; DEBUG is below the logger's level
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, null, null, null));
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG));
+        }
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(0, filter.suppressed());
+    }
+
+    @Test
+    void stoppedFilterIsNeutral() {
+        filter.stop();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        }
+        assertEquals(0, filter.suppressed());
+    }
+
+    private FilterReply decide(Logger target, Level level) {
+        return filter.decide(null, target, level, "event {}", new Object[]{1}, null);
+    }
+
+    // The budget resets on whole nanoTime seconds; start each test well inside one
+    private static void awaitFreshSecond() {
+        while (System.nanoTime() % 1_000_000_000L > 500_000_000L) {
+            Thread.onSpinWait();
+        }
+    }
+}
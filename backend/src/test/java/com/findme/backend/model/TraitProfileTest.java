@@ -0,0 +1,94 @@
+package com.findme.backend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TraitProfileTest {
+
+    private static final double[] VALUES = {62.5, 18.0, 90.25, 45.0, 45.0, 71.5, 3.0};
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Test
+    void runningStatisticsMatchTwoPass() {
+        TraitProfile profile = new TraitProfile();
+        for (int i = 0; i < VALUES.length; i++) {
+            profile.add("mbti_v1", (long) i, VALUES[i], Map.of("A", VALUES[i], "B", 100 - VALUES[i]), AT.plusMinutes(i));
+        }
+
+        TraitProfile.AxisStats a = profile.getTests().get("mbti_v1").getAxes().get("A");
+        assertEquals(VALUES.length, a.getN());
+        assertEquals(mean(VALUES), a.getMean(), 1e-9);
+        assertEquals(sampleVariance(VALUES), a.variance(), 1e-9);
+        assertEquals(VALUES.length, profile.getResults());
+    }
+
+    @Test
+    void mergedHalvesEqualTheWhole() {
+        TraitProfile whole = new TraitProfile();
+        TraitProfile first = new TraitProfile();
+        TraitProfile second = new TraitProfile();
+        for (int i = 0; i < VALUES.length; i++) {
+            Map<String, Double> traits = Map.of("A", VALUES[i]);
+            whole.add("mbti_v1", (long) i, VALUES[i], traits, AT);
+            (i < 3 ? first : second).add("mbti_v1", (long) i, VALUES[i], traits, AT);
+        }
+
+        // Merge in reverse order: deltas may be folded into the stored row in any order
+        second.merge(first);
+
+        TraitProfile.AxisStats expected = whole.getTests().get("mbti_v1").getAxes().get("A");
+        TraitProfile.AxisStats merged = second.getTests().get("mbti_v1").getAxes().get("A");
+        assertEquals(expected.getN(), merged.getN());
+        assertEquals(expected.getMean(), merged.getMean(), 1e-9);
+        assertEquals(expected.getM2(), merged.getM2(), 1e-9);
+        assertEquals(6L, second.getTests().get("mbti_v1").getLatest().getResultId());
+        assertEquals(VALUES.length, second.getTests().get("mbti_v1").getCount());
+    }
+
+    @Test
+    void latestTypeIsTheHighestAxis() {
+        TraitProfile profile = new TraitProfile();
+        profile.add("teto_egen_v1", 10L, 50, Map.of("A", 20.0, "B", 80.0, "C", 80.0), AT);
+
+        // Ties resolve to the first axis by name
+        assertEquals("B", profile.getTests().get("teto_egen_v1").getLatest().getType());
+    }
+
+    @Test
+    void survivesJsonRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        TraitProfile profile = new TraitProfile();
+        profile.add("mbti_v1", 1L, 40, Map.of("A", 40.0), AT);
+        profile.add("mbti_v1", 2L, 60, Map.of("A", 60.0), AT);
+
+        TraitProfile restored = objectMapper.readValue(objectMapper.writeValueAsString(profile), TraitProfile.class);
+        restored.add("mbti_v1", 3L, 80, Map.of("A", 80.0), AT);
+
+        TraitProfile.AxisStats a = restored.getTests().get("mbti_v1").getAxes().get("A");
+        assertEquals(60.0, a.getMean(), 1e-9);
+        assertEquals(400.0, a.variance(), 1e-9);
+        assertEquals(AT, restored.getTests().get("mbti_v1").getLatest().getAt());
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double sampleVariance(double[] values) {
+        double mean = mean(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+}
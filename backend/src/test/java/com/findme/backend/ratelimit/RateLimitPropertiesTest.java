@@ -0,0 +1,46 @@
+package com.findme.backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPropertiesTest {
+
+    @Test
+    void prodProfileGetsEndpointCostsAndExclusions() throws Exception {
+        RateLimitProperties properties = bind("application-prod.yml", "application.yml");
+
+        assertEquals(10, cost(properties, "/og/**"));
+        assertEquals(5, cost(properties, "/api/tests/*/submit"));
+        assertEquals(2, cost(properties, "/api/analytics/batch"));
+        assertTrue(properties.getExcludeUrls().contains("/api/health"));
+    }
+
+    // Profile files first, as Spring orders them
+    private static RateLimitProperties bind(String... files) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+        for (String file : files) {
+            for (PropertySource<?> source : loader.load(file, new ClassPathResource(file))) {
+                environment.getPropertySources().addLast(source);
+            }
+        }
+        return new Binder(ConfigurationPropertySources.get(environment))
+                .bindOrCreate("rate-limit", RateLimitProperties.class);
+    }
+
+    private static int cost(RateLimitProperties properties, String pattern) {
+        return properties.getCosts().stream()
+                .filter(c -> c.getPattern().equals(pattern))
+                .findFirst()
+                .orElseThrow()
+                .getCost();
+    }
+}
@@ -0,0 +1,127 @@
+package com.findme.backend.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong clockMillis = new AtomicLong(1_000_000L);
+    private EmbeddedDatabase database;
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        // In-process H2 stands in for the shared database every node points at
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/h2/V10__rate_limit_h2.sql")
+                .build();
+        properties = new RateLimitProperties();
+        properties.setCapacity(20);
+        properties.setRefillTokens(20);
+        properties.setRefillPeriodSeconds(60);
+        properties.getShared().setLeaseSize(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void localBucketChargesEndpointCost() {
+        LocalRateLimiter limiter = new LocalRateLimiter(properties, () -> TimeUnit.MILLISECONDS.toNanos(clockMillis.get()));
+
+        assertTrue(limiter.tryConsume("u:1", 10).isAllowed());
+        assertTrue(limiter.tryConsume("u:1", 10).isAllowed());
+        assertFalse(limiter.tryConsume("u:1", 1).isAllowed());
+        // Other keys have their own bucket
+        assertTrue(limiter.tryConsume("ip:127.0.0.1", 1).isAllowed());
+
+        // 3 seconds refill 1 token at 20 tokens/minute
+        clockMillis.addAndGet(3_000);
+        assertTrue(limiter.tryConsume("u:1", 1).isAllowed());
+        assertFalse(limiter.tryConsume("u:1", 1).isAllowed());
+    }
+
+    @Test
+    void sharedLimiterEnforcesOneQuotaAcrossNodes() {
+        JdbcQuotaStore store = new JdbcQuotaStore(new JdbcTemplate(database));
+        SharedRateLimiter nodeA = new SharedRateLimiter(store, properties, clockMillis::get);
+        SharedRateLimiter nodeB = new SharedRateLimiter(store, properties, clockMillis::get);
+
+        int allowed = 0;
+        for (int i = 0; i < 30; i++) {
+            SharedRateLimiter node = (i % 2 == 0) ? nodeA : nodeB;
+            if (node.tryConsume("u:7", 1).isAllowed()) {
+                allowed++;
+            }
+        }
+        assertEquals(20, allowed);
+
+        // Next window starts a fresh quota
+        clockMillis.addAndGet(60_000);
+        assertTrue(nodeA.tryConsume("u:7", 1).isAllowed());
+        assertTrue(nodeB.tryConsume("u:7", 1).isAllowed());
+    }
+
+    @Test
+    void sharedLimiterRejectsCostAboveRemainingQuota() {
+        JdbcQuotaStore store = new JdbcQuotaStore(new JdbcTemplate(database));
+        SharedRateLimiter nodeA = new SharedRateLimiter(store, properties, clockMillis::get);
+        SharedRateLimiter nodeB = new SharedRateLimiter(store, properties, clockMillis::get);
+
+        assertTrue(nodeA.tryConsume("u:9", 10).isAllowed());
+        assertTrue(nodeB.tryConsume("u:9", 8).isAllowed());
+        assertFalse(nodeA.tryConsume("u:9", 10).isAllowed());
+    }
+
+    @Test
+    void sharedLimiterFallsBackPerNodeWhenStoreIsDown() {
+        AtomicBoolean down = new AtomicBoolean(true);
+        JdbcQuotaStore healthy = new JdbcQuotaStore(new JdbcTemplate(database));
+        QuotaStore flaky = new QuotaStore() {
+            @Override
+            public long acquire(String key, long window, long requested, long minimum, long limit) {
+                if (down.get()) {
+                    throw new DataAccessResourceFailureException("connection refused");
+                }
+                return healthy.acquire(key, window, requested, minimum, limit);
+            }
+
+            @Override
+            public void purgeBefore(long window) {
+                if (down.get()) {
+                    throw new DataAccessResourceFailureException("connection refused");
+                }
+                healthy.purgeBefore(window);
+            }
+        };
+        SharedRateLimiter limiter = new SharedRateLimiter(flaky, properties, clockMillis::get);
+
+        // Still limited, by the local bucket, instead of throwing
+        assertTrue(limiter.tryConsume("u:3", 10).isAllowed());
+        assertTrue(limiter.tryConsume("u:3", 10).isAllowed());
+        assertFalse(limiter.tryConsume("u:3", 1).isAllowed());
+        assertEquals(3, limiter.fallbackCount());
+
+        down.set(false);
+        assertTrue(limiter.tryConsume("u:4", 1).isAllowed());
+        assertEquals(3, limiter.fallbackCount());
+    }
+}
@@ -0,0 +1,179 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.AiGenerateResponse;
+import com.findme.backend.entity.ResultEntity;
+import com.findme.backend.exception.AiServiceException;
+import com.findme.backend.repository.ResultRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GenerationJobServiceTest {
+
+    private final ResultRepository resultRepository = mock(ResultRepository.class);
+    private final GenerationService generationService = mock(GenerationService.class);
+    private final GenerationJobService service = new GenerationJobService(resultRepository, generationService, new ObjectMapper());
+
+    // The pending AI call and the fragment callback it was given
+    private final AtomicReference<CompletableFuture<AiGenerateResponse>> call = new AtomicReference<>();
+    private final AtomicReference<Consumer<String>> onDelta = new AtomicReference<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxJobs", 100);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(service, "streamTimeoutSeconds", 5L);
+        when(generationService.streamForResult(anyString(), anyMap(), any())).thenAnswer(invocation -> {
+            CompletableFuture<AiGenerateResponse> future = new CompletableFuture<>();
+            call.set(future);
+            onDelta.set(invocation.getArgument(2, Consumer.class));
+            return future;
+        });
+    }
+
+    @Test
+    void concurrentSubmitsShareOneJob() throws Exception {
+        ResultEntity result = result(1L);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<GenerationJob>> submits = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                submits.add(pool.submit(() -> {
+                    start.await();
+                    return service.submit(result);
+                }));
+            }
+            start.countDown();
+            Set<String> ids = new HashSet<>();
+            for (Future<GenerationJob> submit : submits) {
+                ids.add(submit.get(5, TimeUnit.SECONDS).getId());
+            }
+
+            assertEquals(1, ids.size());
+            assertEquals(1, service.trackedJobs());
+            verify(generationService, times(1)).streamForResult(eq("mbti_v1"), anyMap(), any());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedJobIsReplacedOnResubmit() {
+        ResultEntity result = result(2L);
+        GenerationJob first = service.submit(result);
+        call.get().completeExceptionally(new AiServiceException("AI_TIMEOUT", "deadline"));
+
+        assertEquals(GenerationJob.Status.FAILED, first.getStatus());
+        assertEquals("AI_TIMEOUT", first.toDto().getError());
+
+        GenerationJob second = service.submit(result);
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(GenerationJob.Status.RUNNING, second.getStatus());
+        // The failed job is still readable under its own id
+        assertSame(first, service.get(first.getId()).orElseThrow());
+        verify(generationService, times(2)).streamForResult(anyString(), anyMap(), any());
+    }
+
+    @Test
+    void runningJobIsReturnedAndPoemStoredOnCompletion() {
+        ResultEntity result = result(3L);
+        GenerationJob job = service.submit(result);
+        assertSame(job, service.submit(result));
+
+        call.get().complete(new AiGenerateResponse("봄비", null, new AiGenerateResponse.Moderation()));
+
+        assertEquals(GenerationJob.Status.DONE, job.getStatus());
+        assertEquals("봄비", job.toDto().getText());
+        verify(resultRepository).updatePoemIfAbsent(3L, "봄비");
+    }
+
+    @Test
+    void lateSubscriberGetsTextSoFarThenLiveFragments() {
+        GenerationJob job = service.submit(result(4L));
+        onDelta.get().accept("봄");
+        onDelta.get().accept("비");
+
+        RecordingEmitter late = new RecordingEmitter();
+        job.subscribe(late);
+        onDelta.get().accept("가");
+        call.get().complete(new AiGenerateResponse("봄비가", null, new AiGenerateResponse.Moderation()));
+
+        assertEquals(List.of("delta:봄비", "delta:가", "done:{poem=봄비가}"), late.events);
+        assertTrue(late.completed);
+
+        // After completion a subscriber gets the whole poem at once
+        RecordingEmitter after = new RecordingEmitter();
+        job.subscribe(after);
+        assertEquals(List.of("done:{poem=봄비가}"), after.events);
+    }
+
+    @Test
+    void ownerIsTakenFromTheResult() {
+        ResultEntity owned = result(5L);
+        owned.setUserId(77L);
+
+        assertEquals(77L, service.submit(owned).getOwnerId());
+    }
+
+    private static ResultEntity result(Long id) {
+        return new ResultEntity(id, null, "mbti_v1", 50.0, "{\"A\":45.0,\"B\":75.0}", null, LocalDateTime.now());
+    }
+
+    /**
+     * Captures events as "name:data" instead of writing them to a response.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String raw = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            String name = raw.substring(raw.indexOf("event:") + 6, raw.indexOf('\n'));
+            String data = raw.substring(raw.indexOf("data:") + 5).trim();
+            events.add(name + ":" + data);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
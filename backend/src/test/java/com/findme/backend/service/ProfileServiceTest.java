@@ -0,0 +1,168 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.entity.Profile;
+import com.findme.backend.model.TraitProfile;
+import com.findme.backend.repository.ProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Read-your-writes across a flush: a result must be counted exactly once by
+ * {@code getProfile} before, during and after the flush that writes it.
+ */
+class ProfileServiceTest {
+
+    private static final long USER = 7L;
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ProfileRepository repository = mock(ProfileRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final ProfileService service = new ProfileService(repository, transactionTemplate, objectMapper);
+
+    // The committed row, as other transactions see it
+    private volatile Profile stored;
+    // The flush transaction's copy of the row, written back on commit
+    private Profile managed;
+    // Runs inside the flush transaction, after the row is updated and before commit
+    private Runnable beforeCommit = () -> { };
+    private boolean failCommit;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByUserId(anyString())).thenAnswer(invocation -> Optional.ofNullable(copy(stored)));
+        when(repository.findByUserIdIn(anyCollection())).thenAnswer(invocation -> {
+            managed = copy(stored);
+            return managed != null ? List.of(managed) : List.of();
+        });
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Profile> created = invocation.getArgument(0);
+            created.forEach(row -> managed = row);
+            return created;
+        });
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            beforeCommit.run();
+            if (failCommit) {
+                throw new DataAccessResourceFailureException("down");
+            }
+            Profile committed = copy(managed);
+            committed.setVersion(committed.getVersion() != null ? committed.getVersion() + 1 : 0L);
+            stored = committed;
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        // Flushes only when the test calls flush()
+        ReflectionTestUtils.setField(service, "flushIntervalMillis", 3_600_000L);
+        ReflectionTestUtils.setField(service, "flushBatchSize", 200);
+        ReflectionTestUtils.setField(service, "maxPending", 10_000);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+    }
+
+    @Test
+    void flushedResultsAreCountedOnceDuringAndAfterTheFlush() throws Exception {
+        stored = row(1, 3L);
+        Profile beforeFlush = copy(stored);
+        record(2);
+        assertEquals(3, results());
+
+        beforeCommit = () -> assertEquals(3, results(), "delta vanished while its flush was in flight");
+        service.flush();
+
+        assertEquals(3, results());
+        assertEquals(4L, stored.getVersion());
+        // A read that loaded the row just before the commit still sees the delta once
+        when(repository.findByUserId(anyString())).thenReturn(Optional.of(beforeFlush));
+        assertEquals(3, results());
+        when(repository.findByUserId(anyString())).thenAnswer(invocation -> Optional.ofNullable(copy(stored)));
+
+        beforeCommit = () -> { };
+        service.flush(); // drops the written delta
+        assertEquals(3, results());
+    }
+
+    @Test
+    void firstFlushForAUserInsertsTheRowWithoutDoubleCounting() throws Exception {
+        record(2);
+
+        beforeCommit = () -> assertEquals(2, results());
+        service.flush();
+
+        assertEquals(0L, stored.getVersion());
+        assertEquals(2, results());
+    }
+
+    @Test
+    void failedFlushKeepsEveryResultVisibleAndRetries() throws Exception {
+        stored = row(1, 3L);
+        record(2);
+
+        failCommit = true;
+        beforeCommit = () -> {
+            assertEquals(3, results());
+            record(1); // arrives while the doomed flush is in flight
+            assertEquals(4, results());
+        };
+        service.flush();
+
+        assertEquals(3L, stored.getVersion());
+        assertEquals(4, results());
+        assertEquals(1, service.pendingUsers());
+
+        failCommit = false;
+        beforeCommit = () -> { };
+        service.flush();
+
+        assertEquals(4L, stored.getVersion());
+        assertEquals(4, results());
+        assertEquals(0, service.pendingUsers());
+    }
+
+    private void record(int count) {
+        for (int i = 0; i < count; i++) {
+            service.record(USER, "mbti", (long) i, 50, Map.of("E", 60.0, "I", 40.0), AT);
+        }
+    }
+
+    private long results() {
+        return service.getProfile(USER).getResults();
+    }
+
+    private Profile row(int results, Long version) throws Exception {
+        TraitProfile profile = new TraitProfile();
+        for (int i = 0; i < results; i++) {
+            profile.add("mbti", 100L + i, 50, Map.of("E", 40.0, "I", 60.0), AT);
+        }
+        return new Profile(1L, String.valueOf(USER), objectMapper.writeValueAsString(profile), AT, version);
+    }
+
+    private static Profile copy(Profile row) {
+        return row == null ? null
+                : new Profile(row.getId(), row.getUserId(), row.getTraits(), row.getLastUpdated(), row.getVersion());
+    }
+}
@@ -0,0 +1,188 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.findme.backend.entity.TestAudit;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.repository.TestAuditRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestAuditServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TestAuditRepository repository = mock(TestAuditRepository.class);
+    private final TestAuditService service = new TestAuditService(repository, objectMapper);
+
+    // What the repository stored, by generated id
+    private final Map<Long, TestAudit> rows = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicBoolean failNextSave = new AtomicBoolean();
+    // Threads that ran each save
+    private final List<String> savers = new CopyOnWriteArrayList<>();
+    // When set, the first save waits for release
+    private volatile CountDownLatch saving;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.save(any(TestAudit.class))).thenAnswer(invocation -> {
+            savers.add(Thread.currentThread().getName());
+            CountDownLatch entered = saving;
+            if (entered != null) {
+                saving = null;
+                entered.countDown();
+                release.await();
+            }
+            if (failNextSave.getAndSet(false)) {
+                throw new DataAccessResourceFailureException("down");
+            }
+            TestAudit audit = invocation.getArgument(0);
+            audit.setId(ids.incrementAndGet());
+            rows.put(audit.getId(), audit);
+            return audit;
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(rows.get((Long) invocation.getArgument(0))));
+        ReflectionTestUtils.setField(service, "queueCapacity", 100);
+        ReflectionTestUtils.setField(service, "keyframeInterval", 3);
+        service.init();
+    }
+
+    @Test
+    void everyRecordOfAChainReconstructsAcrossKeyframes() throws Exception {
+        List<TestDef> versions = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            TestDef def = testDef(i);
+            versions.add(def);
+            service.record(def, "UPDATE", "admin");
+        }
+        service.shutdown(); // drains the writer
+
+        assertEquals(List.of("FULL", "DELTA", "DELTA", "FULL", "DELTA", "DELTA", "FULL"), kinds());
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(objectMapper.valueToTree(versions.get(i)), service.reconstruct((long) i + 1));
+        }
+        // Each delta is against the record before it, so replay walks back to the keyframe
+        assertEquals(5L, rows.get(6L).getBaseId());
+        assertEquals(4L, rows.get(5L).getBaseId());
+    }
+
+    @Test
+    void failedWriteStartsAFreshKeyframe() throws Exception {
+        service.record(testDef(1), "IMPORT", "admin");
+        service.record(testDef(2), "UPDATE", "admin");
+        failNextSave.set(true);
+        service.record(testDef(3), "UPDATE", "admin");
+        service.record(testDef(4), "UPDATE", "admin");
+        service.shutdown();
+
+        assertEquals(List.of("FULL", "DELTA", "FULL"), kinds());
+        assertEquals(objectMapper.valueToTree(testDef(4)), service.reconstruct(3L));
+    }
+
+    @Test
+    void fullQueueMakesTheCommittingThreadWaitInsteadOfWritingInline() throws Exception {
+        service.shutdown();
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        service.init();
+        CountDownLatch entered = new CountDownLatch(1);
+        saving = entered;
+
+        service.record(testDef(1), "IMPORT", "admin"); // held in save by the writer
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        service.record(testDef(2), "UPDATE", "admin"); // fills the queue
+        Thread committer = new Thread(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                service.record(testDef(3), "UPDATE", "admin");
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }, "committer");
+        committer.start();
+
+        committer.join(300);
+        assertTrue(committer.isAlive()); // waiting for room, not saving
+        release.countDown();
+        committer.join(5_000);
+        assertFalse(committer.isAlive());
+        service.shutdown();
+
+        assertEquals(List.of("test-audit-writer", "test-audit-writer", "test-audit-writer"), savers);
+        assertEquals(List.of("FULL", "DELTA", "DELTA"), kinds());
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(objectMapper.valueToTree(testDef(i)), service.reconstruct((long) i));
+        }
+    }
+
+    @Test
+    void rolledBackTransactionRecordsNothing() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.record(testDef(1), "IMPORT", "admin");
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        service.shutdown();
+
+        assertTrue(rows.isEmpty());
+    }
+
+    private List<String> kinds() {
+        return rows.values().stream()
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .map(TestAudit::getKind)
+                .toList();
+    }
+
+    // Large enough that a one-question edit is a much smaller patch than the document
+    private TestDef testDef(int version) {
+        ArrayNode questions = objectMapper.createArrayNode();
+        for (int q = 0; q < 20; q++) {
+            ObjectNode question = questions.addObject();
+            question.put("id", q);
+            question.put("text", "Question " + q + (q == version % 20 ? " (edited in v" + version + ")" : ""));
+            question.putArray("options").add("yes").add("no");
+        }
+        if (version % 2 == 0) {
+            questions.addObject().put("id", 100 + version).put("text/with~chars", "extra");
+        }
+        JsonNode scoring = objectMapper.createObjectNode().put("type", "sum").put("max", 20 + version);
+        return new TestDef((long) version, "audit_probe", version, "Audit probe v" + version, "DRAFT",
+                questions, scoring, CREATED, CREATED.plusDays(version));
+    }
+}
@@ -0,0 +1,144 @@
+package com.findme.backend.service;
+
+import com.findme.backend.dto.TestDefImportRequest;
+import com.findme.backend.dto.TestDefResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestCatalogWatcherTest {
+
+    private static final long DEBOUNCE_MILLIS = 200;
+    private static final long WAIT_MILLIS = 5000;
+
+    private final TestDefService testDefService = mock(TestDefService.class);
+    private final TestCatalogWatcher watcher = new TestCatalogWatcher(testDefService,
+            // Like the application's mapper: the "status" field is not part of the import request
+            Jackson2ObjectMapperBuilder.json().build());
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        when(testDefService.saveDraft(any(), anyString())).thenAnswer(invocation -> {
+            TestDefImportRequest request = invocation.getArgument(0);
+            return new TestDefResponse(1L, request.getCode(), request.getVersion(), request.getTitle(), "DRAFT",
+                    request.getQuestions(), request.getScoring(), null, null);
+        });
+        ReflectionTestUtils.setField(watcher, "dir", dir.toString());
+        ReflectionTestUtils.setField(watcher, "debounceMillis", DEBOUNCE_MILLIS);
+        ReflectionTestUtils.setField(watcher, "actor", "catalog");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        watcher.stop();
+    }
+
+    @Test
+    void filesPresentAtStartupAreApplied() throws Exception {
+        Files.writeString(dir.resolve("probe.json"), definition("Probe", "DRAFT"));
+        Files.writeString(dir.resolve("notes.txt"), "not a definition");
+
+        watcher.start();
+
+        verify(testDefService, timeout(WAIT_MILLIS)).saveDraft(any(), eq("catalog"));
+        verify(testDefService, after(DEBOUNCE_MILLIS * 2).times(1)).saveDraft(any(), anyString());
+    }
+
+    @Test
+    void burstOfSavesIsAppliedOnceWithTheLastContent() throws Exception {
+        watcher.start();
+        awaitStartupScan();
+        Path file = dir.resolve("probe.json");
+        for (int i = 1; i <= 5; i++) {
+            Files.writeString(file, definition("Probe " + i, "DRAFT"));
+        }
+
+        ArgumentCaptor<TestDefImportRequest> request = ArgumentCaptor.forClass(TestDefImportRequest.class);
+        verify(testDefService, timeout(WAIT_MILLIS)).saveDraft(request.capture(), anyString());
+        verify(testDefService, after(DEBOUNCE_MILLIS * 2).times(1)).saveDraft(any(), anyString());
+        assertEquals("Probe 5", request.getValue().getTitle());
+        assertTrue(pending().isEmpty());
+    }
+
+    @Test
+    void unchangedContentIsNotReapplied() throws Exception {
+        Path file = dir.resolve("probe.json");
+        Files.writeString(file, definition("Probe", "DRAFT"));
+        watcher.start();
+        verify(testDefService, timeout(WAIT_MILLIS)).saveDraft(any(), anyString());
+
+        Files.writeString(file, definition("Probe", "DRAFT")); // same bytes, new mtime
+
+        verify(testDefService, after(DEBOUNCE_MILLIS * 3).times(1)).saveDraft(any(), anyString());
+    }
+
+    @Test
+    void publishedStatusPublishesTheSavedDraft() throws Exception {
+        watcher.start();
+        awaitStartupScan();
+
+        Files.writeString(dir.resolve("probe.json"), definition("Probe", "PUBLISHED"));
+
+        verify(testDefService, timeout(WAIT_MILLIS)).publishTestDef("catalog_probe", 1, "catalog");
+    }
+
+    @Test
+    void rejectedFileIsRetriedOnTheNextSave() throws Exception {
+        doThrow(new IllegalArgumentException("Invalid test definition"))
+                .doAnswer(invocation -> new TestDefResponse(1L, "catalog_probe", 1, "Probe", "DRAFT", null, null, null, null))
+                .when(testDefService).saveDraft(any(), anyString());
+        Path file = dir.resolve("probe.json");
+        Files.writeString(file, definition("Probe", "DRAFT"));
+        watcher.start();
+        verify(testDefService, timeout(WAIT_MILLIS)).saveDraft(any(), anyString());
+
+        // Identical bytes: the failed apply did not record a hash, so it is tried again
+        Files.writeString(file, definition("Probe", "DRAFT"));
+
+        verify(testDefService, timeout(WAIT_MILLIS).times(2)).saveDraft(any(), anyString());
+        verify(testDefService, never()).publishTestDef(anyString(), anyInt(), anyString());
+    }
+
+    // The initial scan runs on the loader thread; anything queued after it runs once it is done
+    private void awaitStartupScan() throws Exception {
+        ((ScheduledExecutorService) ReflectionTestUtils.getField(watcher, "loader")).submit(() -> {
+        }).get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Path, ?> pending() {
+        return (Map<Path, ?>) ReflectionTestUtils.getField(watcher, "pending");
+    }
+
+    private static String definition(String title, String status) {
+        return "{\"code\":\"catalog_probe\",\"version\":1,\"title\":\"" + title + "\",\"status\":\"" + status + "\","
+                + "\"questions\":[{\"id\":1,\"text\":\"Q\"}],\"scoring\":{\"type\":\"sum\"}}";
+    }
+}
@@ -0,0 +1,117 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.TestDefBulkImportResponse;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.repository.TestDefRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        // Offline: no OAuth issuer discovery
+        "spring.security.oauth2.client.provider.google.issuer-uri=",
+        "GOOGLE_CLIENT_ID=test",
+        "GOOGLE_CLIENT_SECRET=test",
+        // Small chunks so existing-version checks see earlier chunks' inserts
+        "admin.bulk-import.batch-size=2"
+})
+class TestDefBulkImportServiceTest {
+
+    private static final String QUESTIONS = "[{\"body\":\"Q1\",\"choices\":[{\"value\":\"E\",\"weight\":1}]}]";
+
+    @Autowired
+    private TestDefBulkImportService testDefBulkImportService;
+
+    @Autowired
+    private TestDefRepository testDefRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM test_defs WHERE code LIKE 'bulk_probe%'");
+    }
+
+    @Test
+    void existingVersionsAreMatchedByTheCodeVersionKeyQuery() throws Exception {
+        testDefRepository.save(new TestDef(null, "bulk_probe", 10, "Existing", "PUBLISHED",
+                objectMapper.readTree(QUESTIONS), null, LocalDateTime.now(), LocalDateTime.now()));
+
+        assertEquals(List.of("bulk_probe:10"), testDefRepository.findCodeVersionKeys(List.of("bulk_probe", "bulk_probe_none")));
+    }
+
+    @Test
+    void ndjsonIsImportedSkippingExistingAndRejectingBadItems() throws Exception {
+        testDefRepository.save(new TestDef(null, "bulk_probe", 1, "Existing", "PUBLISHED",
+                objectMapper.readTree(QUESTIONS), null, LocalDateTime.now(), LocalDateTime.now()));
+        String body = String.join("\n",
+                definition("bulk_probe", 1), // exists: skipped
+                definition("bulk_probe", 2),
+                definition("bulk_probe_b", 1),
+                definition("bulk_probe_b", 1), // repeats the item before it in the same chunk
+                definition("bulk probe", 1), // invalid code
+                definition("bulk_probe", 2)); // committed by the first chunk: skipped
+
+        TestDefBulkImportResponse response = import_(body);
+
+        assertEquals(6, response.getReceived());
+        assertEquals(2, response.getImported());
+        assertEquals(2, response.getSkipped());
+        assertEquals(List.of(3, 4), response.getRejected().stream().map(TestDefBulkImportResponse.Rejection::getIndex).toList());
+        assertEquals("Duplicate of an earlier item in this import", response.getRejected().get(0).getReason());
+        TestDef imported = testDefRepository.findByCodeAndVersion("bulk_probe_b", 1).orElseThrow();
+        assertEquals("DRAFT", imported.getStatus());
+        assertEquals(objectMapper.readTree(QUESTIONS), imported.getQuestions());
+        assertEquals("Existing", testDefRepository.findByCodeAndVersion("bulk_probe", 1).orElseThrow().getTitle());
+    }
+
+    @Test
+    void jsonArrayBodyIsAccepted() throws Exception {
+        TestDefBulkImportResponse response = import_("[" + definition("bulk_probe", 1) + "," + definition("bulk_probe", 2) + "]");
+
+        assertEquals(2, response.getImported());
+        assertTrue(response.getRejected().isEmpty());
+    }
+
+    @Test
+    void malformedValueStopsTheImportButKeepsEarlierChunks() throws Exception {
+        String body = String.join("\n",
+                definition("bulk_probe", 1),
+                definition("bulk_probe", 2),
+                definition("bulk_probe", 3),
+                "{\"code\":",
+                definition("bulk_probe", 4));
+
+        TestDefBulkImportResponse response = import_(body);
+
+        assertEquals(3, response.getImported());
+        assertEquals(1, response.getRejected().size());
+        assertEquals(3, response.getRejected().get(0).getIndex());
+        assertTrue(response.getRejected().get(0).getReason().startsWith("Malformed JSON"));
+        assertTrue(testDefRepository.findByCodeAndVersion("bulk_probe", 4).isEmpty());
+    }
+
+    private TestDefBulkImportResponse import_(String body) throws Exception {
+        return testDefBulkImportService.importStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "test");
+    }
+
+    private static String definition(String code, int version) {
+        return "{\"code\":\"" + code + "\",\"version\":" + version + ",\"title\":\"" + code + " v" + version + "\","
+                + "\"questions\":" + QUESTIONS + "}";
+    }
+}
@@ -0,0 +1,114 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.cache.TestDefModelCache;
+import com.findme.backend.dto.TestDefImportRequest;
+import com.findme.backend.dto.TestDefResponse;
+import com.findme.backend.entity.TestDef;
+import com.findme.backend.repository.TestDefRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TestDefServiceTest {
+
+    private static final String CODE = "draft_probe";
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TestDefRepository testDefRepository = mock(TestDefRepository.class);
+    private final TestAuditService testAuditService = mock(TestAuditService.class);
+    private final TestDefValidator testDefValidator = mock(TestDefValidator.class);
+    private final TestDefModelCache testDefModelCache = mock(TestDefModelCache.class);
+    private final TestDefService testDefService =
+            new TestDefService(testDefRepository, testAuditService, testDefValidator, testDefModelCache);
+
+    @BeforeEach
+    void setUp() {
+        when(testDefValidator.validate(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void newVersionIsImportedAsDraft() throws Exception {
+        when(testDefRepository.findByCodeAndVersion(CODE, 1)).thenReturn(Optional.empty());
+
+        TestDefResponse saved = testDefService.saveDraft(request("Probe", "[1]"), "catalog");
+
+        assertEquals("DRAFT", saved.getStatus());
+        verify(testDefRepository).save(any(TestDef.class));
+        verify(testAuditService).record(any(TestDef.class), eq("IMPORT"), anyString());
+    }
+
+    @Test
+    void draftIsUpdatedInPlace() throws Exception {
+        TestDef existing = stored("DRAFT", "Probe", "[1]");
+        when(testDefRepository.findByCodeAndVersion(CODE, 1)).thenReturn(Optional.of(existing));
+
+        TestDefResponse saved = testDefService.saveDraft(request("Probe v2", "[1,2]"), "catalog");
+
+        assertEquals(7L, saved.getId());
+        assertEquals("Probe v2", existing.getTitle());
+        assertEquals(json("[1,2]"), existing.getQuestions());
+        verify(testDefRepository).save(existing);
+        verify(testAuditService).record(existing, "UPDATE", "catalog");
+    }
+
+    @Test
+    void identicalContentIsANoOp() throws Exception {
+        // Also for published versions: re-saving an unchanged file is not an edit
+        when(testDefRepository.findByCodeAndVersion(CODE, 1)).thenReturn(Optional.of(stored("PUBLISHED", "Probe", "[1]")));
+
+        TestDefResponse saved = testDefService.saveDraft(request("Probe", "[1]"), "catalog");
+
+        assertEquals("PUBLISHED", saved.getStatus());
+        verify(testDefRepository, never()).save(any());
+        verifyNoInteractions(testAuditService, testDefModelCache);
+    }
+
+    @Test
+    void publishedContentCannotChange() throws Exception {
+        when(testDefRepository.findByCodeAndVersion(CODE, 1)).thenReturn(Optional.of(stored("PUBLISHED", "Probe", "[1]")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> testDefService.saveDraft(request("Probe", "[1,2]"), "catalog"));
+        verify(testDefRepository, never()).save(any());
+    }
+
+    @Test
+    void invalidDefinitionIsRejectedBeforeAnyWrite() throws Exception {
+        when(testDefRepository.findByCodeAndVersion(CODE, 1)).thenReturn(Optional.of(stored("DRAFT", "Probe", "[1]")));
+        when(testDefValidator.validate(any())).thenReturn(List.of("questions: empty"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> testDefService.saveDraft(request("Probe", "[]"), "catalog"));
+        assertEquals("Invalid test definition: questions: empty", e.getMessage());
+        verify(testDefRepository, never()).save(any());
+    }
+
+    private TestDefImportRequest request(String title, String questions) throws Exception {
+        return new TestDefImportRequest(CODE, title, 1, json(questions), json("{\"type\":\"sum\"}"));
+    }
+
+    private TestDef stored(String status, String title, String questions) throws Exception {
+        return new TestDef(7L, CODE, 1, title, status, json(questions), json("{\"type\":\"sum\"}"), CREATED, CREATED);
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return objectMapper.readTree(text);
+    }
+}
@@ -0,0 +1,65 @@
+package com.findme.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.TestDefImportRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestDefValidatorTest {
+
+    private static final String QUESTIONS = "[{\"body\":\"Q1\",\"choices\":[{\"value\":\"E\",\"weight\":1},{\"value\":\"I\",\"weight\":-1}]}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TestDefValidator validator = new TestDefValidator();
+
+    @Test
+    void wellFormedDefinitionHasNoErrors() throws Exception {
+        assertTrue(validator.validate(request("mbti-v2_beta", 1, "MBTI", QUESTIONS, "{\"type\":\"sum\"}")).isEmpty());
+        assertTrue(validator.validate(request("mbti", 1, "MBTI", QUESTIONS, null)).isEmpty()); // scoring is optional
+    }
+
+    @Test
+    void headerFieldsAreChecked() throws Exception {
+        List<String> errors = validator.validate(request("bad code!", 0, " ", QUESTIONS, "[]"));
+
+        assertEquals(List.of(
+                "code must be 1-64 characters of [A-Za-z0-9_-]",
+                "version must be >= 1",
+                "title must be 1-128 characters",
+                "scoring must be an object"), errors);
+        assertEquals(List.of("code must be 1-64 characters of [A-Za-z0-9_-]"),
+                validator.validate(request("x".repeat(65), 1, "MBTI", QUESTIONS, null)));
+        assertEquals(List.of("title must be 1-128 characters"),
+                validator.validate(request("mbti", 1, "t".repeat(129), QUESTIONS, null)));
+    }
+
+    @Test
+    void questionsMustBeANonEmptyArray() throws Exception {
+        assertEquals(List.of("questions must be a non-empty array"), validator.validate(request("mbti", 1, "MBTI", "[]", null)));
+        assertEquals(List.of("questions must be a non-empty array"), validator.validate(request("mbti", 1, "MBTI", "{}", null)));
+        assertEquals(List.of("questions must be a non-empty array"), validator.validate(request("mbti", 1, "MBTI", null, null)));
+    }
+
+    @Test
+    void everyQuestionAndChoiceIsReported() throws Exception {
+        String questions = "[{\"body\":\"\",\"choices\":[]}," +
+                "{\"body\":\"Q2\",\"choices\":[{\"value\":\"E\",\"weight\":\"1\"},{\"value\":1,\"weight\":1}]}]";
+
+        assertEquals(List.of(
+                "questions[0].body is required",
+                "questions[0].choices must be a non-empty array",
+                "questions[1].choices[0] needs a text value and a numeric weight",
+                "questions[1].choices[1] needs a text value and a numeric weight"),
+                validator.validate(request("mbti", 1, "MBTI", questions, null)));
+    }
+
+    private TestDefImportRequest request(String code, int version, String title, String questions, String scoring) throws Exception {
+        return new TestDefImportRequest(code, title, version,
+                questions == null ? null : objectMapper.readTree(questions),
+                scoring == null ? null : objectMapper.readTree(scoring));
+    }
+}
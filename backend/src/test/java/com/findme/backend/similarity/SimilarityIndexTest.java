@@ -0,0 +1,252 @@
+package com.findme.backend.similarity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findme.backend.dto.SimilarResultsDto;
+import com.findme.backend.dto.SimilarityIndexStats;
+import com.findme.backend.exception.SimilarityIndexException;
+import com.findme.backend.repository.ResultRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        // Offline: no OAuth issuer discovery
+        "spring.security.oauth2.client.provider.google.issuer-uri=",
+        "GOOGLE_CLIENT_ID=test",
+        "GOOGLE_CLIENT_SECRET=test",
+        // The indexes below are built by hand; keep the application's own loader out of the way
+        "similarity.enabled=false"
+})
+class SimilarityIndexTest {
+
+    private static final String CODE = "sim_probe";
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM results WHERE test_code = ?", CODE);
+    }
+
+    @Test
+    void lateCommitWithinTheOverlapIsIndexedExactlyOnce() {
+        long late = insert("{\"E\":4.0,\"I\":1.0}");
+        long early = insert("{\"E\":1.0,\"I\":4.0}");
+        String traits = jdbcTemplate.queryForObject("SELECT traits FROM results WHERE id = ?", String.class, late);
+        // The lower id has not committed yet when the loader first reads past it
+        jdbcTemplate.update("DELETE FROM results WHERE id = ?", late);
+
+        SimilarityIndex index = index(1000, "");
+        index.refresh();
+        assertEquals(1, probeVectors(index));
+        assertTrue(index.stats().getLastResultId() >= early);
+
+        jdbcTemplate.update("INSERT INTO results (id, test_code, score, traits) VALUES (?, ?, 0, ?)", late, CODE, traits);
+        index.refresh();
+        index.refresh();
+
+        assertEquals(2, probeVectors(index));
+        SimilarResultsDto similar = index.similar(early, 10, true).orElseThrow();
+        assertEquals(List.of(late), similar.getNeighbours().stream().map(SimilarResultsDto.Neighbour::getResultId).toList());
+    }
+
+    @Test
+    void lateCommitBehindTheOverlapIsSkipped() {
+        long late = insert("{\"E\":4.0,\"I\":1.0}");
+        insert("{\"E\":1.0,\"I\":4.0}");
+        String traits = jdbcTemplate.queryForObject("SELECT traits FROM results WHERE id = ?", String.class, late);
+        jdbcTemplate.update("DELETE FROM results WHERE id = ?", late);
+
+        SimilarityIndex index = index(0, "");
+        index.refresh();
+        jdbcTemplate.update("INSERT INTO results (id, test_code, score, traits) VALUES (?, ?, 0, ?)", late, CODE, traits);
+        index.refresh();
+
+        assertEquals(1, probeVectors(index));
+    }
+
+    @Test
+    void resultWithoutTraitsHasNoNeighbours() {
+        insert("{\"E\":1.0,\"I\":4.0}");
+        long blank = insert(null);
+        SimilarityIndex index = index(1000, "");
+        index.refresh();
+
+        SimilarResultsDto similar = index.similar(blank, 10, true).orElseThrow();
+
+        assertTrue(similar.getNeighbours().isEmpty());
+        assertEquals(0, similar.getIndexed());
+        assertTrue(index.similar(Long.MAX_VALUE, 10, true).isEmpty());
+    }
+
+    @Test
+    void snapshotRestoresVectorsAndWatermark() throws Exception {
+        Path file = dir.resolve("similarity.idx");
+        long first = insert("{\"E\":4.0,\"I\":1.0}");
+        long second = insert("{\"E\":1.0,\"I\":4.0}");
+        SimilarityIndex written = index(1000, file.toString());
+        written.refresh();
+        written.writeSnapshot();
+
+        SimilarityIndex restored = index(1000, file.toString());
+        restored.restore();
+
+        SimilarityIndexStats before = written.stats();
+        SimilarityIndexStats after = restored.stats();
+        assertEquals(before.getVectors(), after.getVectors());
+        assertEquals(before.getLastResultId(), after.getLastResultId());
+        assertEquals(2, probeVectors(restored));
+        assertEquals(written.similar(first, 5, true), restored.similar(first, 5, true));
+
+        // Ids restored with the snapshot are not indexed a second time
+        restored.refresh();
+        assertEquals(2, probeVectors(restored));
+        assertEquals(List.of(second), restored.similar(first, 5, true).orElseThrow().getNeighbours().stream()
+                .map(SimilarResultsDto.Neighbour::getResultId).toList());
+    }
+
+    @Test
+    void snapshotWithAnotherQuantumIsIgnored() throws Exception {
+        Path file = dir.resolve("similarity.idx");
+        insert("{\"E\":4.0,\"I\":1.0}");
+        SimilarityIndex written = index(1000, file.toString());
+        written.refresh();
+        written.writeSnapshot();
+
+        SimilarityIndex restored = index(1000, file.toString());
+        ReflectionTestUtils.setField(restored, "quantum", 0.25);
+        restored.restore();
+
+        assertEquals(0, restored.stats().getVectors());
+        assertEquals(0, restored.stats().getLastResultId());
+    }
+
+    @Test
+    void damagedSnapshotFallsBackToAFullLoad() throws Exception {
+        Path file = dir.resolve("similarity.idx");
+        insert("{\"E\":4.0,\"I\":1.0}");
+        insert("{\"E\":1.0,\"I\":4.0}");
+        SimilarityIndex written = index(1000, file.toString());
+        written.refresh();
+        written.writeSnapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        SimilarityIndex restored = index(1000, file.toString());
+        restored.restore();
+        assertEquals(0, restored.stats().getVectors());
+        assertEquals(0, restored.stats().getLastResultId());
+
+        restored.refresh();
+        assertEquals(written.stats().getVectors(), restored.stats().getVectors());
+        assertEquals(2, probeVectors(restored));
+    }
+
+    @Test
+    void snapshotIsReplacedAtomically() throws Exception {
+        Path file = dir.resolve("nested").resolve("similarity.idx");
+        Path tmp = file.resolveSibling("similarity.idx.tmp");
+        insert("{\"E\":4.0,\"I\":1.0}");
+        SimilarityIndex index = index(1000, file.toString());
+        index.refresh();
+        index.writeSnapshot();
+        // Leftover of a write that died half-way
+        Files.write(tmp, new byte[]{1, 2, 3});
+
+        insert("{\"E\":1.0,\"I\":4.0}");
+        index.refresh();
+        index.writeSnapshot();
+
+        assertFalse(Files.exists(tmp));
+        SimilarityIndex restored = index(1000, file.toString());
+        restored.restore();
+        assertEquals(2, probeVectors(restored));
+        assertEquals(index.stats().getLastResultId(), restored.stats().getLastResultId());
+    }
+
+    @Test
+    void failedRefreshIsCountedAndRetried() {
+        ResultRepository failing = mock(ResultRepository.class);
+        when(failing.findVectorsAfter(anyLong(), any())).thenThrow(new DataAccessResourceFailureException("down"));
+        SimilarityIndex index = new SimilarityIndex(failing, objectMapper);
+        ReflectionTestUtils.setField(index, "batchSize", 500);
+        ReflectionTestUtils.setField(index, "commitOverlap", 1000L);
+
+        index.refresh();
+        index.refresh();
+
+        assertEquals(2, index.refreshFailures());
+        assertFalse(index.stats().isReady());
+    }
+
+    @Test
+    void failedManualSnapshotIsAServerError() throws Exception {
+        // The snapshot's directory cannot be created: a file is in the way
+        Path blocker = Files.write(dir.resolve("blocker"), new byte[]{1});
+        SimilarityIndex index = index(1000, blocker.resolve("similarity.idx").toString());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "refreshMillis", 60_000L);
+        ReflectionTestUtils.setField(index, "snapshotIntervalMinutes", 10L);
+        index.start();
+        try {
+            SimilarityIndexException e = assertThrows(SimilarityIndexException.class, index::snapshot);
+            assertEquals("SIMILARITY_SNAPSHOT_FAILED", e.getCode());
+            assertEquals(1, index.snapshotFailures());
+            assertTrue(index.refreshAgeSeconds() >= 0);
+        } finally {
+            index.stop();
+        }
+    }
+
+    private SimilarityIndex index(long commitOverlap, String snapshotFile) {
+        SimilarityIndex index = new SimilarityIndex(resultRepository, objectMapper);
+        ReflectionTestUtils.setField(index, "quantum", 0.5);
+        ReflectionTestUtils.setField(index, "batchSize", 500);
+        ReflectionTestUtils.setField(index, "commitOverlap", commitOverlap);
+        ReflectionTestUtils.setField(index, "probeCells", 8);
+        ReflectionTestUtils.setField(index, "maxK", 100);
+        ReflectionTestUtils.setField(index, "snapshotFile", snapshotFile);
+        return index;
+    }
+
+    private long insert(String traits) {
+        jdbcTemplate.update("INSERT INTO results (test_code, score, traits) VALUES (?, 0, ?)", CODE, traits);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM results WHERE test_code = ?", Long.class, CODE);
+    }
+
+    private static int probeVectors(SimilarityIndex index) {
+        return index.stats().getPartitions().stream()
+                .filter(partition -> CODE.equals(partition.getTestCode()))
+                .mapToInt(SimilarityIndexStats.Partition::getVectors)
+                .sum();
+    }
+}
@@ -0,0 +1,122 @@
+package com.findme.backend.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraitVectorIndexTest {
+
+    private static final List<String> AXES = List.of("A", "B", "C");
+    private static final double QUANTUM = 0.5;
+
+    private final List<double[]> values = new ArrayList<>();
+
+    private TraitVectorIndex index(int count) {
+        Random random = new Random(7);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+            double score = random.nextDouble() * 100;
+            // Correlated like the scored traits, with noise
+            values.add(new double[]{score * 0.9 + random.nextGaussian() * 5,
+                    100 - score * 0.5 + random.nextGaussian() * 5,
+                    random.nextDouble() * 120});
+        }
+        TraitVectorIndex index = new TraitVectorIndex(AXES, QUANTUM);
+        index.addAll(ids, values);
+        return index;
+    }
+
+    @Test
+    void exactSearchMatchesBruteForce() {
+        TraitVectorIndex index = index(20_000);
+
+        for (int q = 0; q < 50; q++) {
+            int[] query = index.quantize(values.get(q));
+            List<TraitVectorIndex.Neighbour> hits = index.search(query, 10, 0, q);
+
+            double[] expected = bruteForce(index, query, q);
+            assertEquals(10, hits.size());
+            for (int i = 0; i < hits.size(); i++) {
+                assertEquals(expected[i], hits.get(i).distance(), 1e-9);
+                assertTrue(hits.get(i).id() != q);
+            }
+        }
+    }
+
+    @Test
+    void approximateSearchReturnsNearestFirst() {
+        TraitVectorIndex index = index(20_000);
+        int[] query = index.quantize(values.get(0));
+
+        List<TraitVectorIndex.Neighbour> hits = index.search(query, 25, 1, -1);
+
+        assertEquals(25, hits.size());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).distance() <= hits.get(i).distance());
+        }
+        // Never better than exact
+        List<TraitVectorIndex.Neighbour> exact = index.search(query, 25, 0, -1);
+        assertTrue(exact.get(24).distance() <= hits.get(24).distance());
+    }
+
+    @Test
+    void quantizesAndReportsTheTopAxis() {
+        TraitVectorIndex index = new TraitVectorIndex(AXES, QUANTUM);
+        index.add(1, new double[]{10.2, 90.0, 90.0});
+        index.add(2, new double[]{-5, 500, 0});
+
+        List<TraitVectorIndex.Neighbour> hits = index.search(index.quantize(new double[]{10, 90, 90}), 2, 0, -1);
+
+        assertEquals(1L, hits.get(0).id());
+        assertEquals(0.0, hits.get(0).distance(), 1e-9); // 10.2 and 10 share a 0.5-wide level
+        assertEquals("B", hits.get(0).type()); // tie with C goes to the first axis
+        assertEquals("B", hits.get(1).type()); // 500 clamps to the top level
+    }
+
+    @Test
+    void snapshotRoundTripKeepsVectorsAndCells() throws Exception {
+        TraitVectorIndex index = index(5_000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+
+        TraitVectorIndex restored = TraitVectorIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), QUANTUM);
+
+        assertEquals(index.size(), restored.size());
+        assertEquals(index.cellCount(), restored.cellCount());
+        assertEquals(AXES, restored.axes());
+        int[] query = index.quantize(values.get(3));
+        assertEquals(index.search(query, 10, 0, -1), restored.search(query, 10, 0, -1));
+    }
+
+    private double[] bruteForce(TraitVectorIndex index, int[] query, long excludeId) {
+        double[] distances = new double[values.size() - 1];
+        int n = 0;
+        for (int i = 0; i < values.size(); i++) {
+            if (i == excludeId) {
+                continue;
+            }
+            int[] codes = index.quantize(values.get(i));
+            long sum = 0;
+            for (int d = 0; d < codes.length; d++) {
+                long diff = query[d] - codes[d];
+                sum += diff * diff;
+            }
+            distances[n++] = Math.sqrt(sum) * QUANTUM;
+        }
+        Arrays.sort(distances);
+        return distances;
+    }
+}
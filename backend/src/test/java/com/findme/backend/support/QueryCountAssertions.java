@@ -0,0 +1,32 @@
+package com.findme.backend.support;
+
+import com.findme.backend.datasource.QueryStats;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts how many JDBC statements an action runs on the calling thread. MockMvc requests
+ * run on the test thread, so this counts exactly one request's queries; work handed to
+ * other threads (audit writes, async jobs) is not included.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertQueryCount(int expected, Action<T> action) throws Exception {
+        try (QueryStats.Capture capture = QueryStats.capture()) {
+            T result = action.run();
+            if (capture.count() != expected) {
+                fail("Expected " + expected + " statements but " + capture.count() + " ran:\n  "
+                        + String.join("\n  ", capture.fingerprints()));
+            }
+            return result;
+        }
+    }
+}
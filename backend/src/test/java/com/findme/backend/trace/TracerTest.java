@@ -0,0 +1,61 @@
+package com.findme.backend.trace;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracerTest {
+
+    private static final String W3C_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Test
+    void prefersTraceparentThenRequestIdThenGenerated() {
+        assertEquals(W3C_TRACE_ID,
+                Tracer.resolveTraceId("client-id", "00-" + W3C_TRACE_ID + "-00f067aa0ba902b7-01"));
+        assertEquals("client-id", Tracer.resolveTraceId("client-id", "garbage"));
+
+        String first = Tracer.resolveTraceId("bad id with spaces", null);
+        String second = Tracer.resolveTraceId(null, null);
+        assertTrue(first.matches("[0-9a-f]{32}"));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void traceparentOnlyForW3cTraceIds() {
+        String traceparent = Tracer.traceparent(W3C_TRACE_ID);
+        assertTrue(traceparent.matches("00-" + W3C_TRACE_ID + "-[0-9a-f]{16}-01"));
+        assertNull(Tracer.traceparent("client-id"));
+    }
+
+    @Test
+    void recordsNestedSpansAndTruncates() {
+        ActiveTrace trace = new ActiveTrace("t", 2);
+        int outer = trace.begin("outer");
+        int inner = trace.begin("inner");
+        assertEquals(-1, trace.begin("dropped"));
+        trace.end(inner);
+        trace.end(outer);
+
+        TraceRecord record = trace.finish("GET", "/x", 200);
+        List<TraceRecord.Span> spans = record.spans();
+        assertEquals(2, spans.size());
+        assertEquals(-1, spans.get(0).parent());
+        assertEquals(0, spans.get(1).parent());
+        assertTrue(record.truncated());
+    }
+
+    @Test
+    void ringKeepsMostRecent() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(new TraceRecord("t" + i, "GET", "/", 200, 0, i, false, List.of()));
+        }
+        List<String> ids = buffer.snapshot().stream().map(TraceRecord::traceId).sorted().toList();
+        assertEquals(List.of("t6", "t7", "t8", "t9"), ids);
+    }
+}
@@ -0,0 +1,83 @@
+package com.findme.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void objectFieldsAreAddedRemovedAndReplaced() throws Exception {
+        JsonNode source = json("{\"title\":\"MBTI\",\"status\":\"DRAFT\",\"old\":1,\"nested\":{\"a\":1,\"b\":2}}");
+        JsonNode target = json("{\"title\":\"MBTI v2\",\"status\":\"DRAFT\",\"nested\":{\"a\":1,\"c\":3},\"extra\":[1]}");
+
+        ArrayNode patch = JsonPatch.diff(source, target);
+
+        assertEquals(target, JsonPatch.apply(source, patch));
+        assertEquals(json("[" +
+                "{\"op\":\"replace\",\"path\":\"/title\",\"value\":\"MBTI v2\"}," +
+                "{\"op\":\"remove\",\"path\":\"/old\"}," +
+                "{\"op\":\"remove\",\"path\":\"/nested/b\"}," +
+                "{\"op\":\"add\",\"path\":\"/nested/c\",\"value\":3}," +
+                "{\"op\":\"add\",\"path\":\"/extra\",\"value\":[1]}]"), patch);
+    }
+
+    @Test
+    void arraysGrowShrinkAndChangeInPlace() throws Exception {
+        JsonNode source = json("{\"questions\":[{\"id\":1,\"text\":\"a\"},{\"id\":2},{\"id\":3},{\"id\":4}]}");
+        JsonNode shorter = json("{\"questions\":[{\"id\":1,\"text\":\"b\"},{\"id\":3}]}");
+        JsonNode longer = json("{\"questions\":[{\"id\":1},{\"id\":2},{\"id\":3},{\"id\":4},{\"id\":5},[6,7]]}");
+
+        assertEquals(shorter, JsonPatch.apply(source, JsonPatch.diff(source, shorter)));
+        assertEquals(longer, JsonPatch.apply(source, JsonPatch.diff(source, longer)));
+        assertEquals(source, JsonPatch.apply(shorter, JsonPatch.diff(shorter, source)));
+    }
+
+    @Test
+    void keysWithTildeAndSlashAreEscaped() throws Exception {
+        JsonNode source = json("{\"a/b\":1,\"c~d\":{\"~1\":true},\"e~/f\":[1]}");
+        JsonNode target = json("{\"a/b\":2,\"c~d\":{\"~1\":false,\"/\":null},\"e~/f\":[1,2]}");
+
+        ArrayNode patch = JsonPatch.diff(source, target);
+
+        assertEquals("/a~1b", patch.get(0).get("path").asText());
+        assertEquals("/c~0d/~01", patch.get(1).get("path").asText());
+        assertEquals(target, JsonPatch.apply(source, patch));
+    }
+
+    @Test
+    void typeChangesAndRootReplacement() throws Exception {
+        JsonNode source = json("{\"scoring\":{\"type\":\"sum\"},\"tags\":\"x\"}");
+        JsonNode target = json("{\"scoring\":[1,2],\"tags\":[\"x\"]}");
+
+        assertEquals(target, JsonPatch.apply(source, JsonPatch.diff(source, target)));
+        assertEquals(json("[1]"), JsonPatch.apply(source, JsonPatch.diff(source, json("[1]"))));
+    }
+
+    @Test
+    void applyLeavesTheInputUntouched() throws Exception {
+        JsonNode source = json("{\"a\":[1,2]}");
+        JsonNode copy = source.deepCopy();
+
+        JsonPatch.apply(source, JsonPatch.diff(source, json("{\"a\":[3]}")));
+
+        assertEquals(copy, source);
+    }
+
+    @Test
+    void unsupportedOperationIsRejected() throws Exception {
+        JsonNode patch = json("[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/b\"}]");
+
+        assertThrows(IllegalArgumentException.class, () -> JsonPatch.apply(json("{\"a\":1}"), patch));
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return objectMapper.readTree(text);
+    }
+}
@@ -0,0 +1,61 @@
+package com.findme.backend.util;
+
+import com.findme.backend.exception.BizException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSameSortKey() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 3, 7, 123_456_000);
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, 42L).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+        // Whole seconds print without a fraction and still parse back
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 0),
+                KeysetCursor.decode(new KeysetCursor(LocalDateTime.of(2024, 5, 1, 10, 0), 1L).encode()).getCreatedAt());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String cursor = new KeysetCursor(LocalDateTime.of(2024, 5, 1, 10, 3, 7), Long.MAX_VALUE).encode();
+
+        assertEquals(cursor, cursor.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void garbageAndTamperedCursorsAreRejected() {
+        String valid = new KeysetCursor(LocalDateTime.of(2024, 5, 1, 10, 3, 7), 42L).encode();
+
+        assertInvalid("not a cursor!");
+        assertInvalid(valid.substring(0, valid.length() - 3) + "***");
+        assertInvalid(raw("2024-05-01T10:03:07"));
+        assertInvalid(raw("2024-05-01T10:03:07|"));
+        assertInvalid(raw("2024-05-01T10:03:07|abc"));
+        assertInvalid(raw("yesterday|42"));
+        assertInvalid(raw("null|42"));
+        assertInvalid("");
+    }
+
+    @Test
+    void cursorNeedsATimestamp() {
+        assertThrows(NullPointerException.class, () -> new KeysetCursor(null, 42L));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertEquals("INVALID_CURSOR", assertThrows(BizException.class, () -> KeysetCursor.decode(cursor)).getCode());
+    }
+
+    private static String raw(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -24,7 +24,7 @@ const MyResults: React.FC = () => {
     const { fetchWithErrorHandler } = useApi(); // Use useApi hook
 
     const [results, setResults] = useState<ResultListItem[]>([]);
-    const [nextPage, setNextPage] = useState<number>(0);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [hasMore, setHasMore] = useState<boolean>(true);
     const [isLoading, setIsLoading] = useState<boolean>(false);
     const [error, setError] = useState<string>(''); // For API errors
@@ -44,18 +44,18 @@ const MyResults: React.FC = () => {
         }
     }, [navigate]); // Removed localJwtToken from dependencies to avoid infinite loop
 
-    const fetchResults = async (page: number) => {
-        console.log('fetchResults called for page:', page);
+    const fetchResults = async (cursor: string | null) => {
+        console.log('fetchResults called for cursor:', cursor);
         setIsLoading(true);
         setError('');
         try {
             const data = await fetchWithErrorHandler<PaginatedResponse<ResultListItem>>(
-                `http://localhost:8080/api/results?page=${page}&size=10`
+                `http://localhost:8080/api/results/me?size=10${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ''}`
             );
             console.log('fetchResults successful, data:', data);
             setResults(prev => [...prev, ...data.items]);
             if (data.nextCursor) {
-                setNextPage(parseInt(data.nextCursor));
+                setNextCursor(data.nextCursor);
             } else {
                 setHasMore(false);
             }
@@ -73,7 +73,7 @@ const MyResults: React.FC = () => {
     useEffect(() => {
         console.log('fetchResults useEffect triggered. localJwtToken:', localJwtToken ? localJwtToken.substring(0, 10) + '...' : 'null');
         if (localJwtToken) { // Only fetch if token is present
-            fetchResults(0); // Load initial page
+            fetchResults(null); // Load initial page
         } else {
             console.log('localJwtToken is null, not fetching results.');
         }
@@ -82,7 +82,7 @@ const MyResults: React.FC = () => {
     const handleLoadMore = () => {
         console.log('handleLoadMore called. hasMore:', hasMore, 'isLoading:', isLoading, 'localJwtToken:', localJwtToken ? localJwtToken.substring(0, 10) + '...' : 'null');
         if (hasMore && !isLoading && localJwtToken) { // Also check for token
-            fetchResults(nextPage);
+            fetchResults(nextCursor);
         }
     };
 